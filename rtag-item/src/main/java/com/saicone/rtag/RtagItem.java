@@ -11,6 +11,7 @@ import com.saicone.rtag.util.EnchantmentTag;
 import com.saicone.rtag.util.MC;
 import com.saicone.rtag.util.OptionalType;
 import com.saicone.rtag.util.ServerInstance;
+import com.saicone.rtag.util.ThrowableFunction;
 import org.bukkit.Material;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.inventory.ItemFlag;
@@ -44,6 +45,7 @@ public class RtagItem extends RtagEditor<ItemStack, RtagItem> {
     private transient DataComponent.Builder<Optional<?>> patch;
     private transient boolean edited = false;
     private transient boolean copied = true;
+    private transient Set<Object> owned;
 
     /**
      * Create an RtagItem using ItemStack.
@@ -161,10 +163,105 @@ public class RtagItem extends RtagEditor<ItemStack, RtagItem> {
         if (!this.edited) {
             this.tag = this.tag == null ? TagCompound.newTag() : TagCompound.clone(this.tag);
             this.edited = true;
+        } else if (this.owned != null) {
+            // Some values are still shared with the original tag
+            this.tag = TagCompound.clone(this.tag);
+            this.owned = null;
         }
         return this.tag;
     }
 
+    /**
+     * Get current item tag to edit the values along the provided path.<br>
+     * Instead of copying the full tag, only the compounds and lists along
+     * the provided path are copied, the rest of the values are shared with
+     * the original tag until changes are loaded into item.
+     *
+     * @param path Path of the tag that will be edited, the tags along the path are also edited.
+     * @return     a compound tag.
+     */
+    @Override
+    protected Object getEditableTag(Object... path) {
+        if (!this.edited) {
+            if (this.tag == null) {
+                this.tag = TagCompound.newTag();
+                this.edited = true;
+                return this.tag;
+            }
+            this.tag = TagCompound.shallowClone(this.tag);
+            this.edited = true;
+            this.owned = Collections.newSetFromMap(new IdentityHashMap<>());
+            this.owned.add(this.tag);
+        }
+        if (this.owned == null || this.tag == null) {
+            return this.tag;
+        }
+
+        final RtagPath rtagPath = RtagPath.of(path);
+        Object parent = this.tag;
+        for (int i = 0; i < rtagPath.size(); i++) {
+            final Object key = rtagPath.get(i);
+            Object child;
+            if (key instanceof ThrowableFunction) {
+                // The path is not predictable, so the full tag is copied
+                return getTag();
+            } else if (key instanceof Integer && TagList.isTagList(parent)) {
+                final int size = TagList.size(parent);
+                final int index = (int) key >= 0 ? (int) key : size + (int) key;
+                if (index < 0 || index >= size) {
+                    break;
+                }
+                child = TagList.get(parent, index);
+                if (!this.owned.contains(child)) {
+                    child = ownedCopy(child);
+                    if (child == null) {
+                        break;
+                    }
+                    TagList.set(parent, index, child);
+                }
+            } else if (TagCompound.isTagCompound(parent)) {
+                final String keyString = String.valueOf(key);
+                child = TagCompound.get(parent, keyString);
+                if (child == null) {
+                    break;
+                }
+                if (!this.owned.contains(child)) {
+                    child = ownedCopy(child);
+                    if (child == null) {
+                        break;
+                    }
+                    TagCompound.set(parent, keyString, child);
+                }
+            } else {
+                break;
+            }
+            parent = child;
+        }
+        return this.tag;
+    }
+
+    private Object ownedCopy(Object tag) {
+        final Object copy;
+        switch (TagBase.getTypeId(tag)) {
+            case 9:
+                copy = TagList.shallowClone(tag);
+                break;
+            case 10:
+                copy = TagCompound.shallowClone(tag);
+                break;
+            default:
+                return null;
+        }
+        this.owned.add(copy);
+        return copy;
+    }
+
+    @Override
+    public boolean hasTag() {
+        // Same result as getTag() != null without copying the current tag
+        return !this.edited || this.tag != null;
+    }
+
     @Override
     public Object getTag(Object item) {
         return ItemObject.getCustomDataTag(item);
@@ -235,6 +332,7 @@ public class RtagItem extends RtagEditor<ItemStack, RtagItem> {
     @Override
     public void update(Object object) {
         this.edited = false;
+        this.owned = null;
         super.update(object);
     }
 
@@ -264,10 +362,12 @@ public class RtagItem extends RtagEditor<ItemStack, RtagItem> {
     public boolean set(Object value) {
         if (value == null) {
             this.edited = true;
+            this.owned = null;
             this.tag = null;
             return true;
         } else if (super.set(value)) {
             this.edited = true;
+            this.owned = null;
             return true;
         }
         return false;
@@ -327,6 +427,21 @@ public class RtagItem extends RtagEditor<ItemStack, RtagItem> {
         return this.tag == null ? null : super.getExact(path);
     }
 
+    @Override
+    public <V> V get(RtagPath path) {
+        return this.tag == null ? null : super.get(path);
+    }
+
+    @Override
+    public OptionalType getOptional(RtagPath path) {
+        return this.tag == null ? OptionalType.EMPTY : super.getOptional(path);
+    }
+
+    @Override
+    public Object getExact(RtagPath path) {
+        return this.tag == null ? null : super.getExact(path);
+    }
+
     /**
      * Get the provided component from patch or item.
      *
@@ -86,8 +86,8 @@ public class ItemObject {
     private static final MethodHandle CustomData$get_tag;
     static {
         if (MC.version().isComponent()) {
-            CustomData$new_tag = CustomData.constructor(CompoundTag).handle();
-            CustomData$get_tag = CustomData.field(CompoundTag, "tag").getter();
+            CustomData$new_tag = Lookup.exact(CustomData.constructor(CompoundTag).handle());
+            CustomData$get_tag = Lookup.exact(CustomData.field(CompoundTag, "tag").getter());
         } else {
             CustomData$new_tag = null;
             CustomData$get_tag = null;
@@ -107,12 +107,12 @@ public class ItemObject {
     private static final MethodHandle ItemStack_isEmpty;
     static {
         if (MC.version().isNewerThanOrEquals(MC.V_1_11)) {
-            ItemStack_isEmpty = MC_ItemStack.method(boolean.class, "isEmpty").handle();
+            ItemStack_isEmpty = Lookup.exact(MC_ItemStack.method(boolean.class, "isEmpty").handle());
         } else {
             ItemStack_isEmpty = null;
         }
     }
-    private static final MethodHandle ItemStack_copy = MC_ItemStack.method(MC_ItemStack, "copy").handle();
+    private static final MethodHandle ItemStack_copy = Lookup.exact(MC_ItemStack.method(MC_ItemStack, "copy").handle());
     @Deprecated
     @ApiStatus.ScheduledForRemoval(inVersion = "1.6.0")
     private static final MethodHandle ItemStack$set_item;
@@ -138,36 +138,36 @@ public class ItemObject {
             ItemStack_applyComponentsAndValidate = null;
             ItemStack_save = MC_ItemStack.method(CompoundTag, "save", CompoundTag).handle();
             ItemStack_load = MC_ItemStack.method(void.class, "load", CompoundTag).handle();
-            ItemStack_getTag = MC_ItemStack.method(CompoundTag, "getTag").handle();
-            ItemStack_setTag = MC_ItemStack.method(void.class, "setTag", CompoundTag).handle();
+            ItemStack_getTag = Lookup.exact(MC_ItemStack.method(CompoundTag, "getTag").handle());
+            ItemStack_setTag = Lookup.exact(MC_ItemStack.method(void.class, "setTag", CompoundTag).handle());
         }
     }
     private static final MethodHandle ItemStack_getCount;
     private static final MethodHandle ItemStack_setCount;
     static {
         if (MC.version().isNewerThanOrEquals(MC.V_1_11)) {
-            ItemStack_getCount = MC_ItemStack.method(int.class, "getCount").handle();
-            ItemStack_setCount = MC_ItemStack.method(void.class, "setCount", int.class).handle();
+            ItemStack_getCount = Lookup.exact(MC_ItemStack.method(int.class, "getCount").handle());
+            ItemStack_setCount = Lookup.exact(MC_ItemStack.method(void.class, "setCount", int.class).handle());
         } else {
-            ItemStack_getCount = MC_ItemStack.field(int.class, "count").getter();
-            ItemStack_setCount = MC_ItemStack.field(int.class, "count").setter();
+            ItemStack_getCount = Lookup.exact(MC_ItemStack.field(int.class, "count").getter());
+            ItemStack_setCount = Lookup.exact(MC_ItemStack.field(int.class, "count").setter());
         }
     }
 
     private static final MethodHandle CraftItemStack_getCraftStack;
     static {
         if (ServerInstance.Platform.PAPER && MC.version().isNewerThanOrEquals(MC.V_1_21)) {
-            CraftItemStack_getCraftStack = CraftItemStack.method(Modifier.STATIC, CraftItemStack, "getCraftStack", ItemStack.class).handle();
+            CraftItemStack_getCraftStack = Lookup.exact(CraftItemStack.method(Modifier.STATIC, CraftItemStack, "getCraftStack", ItemStack.class).handle());
         } else {
             CraftItemStack_getCraftStack = null;
         }
     }
-    private static final MethodHandle CraftItemStack_asNMSCopy = CraftItemStack.method(Modifier.STATIC, MC_ItemStack, "asNMSCopy", ItemStack.class).handle();
-    private static final MethodHandle CraftItemStack_asBukkitCopy = CraftItemStack.method(Modifier.STATIC, ItemStack.class, "asBukkitCopy", MC_ItemStack).handle();
-    private static final MethodHandle CraftItemStack_asCraftMirror = CraftItemStack.method(Modifier.STATIC, CraftItemStack, "asCraftMirror", MC_ItemStack).handle();
+    private static final MethodHandle CraftItemStack_asNMSCopy = Lookup.exact(CraftItemStack.method(Modifier.STATIC, MC_ItemStack, "asNMSCopy", ItemStack.class).handle());
+    private static final MethodHandle CraftItemStack_asBukkitCopy = Lookup.exact(CraftItemStack.method(Modifier.STATIC, ItemStack.class, "asBukkitCopy", MC_ItemStack).handle());
+    private static final MethodHandle CraftItemStack_asCraftMirror = Lookup.exact(CraftItemStack.method(Modifier.STATIC, CraftItemStack, "asCraftMirror", MC_ItemStack).handle());
     private static final MethodHandle CraftItemStack$new_item = CraftItemStack.constructor(ItemStack.class).handle();
-    private static final MethodHandle CraftItemStack$get_handle = CraftItemStack.field(MC_ItemStack, "handle").getter();
-    private static final MethodHandle CraftItemStack$set_handle = CraftItemStack.field(MC_ItemStack, "handle").setter();
+    private static final MethodHandle CraftItemStack$get_handle = Lookup.exact(CraftItemStack.field(MC_ItemStack, "handle").getter());
+    private static final MethodHandle CraftItemStack$set_handle = Lookup.exact(CraftItemStack.field(MC_ItemStack, "handle").setter());
 
     private static final Object CUSTOM_DATA;
     static {
@@ -259,9 +259,17 @@ public class ItemObject {
      */
     public static boolean isEmpty(Object item) {
         if (MC.version().isNewerThanOrEquals(MC.V_1_11)) {
-            return Lookup.invoke(ItemStack_isEmpty, item);
+            try {
+                return (boolean) ItemStack_isEmpty.invokeExact(item);
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
         } else {
-            return Lookup.<Integer>invoke(ItemStack_getCount, item) <= 0;
+            try {
+                return (int) ItemStack_getCount.invokeExact(item) <= 0;
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
         }
     }
 
@@ -276,7 +284,12 @@ public class ItemObject {
         if (MC.version().isComponent()) {
             return DataComponent.Holder.has(item, CUSTOM_DATA);
         } else {
-            return Lookup.invoke(ItemStack_getTag, item) != null;
+            try {
+                final Object tag = ItemStack_getTag.invokeExact(item);
+                return tag != null;
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
         }
     }
 
@@ -389,7 +402,11 @@ public class ItemObject {
      * @return     A copy from Minecraft ItemStack.
      */
     public static Object copy(Object item) {
-        return Lookup.invoke(ItemStack_copy, item);
+        try {
+            return ItemStack_copy.invokeExact(item);
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
     }
 
     /**
@@ -473,7 +490,12 @@ public class ItemObject {
      */
     public static ItemStack getCraftStack(ItemStack item) {
         if (CraftItemStack_getCraftStack != null) {
-            return Lookup.invoke(CraftItemStack_getCraftStack, item);
+            try {
+                final Object craftStack = CraftItemStack_getCraftStack.invokeExact((Object) item);
+                return (ItemStack) craftStack;
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
         } else if (CraftItemStack.isInstance(item)) {
             return item;
         } else {
@@ -503,7 +525,11 @@ public class ItemObject {
      * @return     Minecraft ItemStack or null.
      */
     public static Object getUncheckedHandle(ItemStack item) {
-        return Lookup.invoke(CraftItemStack$get_handle, item);
+        try {
+            return CraftItemStack$get_handle.invokeExact((Object) item);
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
     }
 
     /**
@@ -519,9 +545,17 @@ public class ItemObject {
             if (customData == null) {
                 return null;
             }
-            return Lookup.invoke(CustomData$get_tag, customData);
+            try {
+                return CustomData$get_tag.invokeExact(customData);
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
         } else {
-            return Lookup.invoke(ItemStack_getTag, item);
+            try {
+                return ItemStack_getTag.invokeExact(item);
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
         }
     }
 
@@ -550,7 +584,11 @@ public class ItemObject {
     @SuppressWarnings("deprecation")
     public static void setHandle(ItemStack item, Object handle) {
         if (CraftItemStack.isInstance(item)) {
-            Lookup.invoke(CraftItemStack$set_handle, item, handle);
+            try {
+                CraftItemStack$set_handle.invokeExact((Object) item, handle);
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
         } else {
             ItemStack copy = asBukkitCopy(handle);
             if (copy != null) {
@@ -576,10 +614,20 @@ public class ItemObject {
             if (tag == null || TagCompound.getValue(tag).isEmpty()) {
                 DataComponent.MapPatch.remove(DataComponent.Holder.getComponents(item), CUSTOM_DATA);
             } else {
-                DataComponent.MapPatch.set(DataComponent.Holder.getComponents(item), CUSTOM_DATA, Lookup.invoke(CustomData$new_tag, tag));
+                final Object customData;
+                try {
+                    customData = CustomData$new_tag.invokeExact(tag);
+                } catch (Throwable t) {
+                    throw new RuntimeException(t);
+                }
+                DataComponent.MapPatch.set(DataComponent.Holder.getComponents(item), CUSTOM_DATA, customData);
             }
         } else {
-            Lookup.invoke(ItemStack_setTag, item, tag);
+            try {
+                ItemStack_setTag.invokeExact(item, tag);
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
         }
     }
 
@@ -606,7 +654,12 @@ public class ItemObject {
      * @return     Bukkit ItemStack.
      */
     public static ItemStack asBukkitCopy(Object item) {
-        return Lookup.invoke(CraftItemStack_asBukkitCopy, item);
+        try {
+            final Object bukkitItem = CraftItemStack_asBukkitCopy.invokeExact(item);
+            return (ItemStack) bukkitItem;
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
     }
 
     /**
@@ -617,7 +670,12 @@ public class ItemObject {
      * @return     Bukkit ItemStack.
      */
     public static ItemStack asCraftMirror(Object item) {
-        return Lookup.invoke(CraftItemStack_asCraftMirror, item);
+        try {
+            final Object craftItem = CraftItemStack_asCraftMirror.invokeExact(item);
+            return (ItemStack) craftItem;
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
     }
 
     /**
@@ -628,6 +686,10 @@ public class ItemObject {
      * @return     Minecraft ItemStack.
      */
     public static Object asNMSCopy(ItemStack item) {
-        return Lookup.invoke(CraftItemStack_asNMSCopy, item);
+        try {
+            return CraftItemStack_asNMSCopy.invokeExact((Object) item);
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
     }
 }
@@ -168,7 +168,7 @@ public class ItemTagStream extends TStream<ItemStack> {
         } catch (Throwable t) {
             t.printStackTrace();
         }
-        return ItemObject.asBukkitCopy(ItemObject.newItem(compound));
+        return ItemObject.asBukkitCopy(ItemObject.newItem(intern(compound)));
     }
 
     /**
@@ -3,6 +3,8 @@ package com.saicone.rtag;
 import com.saicone.rtag.tag.TagBase;
 import com.saicone.rtag.tag.TagCompound;
 import com.saicone.rtag.tag.TagList;
+import com.saicone.rtag.tag.TagReader;
+import com.saicone.rtag.tag.TagWriter;
 import com.saicone.rtag.util.MC;
 import com.saicone.rtag.util.OptionalType;
 import com.saicone.rtag.util.ThrowableFunction;
@@ -10,9 +12,14 @@ import com.saicone.rtag.util.reflect.Lookup;
 import org.jetbrains.annotations.ApiStatus;
 
 import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
 
@@ -48,6 +55,10 @@ public class Rtag extends RtagMirror {
     private static final BiPredicate<Integer, Object[]> addPredicate = (index, path) -> path.length == index || path[index] instanceof Integer;
     private static final BiPredicate<Integer, Object[]> setPredicate = (index, path) -> path.length > index && path[index] instanceof Integer;
 
+    private static final int CREATE_NONE = 0;
+    private static final int CREATE_SET = 1;
+    private static final int CREATE_ADD = 2;
+
     /**
      * {@link Rtag} public instance only compatible with regular Java objects.
      */
@@ -74,8 +85,23 @@ public class Rtag extends RtagMirror {
         }
     }
 
+    // Cached result for classes without serializer
+    private static final RtagSerializer<Object> NO_SERIALIZER = new RtagSerializer<>() {
+        @Override
+        public String getInID() {
+            return null;
+        }
+
+        @Override
+        public Map<String, Object> serialize(Object object) {
+            return null;
+        }
+    };
+
     private final Map<String, RtagDeserializer<Object>> deserializers = new HashMap<>();
     private final Map<Class<?>, RtagSerializer<Object>> serializers = new HashMap<>();
+    // Resolved serializer for every object class, recreated when serializers change
+    private volatile ClassValue<RtagSerializer<Object>> serializerCache = newSerializerCache();
 
     /**
      * Get a globalized registry from Bukkit registry.
@@ -93,6 +119,18 @@ public class Rtag extends RtagMirror {
     public Rtag() {
     }
 
+    /**
+     * Create new {@link Rtag} instance that convert large lists and compounds in parallel.
+     *
+     * @param pool      the pool to run conversion tasks.
+     * @param threshold the minimum amount of values to convert in parallel.
+     *
+     * @see RtagMirror#setParallel(ForkJoinPool, int)
+     */
+    public Rtag(ForkJoinPool pool, int threshold) {
+        super(pool, threshold);
+    }
+
     /**
      * Create new {@link Rtag} instance without use mirror parameter,
      * because the class extends {@link RtagMirror} itself.
@@ -134,7 +172,9 @@ public class Rtag extends RtagMirror {
     }
 
     /**
-     * Register an {@link RtagSerializer} for {@link #newTag(Object)} operations.
+     * Register an {@link RtagSerializer} for {@link #newTag(Object)} operations.<br>
+     * The serializer is also used by subclasses and implementations of provided
+     * type, unless they have a more specific serializer.
      *
      * @param type       Serializable object class that match with Serializer.
      * @param serializer Serializer instance.
@@ -144,9 +184,75 @@ public class Rtag extends RtagMirror {
     @SuppressWarnings("unchecked")
     public <T> Rtag putSerializer(Class<T> type, RtagSerializer<T> serializer) {
         serializers.put(type, (RtagSerializer<Object>) serializer);
+        serializerCache = newSerializerCache();
         return this;
     }
 
+    /**
+     * Get the serializer that can be used with provided class.<br>
+     * The serializer is searched first on class hierarchy and then
+     * on implemented interfaces, the result is cached per class.
+     *
+     * @param type Object class.
+     * @return     a serializer instance, null if there's no serializer for provided class.
+     */
+    public RtagSerializer<Object> getSerializer(Class<?> type) {
+        if (serializers.isEmpty()) {
+            return null;
+        }
+        final RtagSerializer<Object> serializer = serializerCache.get(type);
+        return serializer == NO_SERIALIZER ? null : serializer;
+    }
+
+    private ClassValue<RtagSerializer<Object>> newSerializerCache() {
+        return new ClassValue<>() {
+            @Override
+            protected RtagSerializer<Object> computeValue(Class<?> type) {
+                final RtagSerializer<Object> serializer = findSerializer(type);
+                return serializer == null ? NO_SERIALIZER : serializer;
+            }
+        };
+    }
+
+    private RtagSerializer<Object> findSerializer(Class<?> type) {
+        // Class hierarchy first
+        for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+            final RtagSerializer<Object> serializer = serializers.get(clazz);
+            if (serializer != null) {
+                return serializer;
+            }
+        }
+        // Then interfaces, nearest first
+        final Deque<Class<?>> queue = new ArrayDeque<>();
+        final Set<Class<?>> visited = new HashSet<>();
+        for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+            queue.addAll(Arrays.asList(clazz.getInterfaces()));
+        }
+        Class<?> current;
+        while ((current = queue.poll()) != null) {
+            if (!visited.add(current)) {
+                continue;
+            }
+            final RtagSerializer<Object> serializer = serializers.get(current);
+            if (serializer != null) {
+                return serializer;
+            }
+            queue.addAll(Arrays.asList(current.getInterfaces()));
+        }
+        return null;
+    }
+
+    /**
+     * Create a batch of edits for the provided tag.<br>
+     * See {@link RtagBatch} for more information.
+     *
+     * @param tag Tag instance, can be CompoundTag or ListTag.
+     * @return    new RtagBatch instance.
+     */
+    public RtagBatch batch(Object tag) {
+        return new RtagBatch(this, tag);
+    }
+
     /**
      * Add value to an ListTag on specified path inside tag.<br>
      * Note that empty path returns false because this method is
@@ -161,6 +267,8 @@ public class Rtag extends RtagMirror {
     public boolean add(Object tag, Object value, Object... path) {
         if (path.length == 0) {
             return false;
+        } else if (path.length == 1 && path[0] instanceof RtagPath) {
+            return add(tag, value, (RtagPath) path[0]);
         }
         Object finalTag = getExactOrCreate(tag, path, addPredicate);
         if (TAG_LIST.isInstance(finalTag)) {
@@ -189,6 +297,8 @@ public class Rtag extends RtagMirror {
     public boolean set(Object tag, Object value, Object... path) {
         if (path.length == 0) {
             return false;
+        } else if (path.length == 1 && path[0] instanceof RtagPath) {
+            return set(tag, value, (RtagPath) path[0]);
         } else {
             int last = path.length - 1;
             Object finalTag = getExactOrCreate(tag, Arrays.copyOf(path, last), value == null ? null : setPredicate);
@@ -202,6 +312,55 @@ public class Rtag extends RtagMirror {
         }
     }
 
+    /**
+     * Add value to an ListTag on specified compiled path inside tag.<br>
+     * See {@link #add(Object, Object, Object...)} for more information.
+     *
+     * @param tag   Tag instance, can be CompoundTag or ListTag.
+     * @param value Value to add.
+     * @param path  Final list path to add the specified value.
+     * @return      true if value was added.
+     */
+    public boolean add(Object tag, Object value, RtagPath path) {
+        if (path.isEmpty()) {
+            return false;
+        }
+        Object finalTag = getExactOrCreate(tag, path, path.size(), CREATE_ADD);
+        if (TAG_LIST.isInstance(finalTag)) {
+            Object valueTag = newTag(value);
+            if (valueTag != null) {
+                TagList.add(finalTag, valueTag);
+                return true;
+            }
+        }
+        // Incompatible tag or value
+        return false;
+    }
+
+    /**
+     * Set value to specified compiled path inside tag.<br>
+     * See {@link #set(Object, Object, Object...)} for more information.
+     *
+     * @param tag   Tag instance, can be CompoundTag or ListTag.
+     * @param value Value to set.
+     * @param path  Final value path to set.
+     * @return      true if the value was set.
+     */
+    public boolean set(Object tag, Object value, RtagPath path) {
+        if (path.isEmpty()) {
+            return false;
+        }
+        final int last = path.size() - 1;
+        final Object finalTag = getExactOrCreate(tag, path, last, value == null ? CREATE_NONE : CREATE_SET);
+        if (finalTag == null) {
+            return false;
+        } else if (value == null) {
+            return removeExact(finalTag, path.keys[last]);
+        } else {
+            return setExact(finalTag, value, path.keys[last]);
+        }
+    }
+
     /**
      * Set value to exact NBTTag list or compound.
      *
@@ -276,6 +435,9 @@ public class Rtag extends RtagMirror {
      * @return      true if the value was moved.
      */
     public boolean move(Object tag, Object[] from, Object[] to, boolean clear) {
+        if (from.length == 1 && from[0] instanceof RtagPath) {
+            from = ((RtagPath) from[0]).toArray();
+        }
         final Object value = getExact(tag, from);
         if (value == null) {
             return false;
@@ -356,6 +518,136 @@ public class Rtag extends RtagMirror {
         return OptionalType.of(getTagValue(getExact(tag, path)));
     }
 
+    /**
+     * Same has {@link #get(Object, Object...)} but using a compiled path.
+     *
+     * @param tag  Tag instance, can be CompoundTag or ListTag.
+     * @param path Final value path to get.
+     * @param <T>  Object type to cast the value.
+     * @return     The value assigned to specified path, null if not
+     *             exist or a ClassCastException occurs.
+     */
+    public <T> T get(Object tag, RtagPath path) {
+        return OptionalType.cast(getTagValue(getExact(tag, path)));
+    }
+
+    /**
+     * Same has {@link #getOptional(Object, Object...)} but using a compiled path.
+     *
+     * @param tag  Tag instance, can be CompoundTag or ListTag.
+     * @param path Final value path to get.
+     * @return     The value assigned to specified path has {@link OptionalType}.
+     */
+    public OptionalType getOptional(Object tag, RtagPath path) {
+        return OptionalType.of(getTagValue(getExact(tag, path)));
+    }
+
+    /**
+     * Get a byte value from the specified path inside tag without boxing.<br>
+     * The value is read directly from numeric tag, any other tag type is
+     * ignored.<br>
+     * See {@link #get(Object, Object...)} for path information.
+     *
+     * @param tag  Tag instance, can be CompoundTag or ListTag.
+     * @param def  Default value to return if the value doesn't exist or it's not a number.
+     * @param path Final value path to get.
+     * @return     The byte value assigned to specified path or default value.
+     */
+    public byte getByte(Object tag, byte def, Object... path) {
+        return TagBase.getByte(getExact(tag, path), def);
+    }
+
+    /**
+     * Get a boolean value from the specified path inside tag without boxing.<br>
+     * The value is read directly from numeric tag, any other tag type is
+     * ignored.<br>
+     * Any number different than 0 is considered as true.<br>
+     * See {@link #get(Object, Object...)} for path information.
+     *
+     * @param tag  Tag instance, can be CompoundTag or ListTag.
+     * @param def  Default value to return if the value doesn't exist or it's not a number.
+     * @param path Final value path to get.
+     * @return     The boolean value assigned to specified path or default value.
+     */
+    public boolean getBoolean(Object tag, boolean def, Object... path) {
+        return TagBase.getBoolean(getExact(tag, path), def);
+    }
+
+    /**
+     * Get a short value from the specified path inside tag without boxing.<br>
+     * The value is read directly from numeric tag, any other tag type is
+     * ignored.<br>
+     * See {@link #get(Object, Object...)} for path information.
+     *
+     * @param tag  Tag instance, can be CompoundTag or ListTag.
+     * @param def  Default value to return if the value doesn't exist or it's not a number.
+     * @param path Final value path to get.
+     * @return     The short value assigned to specified path or default value.
+     */
+    public short getShort(Object tag, short def, Object... path) {
+        return TagBase.getShort(getExact(tag, path), def);
+    }
+
+    /**
+     * Get an int value from the specified path inside tag without boxing.<br>
+     * The value is read directly from numeric tag, any other tag type is
+     * ignored.<br>
+     * See {@link #get(Object, Object...)} for path information.
+     *
+     * @param tag  Tag instance, can be CompoundTag or ListTag.
+     * @param def  Default value to return if the value doesn't exist or it's not a number.
+     * @param path Final value path to get.
+     * @return     The int value assigned to specified path or default value.
+     */
+    public int getInt(Object tag, int def, Object... path) {
+        return TagBase.getInt(getExact(tag, path), def);
+    }
+
+    /**
+     * Get a long value from the specified path inside tag without boxing.<br>
+     * The value is read directly from numeric tag, any other tag type is
+     * ignored.<br>
+     * See {@link #get(Object, Object...)} for path information.
+     *
+     * @param tag  Tag instance, can be CompoundTag or ListTag.
+     * @param def  Default value to return if the value doesn't exist or it's not a number.
+     * @param path Final value path to get.
+     * @return     The long value assigned to specified path or default value.
+     */
+    public long getLong(Object tag, long def, Object... path) {
+        return TagBase.getLong(getExact(tag, path), def);
+    }
+
+    /**
+     * Get a float value from the specified path inside tag without boxing.<br>
+     * The value is read directly from numeric tag, any other tag type is
+     * ignored.<br>
+     * See {@link #get(Object, Object...)} for path information.
+     *
+     * @param tag  Tag instance, can be CompoundTag or ListTag.
+     * @param def  Default value to return if the value doesn't exist or it's not a number.
+     * @param path Final value path to get.
+     * @return     The float value assigned to specified path or default value.
+     */
+    public float getFloat(Object tag, float def, Object... path) {
+        return TagBase.getFloat(getExact(tag, path), def);
+    }
+
+    /**
+     * Get a double value from the specified path inside tag without boxing.<br>
+     * The value is read directly from numeric tag, any other tag type is
+     * ignored.<br>
+     * See {@link #get(Object, Object...)} for path information.
+     *
+     * @param tag  Tag instance, can be CompoundTag or ListTag.
+     * @param def  Default value to return if the value doesn't exist or it's not a number.
+     * @param path Final value path to get.
+     * @return     The double value assigned to specified path or default value.
+     */
+    public double getDouble(Object tag, double def, Object... path) {
+        return TagBase.getDouble(getExact(tag, path), def);
+    }
+
     /**
      * Get exact Tag value without any conversion, from the specified path inside tag.<br>
      * See {@link #get(Object, Object...)} for path information.
@@ -368,6 +660,17 @@ public class Rtag extends RtagMirror {
         return getExactOrCreate(tag, path, null);
     }
 
+    /**
+     * Get exact Tag value without any conversion, from the specified compiled path inside tag.
+     *
+     * @param tag  Tag instance, can be CompoundTag or ListTag.
+     * @param path Final value path to get.
+     * @return     The value assigned to specified path, null if not exist.
+     */
+    public Object getExact(Object tag, RtagPath path) {
+        return getExactOrCreate(tag, path, path.size(), CREATE_NONE);
+    }
+
     /**
      * Get exact Tag value without any conversion, from the specified path inside tag.<br>
      * See {@link #get(Object, Object...)} for path information.
@@ -379,6 +682,17 @@ public class Rtag extends RtagMirror {
      */
     @SuppressWarnings("unchecked")
     public Object getExactOrCreate(Object tag, Object[] path, BiPredicate<Integer, Object[]> listPredicate) {
+        if (path.length == 1 && path[0] instanceof RtagPath) {
+            final RtagPath rtagPath = (RtagPath) path[0];
+            if (listPredicate == null) {
+                return getExactOrCreate(tag, rtagPath, rtagPath.size(), CREATE_NONE);
+            } else if (listPredicate == setPredicate) {
+                return getExactOrCreate(tag, rtagPath, rtagPath.size(), CREATE_SET);
+            } else if (listPredicate == addPredicate) {
+                return getExactOrCreate(tag, rtagPath, rtagPath.size(), CREATE_ADD);
+            }
+            path = rtagPath.toArray();
+        }
         Object finalTag = tag;
         for (int i = 0; i < path.length; i++) {
             Object key = path[i];
@@ -417,6 +731,50 @@ public class Rtag extends RtagMirror {
         return finalTag;
     }
 
+    @SuppressWarnings("unchecked")
+    private Object getExactOrCreate(Object tag, RtagPath path, int length, int create) {
+        Object finalTag = tag;
+        for (int i = 0; i < length; i++) {
+            final Object key = path.keys[i];
+            if (key instanceof ThrowableFunction) {
+                try {
+                    finalTag = ((ThrowableFunction<Object, Object>) key).apply(finalTag);
+                } catch (Throwable t) {
+                    return null;
+                }
+                if (finalTag == null) {
+                    return null;
+                }
+            } else if (key instanceof Integer && TAG_LIST.isInstance(finalTag)) {
+                final int index = (int) key;
+                if (index >= 0 ? TagList.size(finalTag) > index : TagList.size(finalTag) >= -index) {
+                    finalTag = TagList.get(finalTag, index);
+                } else {
+                    // Out of bounds
+                    return null;
+                }
+            } else if (TAG_COMPOUND.isInstance(finalTag)) {
+                final String keyString = path.names[i];
+                Object value = TagCompound.get(finalTag, keyString);
+                // Create tag if not exists
+                if (value == null && create != CREATE_NONE) {
+                    // Only look ahead inside length, like the predicates do with truncated paths
+                    value = (i + 1 < length ? path.lists[i] : create == CREATE_ADD) ? TagList.newTag() : TagCompound.newTag();
+                    TagCompound.set(finalTag, keyString, value);
+                }
+                if (value == null) {
+                    // Unknown path or incompatible tag
+                    return null;
+                }
+                finalTag = value;
+            } else {
+                // Incompatible tag
+                return null;
+            }
+        }
+        return finalTag;
+    }
+
     /**
      * Get and test exact Tag value without any conversion, from the specified path inside tag.<br>
      * See {@link #get(Object, Object...)} for path information.
@@ -442,17 +800,19 @@ public class Rtag extends RtagMirror {
      * @param tag tag object.
      * @return    Converted value or null.
      */
-    @SuppressWarnings("unchecked")
     @Override
     public Object getTagValue(Object tag) {
-        Object object = super.getTagValue(tag);
-        if (object instanceof Map) {
-            Object type = ((Map<String, Object>) object).get("rtag==");
-            if (type instanceof String && deserializers.containsKey((String) type)) {
-                return deserializers.get((String) type).deserialize((Map<String, Object>) object);
+        if (!deserializers.isEmpty() && TagCompound.isTagCompound(tag)) {
+            // Peek the type key before any conversion
+            final Object type = TagCompound.get(tag, "rtag==");
+            if (type != null) {
+                final RtagDeserializer<Object> deserializer = deserializers.get(TagBase.getValue(type));
+                if (deserializer != null) {
+                    return deserializer.deserialize(new TagReader(this, tag));
+                }
             }
         }
-        return object;
+        return super.getTagValue(tag);
     }
 
     /**
@@ -466,11 +826,13 @@ public class Rtag extends RtagMirror {
     public Object newTag(Object object) {
         if (object == null) {
             return null;
-        } else if (serializers.containsKey(object.getClass())) {
-            RtagSerializer<Object> serializer = serializers.get(object.getClass());
-            Map<String, Object> map = serializer.serialize(object);
-            map.put("rtag==", serializer.getInID());
-            return newTag(map);
+        }
+        final RtagSerializer<Object> serializer = getSerializer(object.getClass());
+        if (serializer != null) {
+            final TagWriter writer = new TagWriter(this);
+            serializer.serialize(object, writer);
+            writer.putString("rtag==", serializer.getInID());
+            return writer.getTag();
         } else {
             return super.newTag(object);
         }
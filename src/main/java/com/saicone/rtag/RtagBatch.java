@@ -0,0 +1,350 @@
+package com.saicone.rtag;
+
+import com.saicone.rtag.tag.TagCompound;
+import com.saicone.rtag.tag.TagList;
+import com.saicone.rtag.util.ThrowableFunction;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * RtagBatch class to group multiple edits into a single tag traversal.<br>
+ * Every edit is saved into a prefix tree using the path of the tag that
+ * will be edited, so edits that share the same path prefix only need to
+ * find (or create) the intermediate compounds and lists once.<br>
+ * The edits are applied in the same order they were added, any edit that
+ * replaces or removes a tag with nested edits is executed in between them.
+ *
+ * @author Rubenicos
+ */
+public class RtagBatch {
+
+    private final Rtag rtag;
+    private final Object tag;
+    private final RtagEditor<?, ?> editor;
+
+    private final Node root = new Node();
+    private int size = 0;
+    // True if any edit can change the list indexes used by next edits
+    private boolean shifting = false;
+
+    /**
+     * Constructs an RtagBatch to edit the provided tag.
+     *
+     * @param rtag Rtag parent to convert values.
+     * @param tag  Tag instance, can be CompoundTag or ListTag.
+     */
+    public RtagBatch(Rtag rtag, Object tag) {
+        this.rtag = rtag;
+        this.tag = tag;
+        this.editor = null;
+    }
+
+    /**
+     * Constructs an RtagBatch to edit the current tag of provided editor.
+     *
+     * @param editor Editor instance.
+     */
+    public RtagBatch(RtagEditor<?, ?> editor) {
+        this.rtag = editor.getRtag();
+        this.tag = null;
+        this.editor = editor;
+    }
+
+    /**
+     * Get the amount of edits inside this batch.
+     *
+     * @return the edits count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Add value to an ListTag on specified path.<br>
+     * See {@link Rtag#add(Object, Object, Object...)} for more information.
+     *
+     * @param value Value to add.
+     * @param path  Final list path to add the specified value.
+     * @return      the current batch.
+     */
+    public RtagBatch add(Object value, Object... path) {
+        return add(value, RtagPath.of(path));
+    }
+
+    /**
+     * Add value to an ListTag on specified compiled path.<br>
+     * See {@link Rtag#add(Object, Object, Object...)} for more information.
+     *
+     * @param value Value to add.
+     * @param path  Final list path to add the specified value.
+     * @return      the current batch.
+     */
+    public RtagBatch add(Object value, RtagPath path) {
+        if (path.isEmpty()) {
+            return this;
+        }
+        return record(path, path.size(), new Edit(Edit.ADD, null, value));
+    }
+
+    /**
+     * Set value to specified path.<br>
+     * See {@link Rtag#set(Object, Object, Object...)} for more information.
+     *
+     * @param value Value to set, null to remove it.
+     * @param path  Final value path to set.
+     * @return      the current batch.
+     */
+    public RtagBatch set(Object value, Object... path) {
+        return set(value, RtagPath.of(path));
+    }
+
+    /**
+     * Set value to specified compiled path.<br>
+     * See {@link Rtag#set(Object, Object, Object...)} for more information.
+     *
+     * @param value Value to set, null to remove it.
+     * @param path  Final value path to set.
+     * @return      the current batch.
+     */
+    public RtagBatch set(Object value, RtagPath path) {
+        if (path.isEmpty()) {
+            return this;
+        }
+        return record(path, path.size() - 1, new Edit(value == null ? Edit.REMOVE : Edit.SET, path.last(), value));
+    }
+
+    /**
+     * Remove value from specified path.
+     *
+     * @param path Final value path to remove.
+     * @return     the current batch.
+     */
+    public RtagBatch remove(Object... path) {
+        return set(null, RtagPath.of(path));
+    }
+
+    /**
+     * Remove value from specified compiled path.
+     *
+     * @param path Final value path to remove.
+     * @return     the current batch.
+     */
+    public RtagBatch remove(RtagPath path) {
+        return set(null, path);
+    }
+
+    private RtagBatch record(RtagPath path, int length, Edit edit) {
+        final boolean create = edit.type != Edit.REMOVE;
+        Node node = root;
+        for (int i = 0; i < length; i++) {
+            final Object key = path.keys[i];
+            Step step = node.open.get(key);
+            if (step == null) {
+                step = new Step(key, path.names[i]);
+                node.steps.add(step);
+                node.open.put(key, step);
+            }
+            if (create && !step.create) {
+                // The tag is only created by the edits that require it
+                step.create = true;
+                // Create the tag as ListTag if the next key is an index or the value is added into it
+                step.list = i + 1 < length ? path.lists[i] : edit.type == Edit.ADD;
+            }
+            node = step.node;
+        }
+        node.steps.add(edit);
+        if (edit.type == Edit.ADD || (edit.type == Edit.REMOVE && edit.key instanceof Integer)) {
+            shifting = true;
+        }
+        if (edit.type == Edit.ADD || edit.key instanceof Integer) {
+            // List indexes may change, so nested edits cannot be grouped anymore
+            node.open.clear();
+        } else {
+            node.open.remove(edit.key);
+        }
+        size++;
+        return this;
+    }
+
+    /**
+     * Apply all the edits into tag.<br>
+     * The batch is not cleared after this method, so it can be applied
+     * again into the same tag or used to create a new batch.
+     *
+     * @return the amount of edits that was successfully applied.
+     */
+    public int apply() {
+        if (size == 0) {
+            return 0;
+        }
+        Object tag = this.tag;
+        if (editor != null) {
+            if (shifting) {
+                // The edited list elements cannot be known before applying the edits
+                tag = editor.getTag();
+            } else {
+                // Every tag along the deepest paths is made editable, so prefixes are also editable
+                final Set<List<Object>> paths = new LinkedHashSet<>();
+                collectPaths(root, new ArrayList<>(), paths);
+                for (List<Object> path : paths) {
+                    tag = editor.getEditableTag(path.toArray());
+                }
+            }
+        }
+        return apply(root, new Target(null, null, tag));
+    }
+
+    private static void collectPaths(Node node, List<Object> prefix, Set<List<Object>> paths) {
+        boolean leaf = true;
+        for (Object object : node.steps) {
+            if (object instanceof Step) {
+                leaf = false;
+                prefix.add(((Step) object).key);
+                collectPaths(((Step) object).node, prefix, paths);
+                prefix.remove(prefix.size() - 1);
+            }
+        }
+        if (leaf) {
+            paths.add(new ArrayList<>(prefix));
+        }
+    }
+
+    private int apply(Node node, Target target) {
+        int count = 0;
+        for (Object object : node.steps) {
+            if (object instanceof Edit) {
+                final Edit edit = (Edit) object;
+                final Object tag = target.get(edit.type != Edit.REMOVE);
+                if (tag != null && edit.apply(rtag, tag)) {
+                    count++;
+                }
+            } else {
+                final Step step = (Step) object;
+                final Object tag = target.get(false);
+                final Object child = tag == null ? null : step.get(tag, false);
+                if (child != null || step.create) {
+                    count += apply(step.node, new Target(target, step, child));
+                }
+            }
+        }
+        return count;
+    }
+
+    private static final class Target {
+
+        private final Target parent;
+        private final Step step;
+        private Object tag;
+
+        private Target(Target parent, Step step, Object tag) {
+            this.parent = parent;
+            this.step = step;
+            this.tag = tag;
+        }
+
+        // Get the current tag, missing tags along the path are created if required
+        private Object get(boolean create) {
+            if (tag == null && create && parent != null) {
+                final Object parentTag = parent.get(true);
+                if (parentTag != null) {
+                    tag = step.get(parentTag, true);
+                }
+            }
+            return tag;
+        }
+    }
+
+    private static final class Node {
+
+        // Steps can be nested paths or edits
+        private final List<Object> steps = new ArrayList<>();
+        // Nested paths that can be reused by the next edits
+        private final Map<Object, Step> open = new HashMap<>();
+    }
+
+    private static final class Step {
+
+        private final Object key;
+        private final String name;
+        private final Node node = new Node();
+        // True if any nested edit can create the tag
+        private boolean create;
+        private boolean list;
+
+        private Step(Object key, String name) {
+            this.key = key;
+            this.name = name;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object get(Object tag, boolean create) {
+            if (key instanceof ThrowableFunction) {
+                try {
+                    return ((ThrowableFunction<Object, Object>) key).apply(tag);
+                } catch (Throwable t) {
+                    return null;
+                }
+            } else if (key instanceof Integer && TagList.isTagList(tag)) {
+                final int size = TagList.size(tag);
+                final int index = (int) key;
+                if (index >= 0 ? size > index : size >= -index) {
+                    return TagList.get(tag, index);
+                }
+                // Out of bounds
+                return null;
+            } else if (TagCompound.isTagCompound(tag)) {
+                Object value = TagCompound.get(tag, name);
+                // Create tag if not exists
+                if (value == null && create) {
+                    value = list ? TagList.newTag() : TagCompound.newTag();
+                    TagCompound.set(tag, name, value);
+                }
+                return value;
+            }
+            // Incompatible tag
+            return null;
+        }
+    }
+
+    private static final class Edit {
+
+        private static final int SET = 0;
+        private static final int REMOVE = 1;
+        private static final int ADD = 2;
+
+        private final int type;
+        private final Object key;
+        private final Object value;
+
+        private Edit(int type, Object key, Object value) {
+            this.type = type;
+            this.key = key;
+            this.value = value;
+        }
+
+        private boolean apply(Rtag rtag, Object tag) {
+            switch (type) {
+                case SET:
+                    return rtag.setExact(tag, value, key);
+                case REMOVE:
+                    return rtag.removeExact(tag, key);
+                case ADD:
+                    if (TagList.isTagList(tag)) {
+                        final Object valueTag = rtag.newTag(value);
+                        if (valueTag != null) {
+                            TagList.add(tag, valueTag);
+                            return true;
+                        }
+                    }
+                    return false;
+                default:
+                    return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.saicone.rtag;
+
+import com.saicone.rtag.tag.TagReader;
+import com.saicone.rtag.tag.TagWriter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RtagCodec class to serialize and deserialize records or regular
+ * Java objects directly from and into CompoundTag.<br>
+ * On first use per class, every record component or non-static and non-transient
+ * field is resolved into typed MethodHandles that are cached with the class,
+ * so any object is written and read without intermediate maps or Json trees.<br>
+ * Records are created using the canonical constructor, any other class must
+ * have a constructor without parameters.
+ *
+ * @author Rubenicos
+ *
+ * @param <T> Object type.
+ */
+public class RtagCodec<T> implements TagSerializer<T>, TagDeserializer<T> {
+
+    private static final Method Class_isRecord;
+    private static final Method Class_getRecordComponents;
+    private static final Method RecordComponent_getName;
+    private static final Method RecordComponent_getType;
+    private static final Method RecordComponent_getAccessor;
+    static {
+        Method isRecord = null;
+        Method getRecordComponents = null;
+        Method getName = null;
+        Method getType = null;
+        Method getAccessor = null;
+        try {
+            // Records are only available since Java 16
+            isRecord = Class.class.getMethod("isRecord");
+            getRecordComponents = Class.class.getMethod("getRecordComponents");
+            final Class<?> recordComponent = Class.forName("java.lang.reflect.RecordComponent");
+            getName = recordComponent.getMethod("getName");
+            getType = recordComponent.getMethod("getType");
+            getAccessor = recordComponent.getMethod("getAccessor");
+        } catch (ReflectiveOperationException ignored) { }
+        Class_isRecord = isRecord;
+        Class_getRecordComponents = getRecordComponents;
+        RecordComponent_getName = getName;
+        RecordComponent_getType = getType;
+        RecordComponent_getAccessor = getAccessor;
+    }
+
+    private static final ClassValue<Layout> LAYOUTS = new ClassValue<>() {
+        @Override
+        protected Layout computeValue(Class<?> type) {
+            return Layout.of(type);
+        }
+    };
+
+    private final Class<T> type;
+    private final String id;
+
+    /**
+     * Create an RtagCodec for provided class, using the class name as type ID.
+     *
+     * @param type the object class.
+     * @return     new RtagCodec instance.
+     * @param <T>  the object type.
+     */
+    public static <T> RtagCodec<T> of(Class<T> type) {
+        return new RtagCodec<>(type, type.getName());
+    }
+
+    /**
+     * Create an RtagCodec for provided class.
+     *
+     * @param type the object class.
+     * @param id   the type ID to save with CompoundTag.
+     * @return     new RtagCodec instance.
+     * @param <T>  the object type.
+     */
+    public static <T> RtagCodec<T> of(Class<T> type, String id) {
+        return new RtagCodec<>(type, id);
+    }
+
+    /**
+     * Constructs an RtagCodec for provided class.
+     *
+     * @param type the object class.
+     * @param id   the type ID to save with CompoundTag.
+     */
+    public RtagCodec(Class<T> type, String id) {
+        this.type = type;
+        this.id = id;
+    }
+
+    /**
+     * Register this codec as serializer and deserializer into provided Rtag instance.
+     *
+     * @param rtag the Rtag instance.
+     * @return     the current codec.
+     */
+    public RtagCodec<T> register(Rtag rtag) {
+        rtag.putSerializer(type, this);
+        rtag.putDeserializer(this);
+        return this;
+    }
+
+    /**
+     * Get the object class of this codec.
+     *
+     * @return a class type.
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    @Override
+    public String getInID() {
+        return id;
+    }
+
+    @Override
+    public String getOutID() {
+        return id;
+    }
+
+    @Override
+    public void serialize(T object, TagWriter writer) {
+        final Layout layout = LAYOUTS.get(type);
+        try {
+            for (Property property : layout.properties) {
+                property.write(object, writer);
+            }
+        } catch (Throwable t) {
+            throw new RuntimeException("Cannot serialize object of type " + type.getName(), t);
+        }
+    }
+
+    @Override
+    public T deserialize(TagReader reader) {
+        final Layout layout = LAYOUTS.get(type);
+        try {
+            return type.cast(layout.read(reader));
+        } catch (Throwable t) {
+            throw new RuntimeException("Cannot deserialize object of type " + type.getName(), t);
+        }
+    }
+
+    private static final class Layout {
+
+        private final Property[] properties;
+        private final boolean record;
+        private final MethodHandle constructor;
+
+        private Layout(Property[] properties, boolean record, MethodHandle constructor) {
+            this.properties = properties;
+            this.record = record;
+            this.constructor = constructor;
+        }
+
+        private static Layout of(Class<?> type) {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            try {
+                if (isRecord(type)) {
+                    final Object[] components = (Object[]) Class_getRecordComponents.invoke(type);
+                    final Property[] properties = new Property[components.length];
+                    final Class<?>[] types = new Class<?>[components.length];
+                    for (int i = 0; i < components.length; i++) {
+                        final String name = (String) RecordComponent_getName.invoke(components[i]);
+                        types[i] = (Class<?>) RecordComponent_getType.invoke(components[i]);
+                        final Method accessor = (Method) RecordComponent_getAccessor.invoke(components[i]);
+                        properties[i] = new Property(name, types[i], lookup.unreflect(accessible(accessor)), null);
+                    }
+                    final Constructor<?> constructor = accessible(type.getDeclaredConstructor(types));
+                    final MethodHandle handle = lookup.unreflectConstructor(constructor)
+                            .asType(MethodType.genericMethodType(types.length))
+                            .asSpreader(Object[].class, types.length);
+                    return new Layout(properties, true, handle);
+                }
+
+                final List<Property> properties = new ArrayList<>();
+                for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+                    for (Field field : clazz.getDeclaredFields()) {
+                        final int modifiers = field.getModifiers();
+                        if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                            continue;
+                        }
+                        accessible(field);
+                        properties.add(new Property(field.getName(), field.getType(), lookup.unreflectGetter(field), lookup.unreflectSetter(field)));
+                    }
+                }
+                final MethodHandle constructor = lookup.unreflectConstructor(accessible(type.getDeclaredConstructor()))
+                        .asType(MethodType.methodType(Object.class));
+                return new Layout(properties.toArray(new Property[0]), false, constructor);
+            } catch (Throwable t) {
+                throw new IllegalArgumentException("Cannot create codec layout for " + type.getName(), t);
+            }
+        }
+
+        private static boolean isRecord(Class<?> type) throws ReflectiveOperationException {
+            return Class_isRecord != null && (boolean) Class_isRecord.invoke(type);
+        }
+
+        private static <A extends AccessibleObject> A accessible(A object) {
+            object.setAccessible(true);
+            return object;
+        }
+
+        private Object read(TagReader reader) throws Throwable {
+            if (record) {
+                final Object[] args = new Object[properties.length];
+                for (int i = 0; i < properties.length; i++) {
+                    args[i] = properties[i].read(reader);
+                }
+                return constructor.invokeExact(args);
+            }
+            final Object object = constructor.invokeExact();
+            for (Property property : properties) {
+                if (reader.contains(property.name)) {
+                    property.set(object, property.read(reader));
+                }
+            }
+            return object;
+        }
+    }
+
+    private static final class Property {
+
+        private static final int OBJECT = 0;
+        private static final int BOOLEAN = 1;
+        private static final int BYTE = 2;
+        private static final int SHORT = 3;
+        private static final int INT = 4;
+        private static final int LONG = 5;
+        private static final int FLOAT = 6;
+        private static final int DOUBLE = 7;
+        private static final int STRING = 8;
+        private static final int ENUM = 9;
+        private static final int UUID = 10;
+        // Chars are saved as IntTag, Minecraft doesn't have an unsigned short tag
+        private static final int CHAR = 11;
+
+        private final String name;
+        private final Class<?> type;
+        private final int kind;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private Property(String name, Class<?> type, MethodHandle getter, MethodHandle setter) {
+            this.name = name;
+            this.type = type;
+            this.kind = kind(type);
+            // Primitive values are read without boxing
+            final Class<?> exactType = kind >= BOOLEAN && kind <= DOUBLE ? type : Object.class;
+            this.getter = getter.asType(MethodType.methodType(exactType, Object.class));
+            this.setter = setter == null ? null : setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        }
+
+        private static int kind(Class<?> type) {
+            if (type == boolean.class) {
+                return BOOLEAN;
+            } else if (type == byte.class) {
+                return BYTE;
+            } else if (type == short.class) {
+                return SHORT;
+            } else if (type == int.class) {
+                return INT;
+            } else if (type == long.class) {
+                return LONG;
+            } else if (type == float.class) {
+                return FLOAT;
+            } else if (type == double.class) {
+                return DOUBLE;
+            } else if (type == String.class) {
+                return STRING;
+            } else if (type.isEnum()) {
+                return ENUM;
+            } else if (type == java.util.UUID.class) {
+                return UUID;
+            } else if (type == char.class || type == Character.class) {
+                return CHAR;
+            } else {
+                return OBJECT;
+            }
+        }
+
+        private void write(Object object, TagWriter writer) throws Throwable {
+            switch (kind) {
+                case BOOLEAN:
+                    writer.putBoolean(name, (boolean) getter.invokeExact(object));
+                    break;
+                case BYTE:
+                    writer.putByte(name, (byte) getter.invokeExact(object));
+                    break;
+                case SHORT:
+                    writer.putShort(name, (short) getter.invokeExact(object));
+                    break;
+                case INT:
+                    writer.putInt(name, (int) getter.invokeExact(object));
+                    break;
+                case LONG:
+                    writer.putLong(name, (long) getter.invokeExact(object));
+                    break;
+                case FLOAT:
+                    writer.putFloat(name, (float) getter.invokeExact(object));
+                    break;
+                case DOUBLE:
+                    writer.putDouble(name, (double) getter.invokeExact(object));
+                    break;
+                default:
+                    final Object value = getter.invokeExact(object);
+                    if (value == null) {
+                        break;
+                    }
+                    if (kind == STRING) {
+                        writer.putString(name, (String) value);
+                    } else if (kind == ENUM) {
+                        writer.putString(name, ((Enum<?>) value).name());
+                    } else if (kind == UUID) {
+                        writer.putString(name, value.toString());
+                    } else if (kind == CHAR) {
+                        writer.putInt(name, (Character) value);
+                    } else {
+                        writer.put(name, value);
+                    }
+                    break;
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Object read(TagReader reader) {
+            switch (kind) {
+                case BOOLEAN:
+                    return reader.getBoolean(name, false);
+                case BYTE:
+                    return reader.getByte(name, (byte) 0);
+                case SHORT:
+                    return reader.getShort(name, (short) 0);
+                case INT:
+                    return reader.getInt(name, 0);
+                case LONG:
+                    return reader.getLong(name, 0L);
+                case FLOAT:
+                    return reader.getFloat(name, 0f);
+                case DOUBLE:
+                    return reader.getDouble(name, 0d);
+                case STRING:
+                    return reader.getString(name);
+                case ENUM:
+                    final String constant = reader.getString(name);
+                    return constant == null ? null : Enum.valueOf((Class<? extends Enum>) type, constant);
+                case UUID:
+                    final String uuid = reader.getString(name);
+                    return uuid == null ? null : java.util.UUID.fromString(uuid);
+                case CHAR:
+                    if (type == Character.class && !reader.contains(name)) {
+                        return null;
+                    }
+                    return (char) reader.getInt(name, 0);
+                default:
+                    return convert(reader.get(name), type);
+            }
+        }
+
+        private void set(Object object, Object value) throws Throwable {
+            setter.invokeExact(object, value);
+        }
+
+        private static Object convert(Object value, Class<?> type) {
+            if (value == null || type.isInstance(value)) {
+                return value;
+            }
+            if (value instanceof Number) {
+                final Number number = (Number) value;
+                if (type == Integer.class) {
+                    return number.intValue();
+                } else if (type == Long.class) {
+                    return number.longValue();
+                } else if (type == Double.class) {
+                    return number.doubleValue();
+                } else if (type == Float.class) {
+                    return number.floatValue();
+                } else if (type == Short.class) {
+                    return number.shortValue();
+                } else if (type == Byte.class) {
+                    return number.byteValue();
+                } else if (type == Boolean.class) {
+                    return number.intValue() != 0;
+                }
+            }
+            return value;
+        }
+    }
+}
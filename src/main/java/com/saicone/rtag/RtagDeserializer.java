@@ -1,5 +1,7 @@
 package com.saicone.rtag;
 
+import com.saicone.rtag.tag.TagReader;
+
 import java.util.Map;
 
 /**
@@ -32,4 +34,17 @@ public interface RtagDeserializer<T> {
      * @return         A deserialized object.
      */
     T deserialize(Map<String, Object> compound);
+
+    /**
+     * Method who be invoked to read current object type from CompoundTag.<br>
+     * By default, the full compound is converted to {@link Map}.
+     *
+     * @see TagDeserializer
+     *
+     * @param reader the reader of CompoundTag.
+     * @return       A deserialized object.
+     */
+    default T deserialize(TagReader reader) {
+        return deserialize(reader.toMap());
+    }
 }
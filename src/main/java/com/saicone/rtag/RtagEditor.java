@@ -1,9 +1,13 @@
 package com.saicone.rtag;
 
 import com.saicone.rtag.tag.TagCompound;
+import com.saicone.rtag.tag.TagCompoundView;
 import com.saicone.rtag.util.OptionalType;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 
@@ -136,6 +140,19 @@ public abstract class RtagEditor<T, EditorT extends RtagEditor<T, EditorT>> {
         return tag;
     }
 
+    /**
+     * Get current tag to edit the values along the provided path.<br>
+     * By default, this method return the same tag as {@link #getTag()},
+     * editors that share their tag with the original object can override
+     * this method to copy only the tags that will be edited.
+     *
+     * @param path Path of the tag that will be edited, the tags along the path are also edited.
+     * @return     a compound tag.
+     */
+    protected Object getEditableTag(Object... path) {
+        return getTag();
+    }
+
     /**
      * Get current tag inside type or literal object.
      *
@@ -252,6 +269,13 @@ public abstract class RtagEditor<T, EditorT extends RtagEditor<T, EditorT>> {
         return hasBitField(getBitField(path), ordinals);
     }
 
+    private static Object[] parent(Object[] path) {
+        if (path.length == 1 && path[0] instanceof RtagPath) {
+            return new Object[] { ((RtagPath) path[0]).parent() };
+        }
+        return path.length > 0 ? Arrays.copyOf(path, path.length - 1) : path;
+    }
+
     private boolean hasBitField(int bitField, int... ordinals) {
         for (int ordinal : ordinals) {
             final byte bit = (byte) (1 << ordinal);
@@ -262,6 +286,16 @@ public abstract class RtagEditor<T, EditorT extends RtagEditor<T, EditorT>> {
         return bitField > 0;
     }
 
+    /**
+     * Create a batch of edits for the current tag.<br>
+     * See {@link RtagBatch} for more information.
+     *
+     * @return new RtagBatch instance.
+     */
+    public RtagBatch batch() {
+        return new RtagBatch(this);
+    }
+
     /**
      * Add value to an ListTag on specified path inside current object tag.<br>
      * See {@link Rtag#add(Object, Object, Object...)} for more information.
@@ -272,7 +306,23 @@ public abstract class RtagEditor<T, EditorT extends RtagEditor<T, EditorT>> {
      */
     public boolean add(Object value, Object... path) {
         try {
-            return rtag.add(getTag(), value, path);
+            return rtag.add(getEditableTag(path), value, path);
+        } catch (Throwable t) {
+            t.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Same has {@link #add(Object, Object...)} but using a compiled path.
+     *
+     * @param value Value to add.
+     * @param path  Final list path to add the specified value.
+     * @return      True if the value was added.
+     */
+    public boolean add(Object value, RtagPath path) {
+        try {
+            return rtag.add(getEditableTag(path), value, path);
         } catch (Throwable t) {
             t.printStackTrace();
             return false;
@@ -356,7 +406,23 @@ public abstract class RtagEditor<T, EditorT extends RtagEditor<T, EditorT>> {
      */
     public boolean set(Object value, Object... path) {
         try {
-            return rtag.set(getTag(), value, path);
+            return rtag.set(getEditableTag(parent(path)), value, path);
+        } catch (Throwable t) {
+            t.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Same has {@link #set(Object, Object...)} but using a compiled path.
+     *
+     * @param value Value to set.
+     * @param path  Final value path to set.
+     * @return      True if the value is set.
+     */
+    public boolean set(Object value, RtagPath path) {
+        try {
+            return rtag.set(getEditableTag(path.parent()), value, path);
         } catch (Throwable t) {
             t.printStackTrace();
             return false;
@@ -422,7 +488,7 @@ public abstract class RtagEditor<T, EditorT extends RtagEditor<T, EditorT>> {
      * @return        true if the value was merged.
      */
     public boolean merge(Object value, boolean replace) {
-        return TagCompound.merge(getTag(), rtag.newTag(value), replace);
+        return TagCompound.merge(getEditableTag(), rtag.newTag(value), replace);
     }
 
     /**
@@ -434,7 +500,7 @@ public abstract class RtagEditor<T, EditorT extends RtagEditor<T, EditorT>> {
      * @return        true if the value was merged.
      */
     public boolean merge(Object value, boolean replace, Object... path) {
-        return rtag.merge(getTag(), value, replace, path);
+        return rtag.merge(getEditableTag(path), value, replace, path);
     }
 
     /**
@@ -468,7 +534,8 @@ public abstract class RtagEditor<T, EditorT extends RtagEditor<T, EditorT>> {
      * @return      true if the value was moved.
      */
     public boolean move(Object[] from, Object[] to) {
-        return rtag.move(getTag(), from, to);
+        getEditableTag(parent(from));
+        return rtag.move(getEditableTag(parent(to)), from, to);
     }
 
     /**
@@ -480,7 +547,8 @@ public abstract class RtagEditor<T, EditorT extends RtagEditor<T, EditorT>> {
      * @return      true if the value was moved.
      */
     public boolean move(Object[] from, Object[] to, boolean clear) {
-        return rtag.move(getTag(), from, to, clear);
+        getEditableTag(parent(from));
+        return rtag.move(getEditableTag(parent(to)), from, to, clear);
     }
 
     /**
@@ -492,7 +560,22 @@ public abstract class RtagEditor<T, EditorT extends RtagEditor<T, EditorT>> {
      */
     public boolean remove(Object... path) {
         try {
-            return rtag.set(getTag(), null, path);
+            return rtag.set(getEditableTag(parent(path)), null, path);
+        } catch (Throwable t) {
+            t.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Same has {@link #remove(Object...)} but using a compiled path.
+     *
+     * @param path Final value path to remove.
+     * @return     True if the value associated with the path exists and is removed.
+     */
+    public boolean remove(RtagPath path) {
+        try {
+            return rtag.set(getEditableTag(path.parent()), null, path);
         } catch (Throwable t) {
             t.printStackTrace();
             return false;
@@ -562,6 +645,31 @@ public abstract class RtagEditor<T, EditorT extends RtagEditor<T, EditorT>> {
         return OptionalType.cast(rtag.getTagValue(this.tag));
     }
 
+    /**
+     * Get a read-only lazy view of current tag.<br>
+     * Unlike {@link #get()}, the values are converted on access,
+     * see {@link TagCompoundView} for more information.
+     *
+     * @return A Map view of current tag.
+     */
+    public Map<String, Object> view() {
+        return this.tag == null ? Map.of() : new TagCompoundView(rtag, this.tag);
+    }
+
+    /**
+     * Get a lazy view of current tag.<br>
+     * If the view is write-through, any change on map is saved directly into current tag.
+     *
+     * @param writeThrough true to save the changes into current tag.
+     * @return             A Map view of current tag.
+     */
+    public Map<String, Object> view(boolean writeThrough) {
+        if (!writeThrough) {
+            return view();
+        }
+        return new TagCompoundView(rtag, getTag(), true);
+    }
+
     /**
      * Get value from the specified path inside current tag.<br>
      * See {@link Rtag#get(Object, Object...)} for more information.
@@ -614,6 +722,189 @@ public abstract class RtagEditor<T, EditorT extends RtagEditor<T, EditorT>> {
         }
     }
 
+    /**
+     * Get every value that match the provided query inside current tag.<br>
+     * See {@link RtagQuery} for more information.
+     *
+     * @param query Compiled query to match values.
+     * @param <V>   Object type to cast the values.
+     * @return      A list of converted values, empty if nothing match the query.
+     */
+    public <V> List<V> getAll(RtagQuery query) {
+        if (this.tag == null) {
+            return new ArrayList<>();
+        }
+        return query.get(rtag, this.tag);
+    }
+
+    /**
+     * Same has {@link #get(Object...)} but using a compiled path.
+     *
+     * @param path Final value path to get.
+     * @param <V>  Object type to cast the value.
+     * @return     The value assigned to specified path, null if not
+     *             exist or a ClassCastException occurs.
+     */
+    public <V> V get(RtagPath path) {
+        try {
+            return rtag.get(this.tag, path);
+        } catch (Throwable t) {
+            t.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Same has {@link #getOptional(Object...)} but using a compiled path.
+     *
+     * @param path Final value path to get.
+     * @return     The value assigned to specified path has {@link OptionalType}.
+     */
+    public OptionalType getOptional(RtagPath path) {
+        Object value;
+        try {
+            value = rtag.getTagValue(rtag.getExact(this.tag, path));
+        } catch (Throwable t) {
+            t.printStackTrace();
+            value = null;
+        }
+        return OptionalType.of(value);
+    }
+
+    /**
+     * Same has {@link #getExact(Object...)} but using a compiled path.
+     *
+     * @param path Final value path to get.
+     * @return     The value assigned to specified path, null if not exist.
+     */
+    public Object getExact(RtagPath path) {
+        try {
+            return rtag.getExact(this.tag, path);
+        } catch (Throwable t) {
+            t.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Get a byte value from the specified path inside current tag without boxing.<br>
+     * See {@link Rtag#getByte(Object, byte, Object...)} for more information.
+     *
+     * @param def  Default value to return if the value doesn't exist or it's not a number.
+     * @param path Final value path to get.
+     * @return     The byte value assigned to specified path or default value.
+     */
+    public byte getByte(byte def, Object... path) {
+        try {
+            return rtag.getByte(this.tag, def, path);
+        } catch (Throwable t) {
+            t.printStackTrace();
+            return def;
+        }
+    }
+
+    /**
+     * Get a boolean value from the specified path inside current tag without boxing.<br>
+     * See {@link Rtag#getBoolean(Object, boolean, Object...)} for more information.
+     *
+     * @param def  Default value to return if the value doesn't exist or it's not a number.
+     * @param path Final value path to get.
+     * @return     The boolean value assigned to specified path or default value.
+     */
+    public boolean getBoolean(boolean def, Object... path) {
+        try {
+            return rtag.getBoolean(this.tag, def, path);
+        } catch (Throwable t) {
+            t.printStackTrace();
+            return def;
+        }
+    }
+
+    /**
+     * Get a short value from the specified path inside current tag without boxing.<br>
+     * See {@link Rtag#getShort(Object, short, Object...)} for more information.
+     *
+     * @param def  Default value to return if the value doesn't exist or it's not a number.
+     * @param path Final value path to get.
+     * @return     The short value assigned to specified path or default value.
+     */
+    public short getShort(short def, Object... path) {
+        try {
+            return rtag.getShort(this.tag, def, path);
+        } catch (Throwable t) {
+            t.printStackTrace();
+            return def;
+        }
+    }
+
+    /**
+     * Get an int value from the specified path inside current tag without boxing.<br>
+     * See {@link Rtag#getInt(Object, int, Object...)} for more information.
+     *
+     * @param def  Default value to return if the value doesn't exist or it's not a number.
+     * @param path Final value path to get.
+     * @return     The int value assigned to specified path or default value.
+     */
+    public int getInt(int def, Object... path) {
+        try {
+            return rtag.getInt(this.tag, def, path);
+        } catch (Throwable t) {
+            t.printStackTrace();
+            return def;
+        }
+    }
+
+    /**
+     * Get a long value from the specified path inside current tag without boxing.<br>
+     * See {@link Rtag#getLong(Object, long, Object...)} for more information.
+     *
+     * @param def  Default value to return if the value doesn't exist or it's not a number.
+     * @param path Final value path to get.
+     * @return     The long value assigned to specified path or default value.
+     */
+    public long getLong(long def, Object... path) {
+        try {
+            return rtag.getLong(this.tag, def, path);
+        } catch (Throwable t) {
+            t.printStackTrace();
+            return def;
+        }
+    }
+
+    /**
+     * Get a float value from the specified path inside current tag without boxing.<br>
+     * See {@link Rtag#getFloat(Object, float, Object...)} for more information.
+     *
+     * @param def  Default value to return if the value doesn't exist or it's not a number.
+     * @param path Final value path to get.
+     * @return     The float value assigned to specified path or default value.
+     */
+    public float getFloat(float def, Object... path) {
+        try {
+            return rtag.getFloat(this.tag, def, path);
+        } catch (Throwable t) {
+            t.printStackTrace();
+            return def;
+        }
+    }
+
+    /**
+     * Get a double value from the specified path inside current tag without boxing.<br>
+     * See {@link Rtag#getDouble(Object, double, Object...)} for more information.
+     *
+     * @param def  Default value to return if the value doesn't exist or it's not a number.
+     * @param path Final value path to get.
+     * @return     The double value assigned to specified path or default value.
+     */
+    public double getDouble(double def, Object... path) {
+        try {
+            return rtag.getDouble(this.tag, def, path);
+        } catch (Throwable t) {
+            t.printStackTrace();
+            return def;
+        }
+    }
+
     /**
      * Get Integer bit field from specified path.
      *
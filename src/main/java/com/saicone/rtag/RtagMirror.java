@@ -8,6 +8,9 @@ import org.jetbrains.annotations.ApiStatus;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * <p>RtagMirror class to convert objects.<br>
@@ -15,6 +18,8 @@ import java.util.Map;
  * objects like String, Short, Integer, Double, Float,
  * Long, Byte, Map and List.<br>
  * It also converts Byte, Integer and Long arrays as well.</p>
+ * <p>Large lists and compounds can be converted in parallel using a {@link ForkJoinPool},
+ * see {@link #setParallel(ForkJoinPool, int)} for more information.</p>
  *
  * @author Rubenicos
  */
@@ -38,12 +43,30 @@ public class RtagMirror {
      */
     public static final RtagMirror INSTANCE = new RtagMirror();
 
+    // Minimum amount of values converted by a single task
+    private static final int MIN_TASK_SIZE = 64;
+
+    private ForkJoinPool pool = null;
+    private int parallelThreshold = Integer.MAX_VALUE;
+
     /**
      * Constructs an {@link RtagMirror} only compatible with regular Java objects.
      */
     public RtagMirror() {
     }
 
+    /**
+     * Constructs an {@link RtagMirror} only compatible with regular Java objects
+     * that convert large lists and compounds in parallel.
+     *
+     * @param pool      the pool to run conversion tasks.
+     * @param threshold the minimum amount of values to convert in parallel.
+     */
+    public RtagMirror(ForkJoinPool pool, int threshold) {
+        this.parallelThreshold = parallelThreshold(pool, threshold);
+        this.pool = pool;
+    }
+
     /**
      * Constructs an {@link RtagMirror} only compatible with regular Java objects,
      * ignoring the provided {@link Rtag}.
@@ -87,6 +110,109 @@ public class RtagMirror {
         // empty method
     }
 
+    /**
+     * Get the pool used to convert values in parallel.
+     *
+     * @return a ForkJoinPool instance, null if parallel conversion is disabled.
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Get the minimum amount of values that are converted in parallel.
+     *
+     * @return a list or compound size.
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Set the pool and threshold to convert values in parallel.<br>
+     * Any ListTag or CompoundTag with more values than the threshold, and any List
+     * or Map with the same size, is converted by splitting its values across pool tasks,
+     * the order of values is preserved.<br>
+     * Take in count the tags must not be edited by other threads during the conversion,
+     * so this mode is intended for detached tags, like the ones read from files.
+     *
+     * @param pool      the pool to run conversion tasks, null to disable parallel conversion.
+     * @param threshold the minimum amount of values to convert in parallel.
+     */
+    public void setParallel(ForkJoinPool pool, int threshold) {
+        this.parallelThreshold = parallelThreshold(pool, threshold);
+        this.pool = pool;
+    }
+
+    private static int parallelThreshold(ForkJoinPool pool, int threshold) {
+        if (pool != null && threshold < 1) {
+            throw new IllegalArgumentException("The parallel threshold must be greater than 0");
+        }
+        return pool == null ? Integer.MAX_VALUE : threshold;
+    }
+
+    /**
+     * Check if the provided amount of values will be converted in parallel.
+     *
+     * @param size the amount of values.
+     * @return     true if parallel conversion is enabled and the size reach the threshold.
+     */
+    public boolean isParallel(int size) {
+        return size >= parallelThreshold && pool != null;
+    }
+
+    /**
+     * Convert every object into tag object.
+     *
+     * @param objects the objects to convert.
+     * @return        a new array with tag objects in the same order.
+     */
+    public Object[] newTags(Object[] objects) {
+        final Object[] tags = new Object[objects.length];
+        convert(objects, tags, true);
+        return tags;
+    }
+
+    /**
+     * Convert every tag object to regular Java object.
+     *
+     * @param tags the tags to convert.
+     * @return     a new array with converted objects in the same order.
+     */
+    public Object[] getTagValues(Object[] tags) {
+        final Object[] values = new Object[tags.length];
+        convert(tags, values, false);
+        return values;
+    }
+
+    private void convert(Object[] source, Object[] target, boolean toTag) {
+        final ForkJoinPool pool = this.pool;
+        if (pool == null || source.length < parallelThreshold) {
+            convert(source, target, 0, source.length, toTag);
+            return;
+        }
+        final int taskSize = Math.max(MIN_TASK_SIZE, source.length / (pool.getParallelism() * 8));
+        final ConvertTask task = new ConvertTask(source, target, 0, source.length, toTag, taskSize);
+        if (ForkJoinTask.getPool() == pool) {
+            // Nested conversion inside pool worker
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+    }
+
+    private void convert(Object[] source, Object[] target, int from, int to, boolean toTag) {
+        if (toTag) {
+            for (int i = from; i < to; i++) {
+                target[i] = newTag(source[i]);
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                target[i] = getTagValue(source[i]);
+            }
+        }
+    }
+
     /**
      * Convert any object to tag object.
      *
@@ -114,12 +240,13 @@ public class RtagMirror {
      */
     public Object clone(Object tag) {
         if (TAG_BASE.isInstance(tag)) {
-            if (TAG_COMPOUND.isInstance(tag)) {
-                return TagCompound.clone(tag);
-            } else if (TAG_LIST.isInstance(tag)) {
-                return TagList.clone(tag);
-            } else {
-                return TagBase.clone(tag);
+            switch (TagBase.getTypeId(tag)) {
+                case 9:
+                    return TagList.clone(tag);
+                case 10:
+                    return TagCompound.clone(tag);
+                default:
+                    return TagBase.clone(tag);
             }
         } else {
             return tag == null ? null : newTag(tag);
@@ -133,12 +260,40 @@ public class RtagMirror {
      * @return    Converted object.
      */
     public Object getTagValue(Object tag) {
-        if (TAG_COMPOUND.isInstance(tag)) {
-            return TagCompound.getValue(this, tag);
-        } else if (TAG_LIST.isInstance(tag)) {
-            return TagList.getValue(this, tag);
-        } else {
-            return TagBase.getValue(this, tag);
+        // Dispatch with cached tag type id
+        return TagBase.getValue(this, tag);
+    }
+
+    @SuppressWarnings("serial")
+    private final class ConvertTask extends RecursiveAction {
+
+        private final Object[] source;
+        private final Object[] target;
+        private final int from;
+        private final int to;
+        private final boolean toTag;
+        private final int taskSize;
+
+        ConvertTask(Object[] source, Object[] target, int from, int to, boolean toTag, int taskSize) {
+            this.source = source;
+            this.target = target;
+            this.from = from;
+            this.to = to;
+            this.toTag = toTag;
+            this.taskSize = taskSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= taskSize) {
+                convert(source, target, from, to, toTag);
+                return;
+            }
+            final int middle = (from + to) >>> 1;
+            invokeAll(
+                    new ConvertTask(source, target, from, middle, toTag, taskSize),
+                    new ConvertTask(source, target, middle, to, toTag, taskSize)
+            );
         }
     }
 }
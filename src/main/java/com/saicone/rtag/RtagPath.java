@@ -0,0 +1,299 @@
+package com.saicone.rtag;
+
+import com.saicone.rtag.util.ThrowableFunction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * RtagPath class to represent a compiled path that can be used
+ * multiple times across {@link Rtag} and {@link RtagEditor} methods.<br>
+ * Every path key is processed only once, so compound keys are saved
+ * as String, list indexes as Integer and the type of tag that must be
+ * created for every missing key is also computed.
+ *
+ * @author Rubenicos
+ */
+public final class RtagPath {
+
+    /**
+     * Empty RtagPath instance.
+     */
+    public static final RtagPath EMPTY = new RtagPath(new Object[0]);
+
+    // Keys can be String, Integer or ThrowableFunction
+    final Object[] keys;
+    // Keys as String, used to get CompoundTag values
+    final String[] names;
+    // True if the tag at index must be created as ListTag
+    final boolean[] lists;
+
+    private RtagPath parent;
+
+    /**
+     * Create an RtagPath using the provided keys, following the
+     * {@link Rtag#get(Object, Object...)} path format.<br>
+     * If the provided path is a single RtagPath, the same instance is returned.
+     *
+     * @param path the keys of path.
+     * @return     an RtagPath instance.
+     */
+    public static RtagPath of(Object... path) {
+        if (path.length == 0) {
+            return EMPTY;
+        } else if (path.length == 1 && path[0] instanceof RtagPath) {
+            return (RtagPath) path[0];
+        }
+        final Object[] keys = new Object[path.length];
+        for (int i = 0; i < path.length; i++) {
+            final Object key = path[i];
+            if (key instanceof Integer || key instanceof String || key instanceof ThrowableFunction) {
+                keys[i] = key;
+            } else {
+                keys[i] = String.valueOf(key);
+            }
+        }
+        return new RtagPath(keys);
+    }
+
+    /**
+     * Parse the provided String into an RtagPath.<br>
+     * Compound keys are separated by dots and list indexes are written
+     * between brackets, for example {@code "display.Lore[0]"}.<br>
+     * Any key can be quoted to use dots or brackets as part of the key,
+     * like {@code "components.\"minecraft:custom_data\".id"}.
+     *
+     * @param path the path to parse.
+     * @return     an RtagPath instance.
+     * @throws IllegalArgumentException if the path is malformed.
+     */
+    public static RtagPath parse(String path) {
+        if (path.isEmpty()) {
+            return EMPTY;
+        }
+        final List<Object> keys = new ArrayList<>();
+        final int length = path.length();
+        int i = 0;
+        // Key is expected at start of path or after a dot
+        boolean expectKey = true;
+        while (i < length) {
+            final char c = path.charAt(i);
+            if (c == '[') {
+                if (i + 1 < length && path.charAt(i + 1) == '"') {
+                    final StringBuilder builder = new StringBuilder();
+                    final int end = readQuoted(path, i + 1, builder);
+                    if (end >= length || path.charAt(end) != ']') {
+                        throw new IllegalArgumentException("Missing close bracket at " + end + " on path: " + path);
+                    }
+                    keys.add(builder.toString());
+                    i = end + 1;
+                } else {
+                    final int end = path.indexOf(']', i);
+                    if (end < 0) {
+                        throw new IllegalArgumentException("Missing close bracket at " + i + " on path: " + path);
+                    }
+                    final String index = path.substring(i + 1, end).trim();
+                    try {
+                        keys.add(Integer.parseInt(index));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid list index '" + index + "' on path: " + path, e);
+                    }
+                    i = end + 1;
+                }
+                expectKey = false;
+            } else if (c == '.') {
+                if (expectKey) {
+                    throw new IllegalArgumentException("Empty key at " + i + " on path: " + path);
+                }
+                expectKey = true;
+                i++;
+            } else if (expectKey) {
+                if (c == '"') {
+                    final StringBuilder builder = new StringBuilder();
+                    i = readQuoted(path, i, builder);
+                    keys.add(builder.toString());
+                } else {
+                    int end = i;
+                    while (end < length) {
+                        final char e = path.charAt(end);
+                        if (e == '.' || e == '[') {
+                            break;
+                        }
+                        end++;
+                    }
+                    keys.add(path.substring(i, end));
+                    i = end;
+                }
+                expectKey = false;
+            } else {
+                throw new IllegalArgumentException("Unexpected character '" + c + "' at " + i + " on path: " + path);
+            }
+        }
+        if (expectKey) {
+            throw new IllegalArgumentException("Path cannot end with a dot: " + path);
+        }
+        return new RtagPath(keys.toArray());
+    }
+
+    static int readQuoted(String path, int start, StringBuilder builder) {
+        int i = start + 1;
+        while (i < path.length()) {
+            final char c = path.charAt(i);
+            if (c == '\\' && i + 1 < path.length()) {
+                builder.append(path.charAt(i + 1));
+                i += 2;
+            } else if (c == '"') {
+                return i + 1;
+            } else {
+                builder.append(c);
+                i++;
+            }
+        }
+        throw new IllegalArgumentException("Missing close quote at " + start + " on path: " + path);
+    }
+
+    private RtagPath(Object[] keys) {
+        this.keys = keys;
+        this.names = new String[keys.length];
+        this.lists = new boolean[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            this.names[i] = keys[i] instanceof ThrowableFunction ? null : String.valueOf(keys[i]);
+            this.lists[i] = i + 1 < keys.length && keys[i + 1] instanceof Integer;
+        }
+    }
+
+    /**
+     * Get the amount of keys inside this path.
+     *
+     * @return the path size.
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Check if this path doesn't have keys.
+     *
+     * @return true if the path is empty.
+     */
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    /**
+     * Get the key at provided index.
+     *
+     * @param index the key index.
+     * @return      a String, Integer or ThrowableFunction key.
+     */
+    public Object get(int index) {
+        return keys[index];
+    }
+
+    /**
+     * Get the last key of this path.
+     *
+     * @return a String, Integer or ThrowableFunction key, null if the path is empty.
+     */
+    public Object last() {
+        return keys.length == 0 ? null : keys[keys.length - 1];
+    }
+
+    /**
+     * Get the path of the tag that contains the last key of this path.<br>
+     * The parent path is computed only once.
+     *
+     * @return an RtagPath instance.
+     */
+    public RtagPath parent() {
+        if (parent == null) {
+            parent = keys.length <= 1 ? EMPTY : new RtagPath(Arrays.copyOf(keys, keys.length - 1));
+        }
+        return parent;
+    }
+
+    /**
+     * Get a new path with the provided keys appended to this path.
+     *
+     * @param path the keys to append.
+     * @return     an RtagPath instance.
+     */
+    public RtagPath resolve(Object... path) {
+        final RtagPath other = of(path);
+        if (other.keys.length == 0) {
+            return this;
+        } else if (keys.length == 0) {
+            return other;
+        }
+        final Object[] array = Arrays.copyOf(keys, keys.length + other.keys.length);
+        System.arraycopy(other.keys, 0, array, keys.length, other.keys.length);
+        return new RtagPath(array);
+    }
+
+    /**
+     * Get the keys of this path as array.
+     *
+     * @return a copy of path keys.
+     */
+    public Object[] toArray() {
+        return keys.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RtagPath)) return false;
+
+        return Arrays.equals(keys, ((RtagPath) o).keys);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(keys);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < keys.length; i++) {
+            final Object key = keys[i];
+            if (key instanceof Integer) {
+                builder.append('[').append(key).append(']');
+                continue;
+            }
+            if (i > 0) {
+                builder.append('.');
+            }
+            if (key instanceof ThrowableFunction) {
+                builder.append("<function>");
+            } else if (isPlain(names[i])) {
+                builder.append(names[i]);
+            } else {
+                builder.append('"');
+                for (int j = 0; j < names[i].length(); j++) {
+                    final char c = names[i].charAt(j);
+                    if (c == '"' || c == '\\') {
+                        builder.append('\\');
+                    }
+                    builder.append(c);
+                }
+                builder.append('"');
+            }
+        }
+        return builder.toString();
+    }
+
+    private static boolean isPlain(String key) {
+        if (key.isEmpty() || key.charAt(0) == '"') {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            final char c = key.charAt(i);
+            if (c == '.' || c == '[' || c == ']') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,635 @@
+package com.saicone.rtag;
+
+import com.saicone.rtag.tag.TagBase;
+import com.saicone.rtag.tag.TagCompound;
+import com.saicone.rtag.tag.TagList;
+import com.saicone.rtag.util.OptionalType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * RtagQuery class to represent a compiled query that match multiple
+ * values inside CompoundTag or ListTag.<br>
+ * The query format extends the {@link RtagPath} format with:<br>
+ * <ul>
+ *     <li>{@code *} to match every value of compound or element of list.</li>
+ *     <li>{@code [*]} to match every element of list.</li>
+ *     <li>{@code ..key} to match the key at any depth, also {@code ..*} or {@code ..[0]} can be used.</li>
+ *     <li>{@code [?path]} to match every child that contains the provided path.</li>
+ *     <li>{@code [?path=value]} to match every child with the provided value at path,
+ *     the operators {@code = != < <= > >=} are supported with numbers and Strings.</li>
+ * </ul>
+ * For example {@code "Items[*].components.\"minecraft:custom_data\".owner"}
+ * or {@code "Items[?Count>=32].id"}.<br>
+ * The query is parsed only once and matches are evaluated directly over
+ * tag objects without creating intermediate maps or lists.
+ *
+ * @author Rubenicos
+ */
+public final class RtagQuery {
+
+    private static final int KEY = 0;
+    private static final int INDEX = 1;
+    private static final int ANY = 2;
+    private static final int ANY_ELEMENT = 3;
+
+    private final String query;
+    private final Step[] steps;
+
+    /**
+     * Compile the provided String into an RtagQuery.
+     *
+     * @param query the query to compile.
+     * @return      an RtagQuery instance.
+     * @throws IllegalArgumentException if the query is malformed.
+     */
+    public static RtagQuery compile(String query) throws IllegalArgumentException {
+        return new RtagQuery(query, new Parser(query).parse());
+    }
+
+    /**
+     * Create an RtagQuery that match the same value as the provided path.
+     *
+     * @param path the path to convert.
+     * @return     an RtagQuery instance.
+     * @throws IllegalArgumentException if the path contains functions.
+     */
+    public static RtagQuery of(RtagPath path) throws IllegalArgumentException {
+        final Step[] steps = new Step[path.size()];
+        for (int i = 0; i < steps.length; i++) {
+            final Object key = path.get(i);
+            if (key instanceof Integer) {
+                steps[i] = new Step(INDEX, false, null, (int) key, null);
+            } else if (key instanceof String) {
+                steps[i] = new Step(KEY, false, (String) key, 0, null);
+            } else {
+                throw new IllegalArgumentException("Cannot convert path with functions into query");
+            }
+        }
+        return new RtagQuery(path.toString(), steps);
+    }
+
+    private RtagQuery(String query, Step[] steps) {
+        this.query = query;
+        this.steps = steps;
+    }
+
+    /**
+     * Perform the given action for every tag that match this query.
+     *
+     * @param tag    Tag instance, can be CompoundTag or ListTag.
+     * @param action the action to perform with every matching tag.
+     */
+    public void forEach(Object tag, Consumer<Object> action) {
+        eval(0, tag, value -> {
+            action.accept(value);
+            return true;
+        }, null);
+    }
+
+    /**
+     * Perform the given action for every tag that match this query with its full path.
+     *
+     * @param tag    Tag instance, can be CompoundTag or ListTag.
+     * @param action the action to perform with path and tag.
+     */
+    public void forEachPath(Object tag, BiConsumer<RtagPath, Object> action) {
+        final List<Object> path = new ArrayList<>();
+        eval(0, tag, value -> {
+            action.accept(RtagPath.of(path.toArray()), value);
+            return true;
+        }, path);
+    }
+
+    /**
+     * Evaluate this query until the provided predicate return false.
+     *
+     * @param tag       Tag instance, can be CompoundTag or ListTag.
+     * @param predicate the predicate to consume every matching tag, return false to stop the evaluation.
+     * @return          true if the evaluation was completed, false if it was stopped.
+     */
+    public boolean evaluate(Object tag, Predicate<Object> predicate) {
+        return eval(0, tag, predicate, null);
+    }
+
+    /**
+     * Get every tag that match this query without any conversion.
+     *
+     * @param tag Tag instance, can be CompoundTag or ListTag.
+     * @return    a list of tag objects.
+     */
+    public List<Object> getExact(Object tag) {
+        final List<Object> list = new ArrayList<>();
+        forEach(tag, list::add);
+        return list;
+    }
+
+    /**
+     * Get every value that match this query converted using the default {@link Rtag} instance.
+     *
+     * @param tag Tag instance, can be CompoundTag or ListTag.
+     * @param <T> the type to cast the values.
+     * @return    a list of converted values.
+     */
+    public <T> List<T> get(Object tag) {
+        return get(Rtag.INSTANCE, tag);
+    }
+
+    /**
+     * Get every value that match this query converted using the provided mirror.
+     *
+     * @param mirror RtagMirror to convert tags.
+     * @param tag    Tag instance, can be CompoundTag or ListTag.
+     * @param <T>    the type to cast the values.
+     * @return       a list of converted values.
+     */
+    public <T> List<T> get(RtagMirror mirror, Object tag) {
+        final List<T> list = new ArrayList<>();
+        forEach(tag, value -> list.add(OptionalType.cast(mirror.getTagValue(value))));
+        return list;
+    }
+
+    /**
+     * Get the first tag that match this query without any conversion.
+     *
+     * @param tag Tag instance, can be CompoundTag or ListTag.
+     * @return    a tag object, null if nothing match the query.
+     */
+    public Object getFirst(Object tag) {
+        final Object[] first = new Object[1];
+        eval(0, tag, value -> {
+            first[0] = value;
+            return false;
+        }, null);
+        return first[0];
+    }
+
+    /**
+     * Check if any value inside the provided tag match this query.
+     *
+     * @param tag Tag instance, can be CompoundTag or ListTag.
+     * @return    true if at least one value match the query.
+     */
+    public boolean matches(Object tag) {
+        return getFirst(tag) != null;
+    }
+
+    /**
+     * Count the values that match this query.
+     *
+     * @param tag Tag instance, can be CompoundTag or ListTag.
+     * @return    the amount of matching values.
+     */
+    public int count(Object tag) {
+        final int[] count = new int[1];
+        forEach(tag, value -> count[0]++);
+        return count[0];
+    }
+
+    private boolean eval(int index, Object tag, Predicate<Object> sink, List<Object> path) {
+        if (index == steps.length) {
+            return sink.test(tag);
+        }
+        final Step step = steps[index];
+        if (step.deep) {
+            return evalDeep(index, step, tag, sink, path);
+        }
+        return step.apply(this, index, tag, sink, path);
+    }
+
+    // Apply the step at current tag and every descendant
+    private boolean evalDeep(int index, Step step, Object tag, Predicate<Object> sink, List<Object> path) {
+        if (!step.apply(this, index, tag, sink, path)) {
+            return false;
+        }
+        final byte type = TagBase.getTypeId(tag);
+        if (type == 10) {
+            for (Map.Entry<String, Object> entry : TagCompound.getValue(tag).entrySet()) {
+                push(path, entry.getKey());
+                if (!evalDeep(index, step, entry.getValue(), sink, path)) {
+                    return false;
+                }
+                pop(path);
+            }
+        } else if (type == 9) {
+            final List<Object> list = TagList.getValue(tag);
+            for (int i = 0; i < list.size(); i++) {
+                push(path, i);
+                if (!evalDeep(index, step, list.get(i), sink, path)) {
+                    return false;
+                }
+                pop(path);
+            }
+        }
+        return true;
+    }
+
+    private static void push(List<Object> path, Object key) {
+        if (path != null) {
+            path.add(key);
+        }
+    }
+
+    private static void pop(List<Object> path) {
+        if (path != null) {
+            path.remove(path.size() - 1);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        return query.equals(((RtagQuery) o).query);
+    }
+
+    @Override
+    public int hashCode() {
+        return query.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return query;
+    }
+
+    private static final class Step {
+
+        private final int type;
+        private final boolean deep;
+        private final String key;
+        private final int index;
+        private final Filter filter;
+
+        Step(int type, boolean deep, String key, int index, Filter filter) {
+            this.type = type;
+            this.deep = deep;
+            this.key = key;
+            this.index = index;
+            this.filter = filter;
+        }
+
+        boolean apply(RtagQuery query, int current, Object tag, Predicate<Object> sink, List<Object> path) {
+            final int next = current + 1;
+            switch (type) {
+                case KEY:
+                    if (TagCompound.isTagCompound(tag)) {
+                        final Object value = TagCompound.get(tag, key);
+                        if (value != null) {
+                            push(path, key);
+                            if (!query.eval(next, value, sink, path)) {
+                                return false;
+                            }
+                            pop(path);
+                        }
+                    }
+                    return true;
+                case INDEX:
+                    if (TagList.isTagList(tag)) {
+                        final List<Object> list = TagList.getValue(tag);
+                        final int i = index >= 0 ? index : list.size() + index;
+                        if (i >= 0 && i < list.size()) {
+                            push(path, i);
+                            if (!query.eval(next, list.get(i), sink, path)) {
+                                return false;
+                            }
+                            pop(path);
+                        }
+                    }
+                    return true;
+                default:
+                    return applyChildren(query, next, tag, sink, path);
+            }
+        }
+
+        private boolean applyChildren(RtagQuery query, int next, Object tag, Predicate<Object> sink, List<Object> path) {
+            final byte tagType = TagBase.getTypeId(tag);
+            if (tagType == 10 && type != ANY_ELEMENT) {
+                for (Map.Entry<String, Object> entry : TagCompound.getValue(tag).entrySet()) {
+                    if (filter != null && !filter.test(entry.getValue())) {
+                        continue;
+                    }
+                    push(path, entry.getKey());
+                    if (!query.eval(next, entry.getValue(), sink, path)) {
+                        return false;
+                    }
+                    pop(path);
+                }
+            } else if (tagType == 9) {
+                final List<Object> list = TagList.getValue(tag);
+                for (int i = 0; i < list.size(); i++) {
+                    final Object element = list.get(i);
+                    if (filter != null && !filter.test(element)) {
+                        continue;
+                    }
+                    push(path, i);
+                    if (!query.eval(next, element, sink, path)) {
+                        return false;
+                    }
+                    pop(path);
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class Filter {
+
+        private static final int EXISTS = 0;
+        private static final int EQUAL = 1;
+        private static final int NOT_EQUAL = 2;
+        private static final int LESS = 3;
+        private static final int LESS_OR_EQUAL = 4;
+        private static final int GREATER = 5;
+        private static final int GREATER_OR_EQUAL = 6;
+
+        private final RtagPath path;
+        private final int operator;
+        // Value can be String, Long or Double
+        private final Object value;
+
+        Filter(RtagPath path, int operator, Object value) {
+            this.path = path;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        boolean test(Object tag) {
+            Object current = tag;
+            for (int i = 0; i < path.size() && current != null; i++) {
+                final Object key = path.keys[i];
+                if (key instanceof Integer && TagList.isTagList(current)) {
+                    final List<Object> list = TagList.getValue(current);
+                    final int index = (int) key >= 0 ? (int) key : list.size() + (int) key;
+                    current = index >= 0 && index < list.size() ? list.get(index) : null;
+                } else if (TagCompound.isTagCompound(current)) {
+                    current = TagCompound.get(current, path.names[i]);
+                } else {
+                    current = null;
+                }
+            }
+            if (current == null) {
+                return false;
+            } else if (operator == EXISTS) {
+                return true;
+            }
+
+            final int compare;
+            final byte type = TagBase.getTypeId(current);
+            if (type >= 1 && type <= 6) {
+                if (value instanceof Long && type <= 4) {
+                    compare = Long.compare(TagBase.getLong(current, 0L), (long) value);
+                } else if (value instanceof Number) {
+                    compare = Double.compare(TagBase.getDouble(current, 0D), ((Number) value).doubleValue());
+                } else {
+                    return operator == NOT_EQUAL;
+                }
+            } else if (type == 8 && value instanceof String) {
+                compare = ((String) TagBase.getValue(current)).compareTo((String) value);
+            } else {
+                return operator == NOT_EQUAL;
+            }
+
+            switch (operator) {
+                case EQUAL:
+                    return compare == 0;
+                case NOT_EQUAL:
+                    return compare != 0;
+                case LESS:
+                    return compare < 0;
+                case LESS_OR_EQUAL:
+                    return compare <= 0;
+                case GREATER:
+                    return compare > 0;
+                case GREATER_OR_EQUAL:
+                    return compare >= 0;
+                default:
+                    return false;
+            }
+        }
+    }
+
+    private static final class Parser {
+
+        private final String query;
+        private final int length;
+        private int pos = 0;
+
+        Parser(String query) {
+            this.query = query;
+            this.length = query.length();
+        }
+
+        Step[] parse() {
+            final List<Step> steps = new ArrayList<>();
+            // Key is expected at start of query or after a dot
+            boolean expectKey = true;
+            boolean deep = false;
+            while (pos < length) {
+                final char c = query.charAt(pos);
+                if (c == '[') {
+                    steps.add(bracket(deep));
+                    deep = false;
+                    expectKey = false;
+                } else if (c == '.') {
+                    if (query.startsWith("..", pos)) {
+                        if (deep) {
+                            throw error("Unexpected recursive descent");
+                        }
+                        deep = true;
+                        pos += 2;
+                    } else {
+                        if (expectKey) {
+                            throw error("Empty key");
+                        }
+                        pos++;
+                    }
+                    expectKey = true;
+                } else if (expectKey) {
+                    if (c == '"') {
+                        final StringBuilder builder = new StringBuilder();
+                        pos = RtagPath.readQuoted(query, pos, builder);
+                        steps.add(new Step(KEY, deep, builder.toString(), 0, null));
+                    } else {
+                        int end = pos;
+                        while (end < length) {
+                            final char e = query.charAt(end);
+                            if (e == '.' || e == '[') {
+                                break;
+                            }
+                            end++;
+                        }
+                        final String key = query.substring(pos, end);
+                        if (key.equals("*")) {
+                            steps.add(new Step(ANY, deep, null, 0, null));
+                        } else {
+                            steps.add(new Step(KEY, deep, key, 0, null));
+                        }
+                        pos = end;
+                    }
+                    deep = false;
+                    expectKey = false;
+                } else {
+                    throw error("Unexpected character '" + c + "'");
+                }
+            }
+            if (deep) {
+                throw error("Query cannot end with recursive descent");
+            } else if (expectKey && !steps.isEmpty()) {
+                throw error("Query cannot end with a dot");
+            }
+            return steps.toArray(new Step[0]);
+        }
+
+        private Step bracket(boolean deep) {
+            pos++;
+            if (pos >= length) {
+                throw error("Missing close bracket");
+            }
+            final char c = query.charAt(pos);
+            final Step step;
+            if (c == '"') {
+                final StringBuilder builder = new StringBuilder();
+                pos = RtagPath.readQuoted(query, pos, builder);
+                step = new Step(KEY, deep, builder.toString(), 0, null);
+            } else if (c == '*') {
+                pos++;
+                step = new Step(ANY_ELEMENT, deep, null, 0, null);
+            } else if (c == '?') {
+                pos++;
+                step = new Step(ANY, deep, null, 0, filter());
+            } else {
+                final int end = query.indexOf(']', pos);
+                if (end < 0) {
+                    throw error("Missing close bracket");
+                }
+                final String index = query.substring(pos, end).trim();
+                try {
+                    step = new Step(INDEX, deep, null, Integer.parseInt(index), null);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid list index '" + index + "' on query: " + query, e);
+                }
+                pos = end;
+            }
+            if (pos >= length || query.charAt(pos) != ']') {
+                throw error("Missing close bracket");
+            }
+            pos++;
+            return step;
+        }
+
+        private Filter filter() {
+            // Read filter path until operator or close bracket
+            final int start = pos;
+            while (pos < length) {
+                final char c = query.charAt(pos);
+                if (c == '"') {
+                    pos = RtagPath.readQuoted(query, pos, new StringBuilder());
+                    continue;
+                } else if (c == '=' || c == '!' || c == '<' || c == '>' || c == ']') {
+                    break;
+                }
+                pos++;
+            }
+            final String pathString = query.substring(start, pos).trim();
+            if (pathString.isEmpty()) {
+                throw error("Empty filter path");
+            }
+            final RtagPath path = RtagPath.parse(pathString);
+            if (pos >= length) {
+                throw error("Missing close bracket");
+            }
+
+            final int operator;
+            if (query.startsWith("]", pos)) {
+                return new Filter(path, Filter.EXISTS, null);
+            } else if (query.startsWith("!=", pos)) {
+                operator = Filter.NOT_EQUAL;
+                pos += 2;
+            } else if (query.startsWith("<=", pos)) {
+                operator = Filter.LESS_OR_EQUAL;
+                pos += 2;
+            } else if (query.startsWith(">=", pos)) {
+                operator = Filter.GREATER_OR_EQUAL;
+                pos += 2;
+            } else if (query.startsWith("==", pos)) {
+                operator = Filter.EQUAL;
+                pos += 2;
+            } else if (query.charAt(pos) == '=') {
+                operator = Filter.EQUAL;
+                pos++;
+            } else if (query.charAt(pos) == '<') {
+                operator = Filter.LESS;
+                pos++;
+            } else if (query.charAt(pos) == '>') {
+                operator = Filter.GREATER;
+                pos++;
+            } else {
+                throw error("Invalid filter operator");
+            }
+
+            while (pos < length && Character.isWhitespace(query.charAt(pos))) {
+                pos++;
+            }
+            if (pos >= length) {
+                throw error("Missing filter value");
+            }
+            final Object value;
+            if (query.charAt(pos) == '"') {
+                final StringBuilder builder = new StringBuilder();
+                pos = RtagPath.readQuoted(query, pos, builder);
+                value = builder.toString();
+            } else {
+                final int end = query.indexOf(']', pos);
+                if (end < 0) {
+                    throw error("Missing close bracket");
+                }
+                value = literal(query.substring(pos, end).trim());
+                pos = end;
+            }
+            while (pos < length && Character.isWhitespace(query.charAt(pos))) {
+                pos++;
+            }
+            return new Filter(path, operator, value);
+        }
+
+        private static Object literal(String s) {
+            if (s.equalsIgnoreCase("true")) {
+                return 1L;
+            } else if (s.equalsIgnoreCase("false")) {
+                return 0L;
+            } else if (s.isEmpty()) {
+                return s;
+            }
+            String number = s;
+            final char suffix = Character.toLowerCase(s.charAt(s.length() - 1));
+            boolean decimal = false;
+            if (suffix == 'b' || suffix == 's' || suffix == 'l') {
+                number = s.substring(0, s.length() - 1);
+            } else if (suffix == 'f' || suffix == 'd') {
+                number = s.substring(0, s.length() - 1);
+                decimal = true;
+            }
+            try {
+                if (!decimal) {
+                    return Long.parseLong(number);
+                }
+            } catch (NumberFormatException ignored) { }
+            try {
+                return Double.parseDouble(number);
+            } catch (NumberFormatException e) {
+                return s;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at " + pos + " on query: " + query);
+        }
+    }
+}
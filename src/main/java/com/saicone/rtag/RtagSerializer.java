@@ -1,5 +1,7 @@
 package com.saicone.rtag;
 
+import com.saicone.rtag.tag.TagWriter;
+
 import java.util.Map;
 
 /**
@@ -29,4 +31,18 @@ public interface RtagSerializer<T> {
      * @return       A serialized {@link Map}.
      */
     Map<String, Object> serialize(T object);
+
+    /**
+     * Method who be invoked to write any Object into CompoundTag.<br>
+     * By default, the object is converted to {@link Map} and every
+     * entry is put into the provided writer.
+     *
+     * @see TagSerializer
+     *
+     * @param object A Object as &lt;T&gt; instance.
+     * @param writer The writer of current CompoundTag.
+     */
+    default void serialize(T object, TagWriter writer) {
+        writer.putAll(serialize(object));
+    }
 }
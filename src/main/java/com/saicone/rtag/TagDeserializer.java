@@ -0,0 +1,54 @@
+package com.saicone.rtag;
+
+import com.saicone.rtag.tag.TagReader;
+
+import java.util.Map;
+
+/**
+ * An deserializer that reads assigned object type directly from CompoundTag
+ * using a {@link TagReader}, without converting the full compound into {@link Map}.<br>
+ * The map-based method is still available to be compatible with
+ * {@link RtagDeserializer} and it's computed by converting the map into tag.
+ *
+ * @author Rubenicos
+ *
+ * @param <T> Deserializable object type.
+ */
+public interface TagDeserializer<T> extends RtagDeserializer<T> {
+
+    /**
+     * Method who be invoked to convert any {@link Map} to
+     * current object type.<br>
+     * The map is converted into CompoundTag and read with a TagReader
+     * using {@link Rtag#INSTANCE}, so any custom deserializer registered on other
+     * Rtag instance is not used, see {@link #deserialize(Map, RtagMirror)}.
+     *
+     * @param compound a compound tag as {@link Map} instance.
+     * @return         A deserialized object.
+     */
+    @Override
+    default T deserialize(Map<String, Object> compound) {
+        return deserialize(compound, Rtag.INSTANCE);
+    }
+
+    /**
+     * Method who be invoked to convert any {@link Map} to
+     * current object type using the provided mirror to convert and read tag values.
+     *
+     * @param compound a compound tag as {@link Map} instance.
+     * @param mirror   RtagMirror to convert tags into objects.
+     * @return         A deserialized object.
+     */
+    default T deserialize(Map<String, Object> compound, RtagMirror mirror) {
+        return deserialize(new TagReader(mirror, mirror.newTag(compound)));
+    }
+
+    /**
+     * Method who be invoked to read current object type from CompoundTag.
+     *
+     * @param reader the reader of CompoundTag.
+     * @return       A deserialized object.
+     */
+    @Override
+    T deserialize(TagReader reader);
+}
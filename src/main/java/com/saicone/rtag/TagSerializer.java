@@ -0,0 +1,56 @@
+package com.saicone.rtag;
+
+import com.saicone.rtag.tag.TagCompound;
+import com.saicone.rtag.tag.TagWriter;
+
+import java.util.Map;
+
+/**
+ * An Serializer that writes any Object directly into CompoundTag
+ * using a {@link TagWriter}, without creating an intermediate {@link Map}.<br>
+ * The map-based method is still available to be compatible with
+ * {@link RtagSerializer} and it's computed from the written tag.
+ *
+ * @author Rubenicos
+ *
+ * @param <T> Serializable object type.
+ */
+public interface TagSerializer<T> extends RtagSerializer<T> {
+
+    /**
+     * Method who be invoked to convert any Object to {@link Map}.<br>
+     * The object is written into a new CompoundTag and converted to Map
+     * using {@link Rtag#INSTANCE}, so any custom serializer registered on other
+     * Rtag instance is not used, see {@link #serialize(Object, RtagMirror)}.
+     *
+     * @param object A Object as &lt;T&gt; instance.
+     * @return       A serialized {@link Map}.
+     */
+    @Override
+    default Map<String, Object> serialize(T object) {
+        return serialize(object, Rtag.INSTANCE);
+    }
+
+    /**
+     * Method who be invoked to convert any Object to {@link Map}
+     * using the provided mirror to write and convert tag values.
+     *
+     * @param object A Object as &lt;T&gt; instance.
+     * @param mirror RtagMirror to convert objects into tags.
+     * @return       A serialized {@link Map}.
+     */
+    default Map<String, Object> serialize(T object, RtagMirror mirror) {
+        final TagWriter writer = new TagWriter(mirror);
+        serialize(object, writer);
+        return TagCompound.getValue(mirror, writer.getTag());
+    }
+
+    /**
+     * Method who be invoked to write any Object into CompoundTag.
+     *
+     * @param object A Object as &lt;T&gt; instance.
+     * @param writer The writer of current CompoundTag.
+     */
+    @Override
+    void serialize(T object, TagWriter writer);
+}
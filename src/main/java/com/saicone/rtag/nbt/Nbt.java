@@ -0,0 +1,266 @@
+package com.saicone.rtag.nbt;
+
+import com.saicone.rtag.stream.TStreamReader;
+import com.saicone.rtag.stream.TStreamWriter;
+import com.saicone.rtag.stream.TagBuilder;
+import com.saicone.rtag.stream.TagVisitor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Detached and immutable representation of a NBT tag.<br>
+ * Unlike {@link com.saicone.rtag.tag.TagBase} this class doesn't
+ * depend on server classes, so it can be used on any thread or
+ * without a server running.<br>
+ * Use {@link NbtConverter} to convert from and to Minecraft tags.
+ *
+ * @author Rubenicos
+ */
+public abstract class Nbt {
+
+    Nbt() {
+    }
+
+    /**
+     * Constructs a Nbt object from Java object.<br>
+     * For example Map -&gt; NbtCompound.
+     *
+     * @param object java object that can be represented as Nbt.
+     * @return       a Nbt object associated with provided object, null if the object is null.
+     * @throws IllegalArgumentException if the object is not supported by this method.
+     */
+    @SuppressWarnings("unchecked")
+    public static Nbt of(Object object) throws IllegalArgumentException {
+        if (object == null) {
+            return null;
+        } else if (object instanceof Nbt) {
+            return (Nbt) object;
+        } else if (object instanceof Map) { // id 10
+            final Map<String, Nbt> map = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) object).entrySet()) {
+                final Nbt value = of(entry.getValue());
+                if (value != null) {
+                    map.put(entry.getKey(), value);
+                }
+            }
+            return new NbtCompound(map);
+        } else if (object instanceof List) { // id 9
+            final List<Nbt> list = new ArrayList<>();
+            for (Object element : (List<Object>) object) {
+                final Nbt value = of(element);
+                if (value != null) {
+                    list.add(value);
+                }
+            }
+            return new NbtList(list);
+        } else if (object instanceof Boolean) { // id 1
+            return NbtValue.of((Boolean) object ? (byte) 1 : (byte) 0);
+        } else if (object instanceof byte[]) { // id 7
+            return NbtValue.of((byte[]) object);
+        } else if (object instanceof int[]) { // id 11
+            return NbtValue.of((int[]) object);
+        } else if (object instanceof long[]) { // id 12
+            return NbtValue.of((long[]) object);
+        } else if (object instanceof UUID) { // id 8
+            return NbtValue.of(object.toString());
+        } else {
+            return NbtValue.of(object);
+        }
+    }
+
+    /**
+     * Create a TagBuilder that build Nbt objects.<br>
+     * Visited arrays are owned by the built Nbt objects without copying them,
+     * so they must not be edited by the visited source after building.
+     *
+     * @return a TagBuilder instance.
+     */
+    public static TagBuilder<Nbt> builder() {
+        return new Builder(false);
+    }
+
+    static TagBuilder<Nbt> builder(boolean copy) {
+        return new Builder(copy);
+    }
+
+    /**
+     * Read Nbt object from byte array, the byte array can be GZIP formatted.
+     *
+     * @param bytes the byte array to read.
+     * @return      a Nbt object, null if there's no tag.
+     * @throws IOException if an I/O error occurs or the data is malformed.
+     */
+    public static Nbt read(byte[] bytes) throws IOException {
+        InputStream in = new ByteArrayInputStream(bytes);
+        if (bytes.length >= 2 && ((bytes[1] & 0xff) << 8 | (bytes[0] & 0xff)) == GZIPInputStream.GZIP_MAGIC) {
+            in = new GZIPInputStream(in);
+        }
+        try (DataInputStream input = new DataInputStream(in)) {
+            return read((DataInput) input);
+        }
+    }
+
+    /**
+     * Read Nbt object from DataInput.
+     *
+     * @param input DataInput to read.
+     * @return      a Nbt object, null if there's no tag.
+     * @throws IOException if an I/O error occurs or the data is malformed.
+     */
+    public static Nbt read(DataInput input) throws IOException {
+        final TagBuilder<Nbt> builder = builder();
+        TStreamReader.accept(input, builder);
+        return builder.build();
+    }
+
+    /**
+     * Get current Nbt type ID.<br>
+     * Byte = 1 | Short = 2 | Int = 3 | Long = 4 | Float = 5 | Double = 6 |
+     * ByteArray = 7 | String = 8 | List = 9 | Compound = 10 | IntArray = 11 | LongArray = 12
+     *
+     * @return an ID that represents the tag type.
+     */
+    public abstract byte getTypeId();
+
+    /**
+     * Get Java value of this Nbt object recursively.<br>
+     * For example NbtCompound -&gt; Map.
+     *
+     * @return a java object represented by this Nbt.
+     */
+    public abstract Object getValue();
+
+    /**
+     * Visit this Nbt object with the same event order as it was
+     * read from binary NBT data.<br>
+     * Array values are visited without copying them, so the visitor must not edit them.
+     *
+     * @param visitor the visitor to consume tag values.
+     * @return        a visit result, {@link TagVisitor.Result#HALT} if the visitor stopped the operation.
+     */
+    public TagVisitor.Result accept(TagVisitor visitor) {
+        return accept(visitor, false);
+    }
+
+    // Array values are copied if the visitor keeps them
+    abstract TagVisitor.Result accept(TagVisitor visitor, boolean copy);
+
+    /**
+     * Write this Nbt object as unnamed root tag into DataOutput.
+     *
+     * @param output DataOutput to write in.
+     * @throws IOException if an I/O error occurs while writing.
+     */
+    public void write(DataOutput output) throws IOException {
+        try {
+            accept(new TStreamWriter(output));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Convert this Nbt object into GZIP formatted bytes, the same
+     * format used by {@link com.saicone.rtag.stream.TStream#toBytes(Object)}.
+     *
+     * @return a byte array that represent this Nbt object.
+     */
+    public byte[] toBytes() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(new GZIPOutputStream(out))) {
+            write(output);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static final class Builder extends TagBuilder<Nbt> {
+
+        private final boolean copy;
+
+        Builder(boolean copy) {
+            this.copy = copy;
+        }
+
+        @Override
+        protected boolean isHeterogeneous() {
+            return true;
+        }
+
+        @Override
+        protected Nbt newByte(byte value) {
+            return NbtValue.of(value);
+        }
+
+        @Override
+        protected Nbt newShort(short value) {
+            return NbtValue.of(value);
+        }
+
+        @Override
+        protected Nbt newInt(int value) {
+            return NbtValue.of(value);
+        }
+
+        @Override
+        protected Nbt newLong(long value) {
+            return NbtValue.of(value);
+        }
+
+        @Override
+        protected Nbt newFloat(float value) {
+            return NbtValue.of(value);
+        }
+
+        @Override
+        protected Nbt newDouble(double value) {
+            return NbtValue.of(value);
+        }
+
+        @Override
+        protected Nbt newByteArray(byte[] value) {
+            return new NbtValue((byte) 7, copy ? value.clone() : value);
+        }
+
+        @Override
+        protected Nbt newString(String value) {
+            return NbtValue.of(value);
+        }
+
+        @Override
+        protected Nbt newIntArray(int[] value) {
+            return new NbtValue((byte) 11, copy ? value.clone() : value);
+        }
+
+        @Override
+        protected Nbt newLongArray(long[] value) {
+            return new NbtValue((byte) 12, copy ? value.clone() : value);
+        }
+
+        @Override
+        protected Nbt newList(byte type, List<Nbt> list) {
+            return new NbtList(list);
+        }
+
+        @Override
+        protected Nbt newCompound(Map<String, Nbt> map) {
+            return new NbtCompound(map);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.saicone.rtag.nbt;
+
+import com.saicone.rtag.stream.TagVisitor;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable Nbt object that represent a map of Nbt objects associated with string keys.<br>
+ * Use {@link Builder} to create or edit compounds without copying the map on every change.
+ *
+ * @author Rubenicos
+ */
+public final class NbtCompound extends Nbt {
+
+    /**
+     * Empty NbtCompound instance.
+     */
+    public static final NbtCompound EMPTY = new NbtCompound(Map.of());
+
+    private final Map<String, Nbt> map;
+
+    /**
+     * Create a NbtCompound with provided entries, the map is copied.
+     *
+     * @param map the compound entries.
+     * @return    a NbtCompound instance.
+     */
+    public static NbtCompound of(Map<String, ? extends Nbt> map) {
+        return map.isEmpty() ? EMPTY : new NbtCompound(new LinkedHashMap<>(map));
+    }
+
+    NbtCompound(Map<String, Nbt> map) {
+        this.map = Collections.unmodifiableMap(map);
+    }
+
+    @Override
+    public byte getTypeId() {
+        return 10;
+    }
+
+    /**
+     * Get the size of this compound.
+     *
+     * @return the amount of entries.
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Check if this compound is empty.
+     *
+     * @return true if the compound doesn't have entries.
+     */
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    /**
+     * Check if this compound contains the provided key.
+     *
+     * @param key the key to check.
+     * @return    true if the key exists.
+     */
+    public boolean contains(String key) {
+        return map.containsKey(key);
+    }
+
+    /**
+     * Get the value associated with provided key.
+     *
+     * @param key the value key.
+     * @return    a Nbt object, null if the key doesn't exist.
+     */
+    public Nbt get(String key) {
+        return map.get(key);
+    }
+
+    /**
+     * Get the value from the specified path inside this compound.<br>
+     * Following the Rtag path format, an Integer key is used as list index
+     * and any other key is converted to String to get compound values.
+     *
+     * @param path the value path to get.
+     * @return     a Nbt object, null if the path doesn't exist.
+     */
+    public Nbt get(Object... path) {
+        Nbt nbt = this;
+        for (Object key : path) {
+            if (key instanceof Integer && nbt instanceof NbtList) {
+                nbt = ((NbtList) nbt).get((int) key);
+            } else if (nbt instanceof NbtCompound) {
+                nbt = ((NbtCompound) nbt).map.get(String.valueOf(key));
+            } else {
+                return null;
+            }
+            if (nbt == null) {
+                return null;
+            }
+        }
+        return nbt;
+    }
+
+    /**
+     * Get the compound keys.
+     *
+     * @return an unmodifiable set of keys.
+     */
+    public Set<String> keySet() {
+        return map.keySet();
+    }
+
+    /**
+     * Get an unmodifiable view of this compound.
+     *
+     * @return a map of Nbt objects.
+     */
+    public Map<String, Nbt> asMap() {
+        return map;
+    }
+
+    /**
+     * Check if this compound is used to wrap a heterogeneous list element.<br>
+     * A wrapper compound is a compound with a single empty key.
+     *
+     * @return true if this compound is a wrapper.
+     */
+    public boolean isWrapper() {
+        return map.size() == 1 && map.containsKey("");
+    }
+
+    /**
+     * Get a copy of this compound with the provided entry.
+     *
+     * @param key   the entry key.
+     * @param value the entry value, null to remove it.
+     * @return      a new NbtCompound instance.
+     */
+    public NbtCompound with(String key, Nbt value) {
+        return toBuilder().put(key, value).build();
+    }
+
+    /**
+     * Get a copy of this compound without the provided key.
+     *
+     * @param key the key to remove.
+     * @return    a new NbtCompound instance, or the same instance if the key doesn't exist.
+     */
+    public NbtCompound without(String key) {
+        if (!map.containsKey(key)) {
+            return this;
+        }
+        return toBuilder().remove(key).build();
+    }
+
+    /**
+     * Create a builder with the entries of this compound.
+     *
+     * @return a NbtCompound builder.
+     */
+    public Builder toBuilder() {
+        return new Builder(map);
+    }
+
+    @Override
+    public Map<String, Object> getValue() {
+        final Map<String, Object> value = new LinkedHashMap<>();
+        for (Map.Entry<String, Nbt> entry : map.entrySet()) {
+            value.put(entry.getKey(), entry.getValue().getValue());
+        }
+        return value;
+    }
+
+    @Override
+    TagVisitor.Result accept(TagVisitor visitor, boolean copy) {
+        switch (visitor.visitCompoundStart()) {
+            case HALT:
+                return TagVisitor.Result.HALT;
+            case SKIP:
+                return TagVisitor.Result.CONTINUE;
+            default:
+                break;
+        }
+
+        for (Map.Entry<String, Nbt> entry : map.entrySet()) {
+            final Nbt value = entry.getValue();
+            final TagVisitor.Result result = visitor.visitKey(value.getTypeId(), entry.getKey());
+            if (result == TagVisitor.Result.HALT) {
+                return TagVisitor.Result.HALT;
+            } else if (result == TagVisitor.Result.BREAK) {
+                break;
+            } else if (result != TagVisitor.Result.SKIP) {
+                final TagVisitor.Result valueResult = value.accept(visitor, copy);
+                if (valueResult == TagVisitor.Result.HALT) {
+                    return TagVisitor.Result.HALT;
+                } else if (valueResult == TagVisitor.Result.BREAK) {
+                    break;
+                }
+            }
+        }
+
+        return visitor.visitEnd();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof NbtCompound)) return false;
+
+        return map.equals(((NbtCompound) o).map);
+    }
+
+    @Override
+    public int hashCode() {
+        return map.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return map.toString();
+    }
+
+    /**
+     * Mutable builder of NbtCompound.
+     */
+    public static final class Builder {
+
+        private Map<String, Nbt> map;
+
+        /**
+         * Constructs an empty Builder.
+         */
+        public Builder() {
+            this.map = new LinkedHashMap<>();
+        }
+
+        Builder(Map<String, Nbt> map) {
+            this.map = new LinkedHashMap<>(map);
+        }
+
+        /**
+         * Put an entry into builder.
+         *
+         * @param key   the entry key.
+         * @param value the entry value, null to remove it.
+         * @return      the current builder.
+         */
+        public Builder put(String key, Nbt value) {
+            if (value == null) {
+                map.remove(key);
+            } else {
+                map.put(key, value);
+            }
+            return this;
+        }
+
+        /**
+         * Put an entry into builder converting the provided Java object.
+         *
+         * @see Nbt#of(Object)
+         *
+         * @param key   the entry key.
+         * @param value the entry value, null to remove it.
+         * @return      the current builder.
+         */
+        public Builder put(String key, Object value) {
+            return put(key, Nbt.of(value));
+        }
+
+        /**
+         * Remove an entry from builder.
+         *
+         * @param key the key to remove.
+         * @return    the current builder.
+         */
+        public Builder remove(String key) {
+            map.remove(key);
+            return this;
+        }
+
+        /**
+         * Build a NbtCompound with the current entries.<br>
+         * The builder can be used again after this method.
+         *
+         * @return a NbtCompound instance.
+         */
+        public NbtCompound build() {
+            if (map.isEmpty()) {
+                return EMPTY;
+            }
+            final NbtCompound compound = new NbtCompound(map);
+            map = new LinkedHashMap<>(map);
+            return compound;
+        }
+    }
+}
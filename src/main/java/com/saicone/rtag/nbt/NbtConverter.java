@@ -0,0 +1,48 @@
+package com.saicone.rtag.nbt;
+
+import com.saicone.rtag.stream.TStreamTools;
+import com.saicone.rtag.stream.TagBuilder;
+
+/**
+ * Class to convert Nbt objects from and to Minecraft tags.<br>
+ * This is the only class inside Nbt package that require a server,
+ * the server classes are only loaded when any method is used.
+ *
+ * @author Rubenicos
+ */
+public class NbtConverter {
+
+    NbtConverter() {
+    }
+
+    /**
+     * Convert the provided Tag object into detached Nbt object.
+     *
+     * @param tag the Tag to convert.
+     * @return    a Nbt object, null if the tag is null.
+     */
+    public static Nbt fromTag(Object tag) {
+        if (tag == null) {
+            return null;
+        }
+        // Tag arrays are copied, so the Nbt object is not edited along with the tag
+        final TagBuilder<Nbt> builder = Nbt.builder(true);
+        TStreamTools.visit(tag, builder);
+        return builder.build();
+    }
+
+    /**
+     * Convert the provided Nbt object into Tag object.
+     *
+     * @param nbt the Nbt object to convert.
+     * @return    a Tag object, null if the nbt is null.
+     */
+    public static Object toTag(Nbt nbt) {
+        if (nbt == null) {
+            return null;
+        }
+        final TagBuilder<Object> builder = TagBuilder.ofServer();
+        nbt.accept(builder, true);
+        return builder.build();
+    }
+}
@@ -0,0 +1,250 @@
+package com.saicone.rtag.nbt;
+
+import com.saicone.rtag.stream.TagVisitor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Immutable Nbt object that represent a list of Nbt objects.<br>
+ * The list can contain elements with different types, in that case
+ * the list is visited as compound list with every element wrapped
+ * into a compound with empty key, like Minecraft does since 1.21.5.
+ *
+ * @author Rubenicos
+ */
+public final class NbtList extends Nbt implements Iterable<Nbt> {
+
+    /**
+     * Empty NbtList instance.
+     */
+    public static final NbtList EMPTY = new NbtList(List.of());
+
+    private final List<Nbt> list;
+    private final byte elementType;
+
+    /**
+     * Create a NbtList with provided elements, the elements are copied.
+     *
+     * @param elements the list elements.
+     * @return         a NbtList instance.
+     */
+    public static NbtList of(List<? extends Nbt> elements) {
+        return elements.isEmpty() ? EMPTY : new NbtList(new ArrayList<>(elements));
+    }
+
+    /**
+     * Create a NbtList with provided elements.
+     *
+     * @param elements the list elements.
+     * @return         a NbtList instance.
+     */
+    public static NbtList of(Nbt... elements) {
+        return elements.length == 0 ? EMPTY : new NbtList(new ArrayList<>(List.of(elements)));
+    }
+
+    NbtList(List<Nbt> list) {
+        this.list = Collections.unmodifiableList(list);
+        byte type = 0;
+        for (Nbt element : list) {
+            if (type == 0) {
+                type = element.getTypeId();
+            } else if (type != element.getTypeId()) {
+                type = -1;
+                break;
+            }
+        }
+        this.elementType = type;
+    }
+
+    @Override
+    public byte getTypeId() {
+        return 9;
+    }
+
+    /**
+     * Get the type of elements inside this list.
+     *
+     * @return a Nbt type ID, 0 if the list is empty or contains different element types.
+     */
+    public byte getElementType() {
+        return elementType < 0 ? 0 : elementType;
+    }
+
+    /**
+     * Check if this list contains elements with different types.
+     *
+     * @return true if the list is heterogeneous.
+     */
+    public boolean isHeterogeneous() {
+        return elementType < 0;
+    }
+
+    /**
+     * Get the size of this list.
+     *
+     * @return the amount of elements.
+     */
+    public int size() {
+        return list.size();
+    }
+
+    /**
+     * Check if this list is empty.
+     *
+     * @return true if the list doesn't have elements.
+     */
+    public boolean isEmpty() {
+        return list.isEmpty();
+    }
+
+    /**
+     * Get the element at provided index, negative index is counted from the end of list.
+     *
+     * @param index the element index.
+     * @return      a Nbt object, null if index is out of bounds.
+     */
+    public Nbt get(int index) {
+        final int i = index >= 0 ? index : list.size() + index;
+        return i >= 0 && i < list.size() ? list.get(i) : null;
+    }
+
+    /**
+     * Get an unmodifiable view of this list.
+     *
+     * @return a list of Nbt objects.
+     */
+    public List<Nbt> asList() {
+        return list;
+    }
+
+    /**
+     * Get a copy of this list with the provided element added at the end.
+     *
+     * @param element the element to add.
+     * @return        a new NbtList instance.
+     */
+    public NbtList with(Nbt element) {
+        final List<Nbt> copy = new ArrayList<>(list.size() + 1);
+        copy.addAll(list);
+        copy.add(element);
+        return new NbtList(copy);
+    }
+
+    /**
+     * Get a copy of this list with the provided element set at index.
+     *
+     * @param index   the element index.
+     * @param element the element to set.
+     * @return        a new NbtList instance.
+     */
+    public NbtList with(int index, Nbt element) {
+        final List<Nbt> copy = new ArrayList<>(list);
+        copy.set(index >= 0 ? index : list.size() + index, element);
+        return new NbtList(copy);
+    }
+
+    /**
+     * Get a copy of this list without the element at index.
+     *
+     * @param index the element index.
+     * @return      a new NbtList instance.
+     */
+    public NbtList without(int index) {
+        final List<Nbt> copy = new ArrayList<>(list);
+        copy.remove(index >= 0 ? index : list.size() + index);
+        return copy.isEmpty() ? EMPTY : new NbtList(copy);
+    }
+
+    @Override
+    public List<Object> getValue() {
+        final List<Object> value = new ArrayList<>(list.size());
+        for (Nbt element : list) {
+            value.add(element.getValue());
+        }
+        return value;
+    }
+
+    @Override
+    TagVisitor.Result accept(TagVisitor visitor, boolean copy) {
+        final boolean wrap = elementType < 0 || elementType == 10;
+        final byte type = wrap ? 10 : elementType;
+        switch (visitor.visitListStart(type, list.size())) {
+            case HALT:
+                return TagVisitor.Result.HALT;
+            case SKIP:
+                return TagVisitor.Result.CONTINUE;
+            default:
+                break;
+        }
+
+        for (int i = 0; i < list.size(); i++) {
+            final TagVisitor.Result result = visitor.visitElement(type, i);
+            if (result == TagVisitor.Result.HALT) {
+                return TagVisitor.Result.HALT;
+            } else if (result == TagVisitor.Result.BREAK) {
+                break;
+            } else if (result != TagVisitor.Result.SKIP) {
+                final Nbt element = list.get(i);
+                final TagVisitor.Result valueResult = wrap ? acceptWrapped(element, visitor, copy) : element.accept(visitor, copy);
+                if (valueResult == TagVisitor.Result.HALT) {
+                    return TagVisitor.Result.HALT;
+                } else if (valueResult == TagVisitor.Result.BREAK) {
+                    break;
+                }
+            }
+        }
+
+        return visitor.visitEnd();
+    }
+
+    private static TagVisitor.Result acceptWrapped(Nbt element, TagVisitor visitor, boolean copy) {
+        if (element instanceof NbtCompound && !((NbtCompound) element).isWrapper()) {
+            return element.accept(visitor, copy);
+        }
+        switch (visitor.visitCompoundStart()) {
+            case HALT:
+                return TagVisitor.Result.HALT;
+            case SKIP:
+                return TagVisitor.Result.CONTINUE;
+            default:
+                break;
+        }
+        final TagVisitor.Result result = visitor.visitKey(element.getTypeId(), "");
+        if (result == TagVisitor.Result.HALT) {
+            return TagVisitor.Result.HALT;
+        } else if (result != TagVisitor.Result.SKIP && result != TagVisitor.Result.BREAK) {
+            if (element.accept(visitor, copy) == TagVisitor.Result.HALT) {
+                return TagVisitor.Result.HALT;
+            }
+        }
+        return visitor.visitEnd();
+    }
+
+    @NotNull
+    @Override
+    public Iterator<Nbt> iterator() {
+        return list.iterator();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof NbtList)) return false;
+
+        return list.equals(((NbtList) o).list);
+    }
+
+    @Override
+    public int hashCode() {
+        return list.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return list.toString();
+    }
+}
@@ -0,0 +1,336 @@
+package com.saicone.rtag.nbt;
+
+import com.saicone.rtag.stream.TagVisitor;
+
+import java.util.Arrays;
+
+/**
+ * Immutable Nbt object that represent a primitive, string or array value.
+ *
+ * @author Rubenicos
+ */
+public final class NbtValue extends Nbt {
+
+    private final byte type;
+    private final Object value;
+
+    /**
+     * Create a byte NbtValue.
+     *
+     * @param value the byte value.
+     * @return      a NbtValue with type id 1.
+     */
+    public static NbtValue of(byte value) {
+        return new NbtValue((byte) 1, value);
+    }
+
+    /**
+     * Create a short NbtValue.
+     *
+     * @param value the short value.
+     * @return      a NbtValue with type id 2.
+     */
+    public static NbtValue of(short value) {
+        return new NbtValue((byte) 2, value);
+    }
+
+    /**
+     * Create an int NbtValue.
+     *
+     * @param value the int value.
+     * @return      a NbtValue with type id 3.
+     */
+    public static NbtValue of(int value) {
+        return new NbtValue((byte) 3, value);
+    }
+
+    /**
+     * Create a long NbtValue.
+     *
+     * @param value the long value.
+     * @return      a NbtValue with type id 4.
+     */
+    public static NbtValue of(long value) {
+        return new NbtValue((byte) 4, value);
+    }
+
+    /**
+     * Create a float NbtValue.
+     *
+     * @param value the float value.
+     * @return      a NbtValue with type id 5.
+     */
+    public static NbtValue of(float value) {
+        return new NbtValue((byte) 5, value);
+    }
+
+    /**
+     * Create a double NbtValue.
+     *
+     * @param value the double value.
+     * @return      a NbtValue with type id 6.
+     */
+    public static NbtValue of(double value) {
+        return new NbtValue((byte) 6, value);
+    }
+
+    /**
+     * Create a byte array NbtValue, the array is copied.
+     *
+     * @param value the byte array.
+     * @return      a NbtValue with type id 7.
+     */
+    public static NbtValue of(byte[] value) {
+        return new NbtValue((byte) 7, value.clone());
+    }
+
+    /**
+     * Create a string NbtValue.
+     *
+     * @param value the string value.
+     * @return      a NbtValue with type id 8.
+     */
+    public static NbtValue of(String value) {
+        return new NbtValue((byte) 8, value);
+    }
+
+    /**
+     * Create an int array NbtValue, the array is copied.
+     *
+     * @param value the int array.
+     * @return      a NbtValue with type id 11.
+     */
+    public static NbtValue of(int[] value) {
+        return new NbtValue((byte) 11, value.clone());
+    }
+
+    /**
+     * Create a long array NbtValue, the array is copied.
+     *
+     * @param value the long array.
+     * @return      a NbtValue with type id 12.
+     */
+    public static NbtValue of(long[] value) {
+        return new NbtValue((byte) 12, value.clone());
+    }
+
+    /**
+     * Create a NbtValue from boxed primitive, string or array object.
+     *
+     * @param value the object value.
+     * @return      a NbtValue associated with provided object.
+     * @throws IllegalArgumentException if the object is not supported by this method.
+     */
+    public static NbtValue of(Object value) throws IllegalArgumentException {
+        if (value instanceof Byte) { // id 1
+            return of((byte) value);
+        } else if (value instanceof Boolean) { // id 1
+            return of((Boolean) value ? (byte) 1 : (byte) 0);
+        } else if (value instanceof Short) { // id 2
+            return of((short) value);
+        } else if (value instanceof Integer) { // id 3
+            return of((int) value);
+        } else if (value instanceof Long) { // id 4
+            return of((long) value);
+        } else if (value instanceof Float) { // id 5
+            return of((float) value);
+        } else if (value instanceof Double) { // id 6
+            return of((double) value);
+        } else if (value instanceof byte[]) { // id 7
+            return of((byte[]) value);
+        } else if (value instanceof String) { // id 8
+            return of((String) value);
+        } else if (value instanceof int[]) { // id 11
+            return of((int[]) value);
+        } else if (value instanceof long[]) { // id 12
+            return of((long[]) value);
+        } else {
+            throw new IllegalArgumentException("The object type " + (value == null ? "null" : value.getClass().getName()) + " cannot be used to create a NbtValue");
+        }
+    }
+
+    NbtValue(byte type, Object value) {
+        this.type = type;
+        this.value = value;
+    }
+
+    @Override
+    public byte getTypeId() {
+        return type;
+    }
+
+    /**
+     * Get the Java value of this object, arrays are copied.
+     *
+     * @return a boxed primitive, string or array.
+     */
+    @Override
+    public Object getValue() {
+        switch (type) {
+            case 7:
+                return ((byte[]) value).clone();
+            case 11:
+                return ((int[]) value).clone();
+            case 12:
+                return ((long[]) value).clone();
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * Check if this value is a number.
+     *
+     * @return true if the type id is between 1 and 6.
+     */
+    public boolean isNumber() {
+        return value instanceof Number;
+    }
+
+    /**
+     * Get this value as byte.
+     *
+     * @return a byte value, 0 if the value is not a number.
+     */
+    public byte asByte() {
+        return value instanceof Number ? ((Number) value).byteValue() : 0;
+    }
+
+    /**
+     * Get this value as boolean.
+     *
+     * @return true if the value is a number different than 0.
+     */
+    public boolean asBoolean() {
+        return asByte() != 0;
+    }
+
+    /**
+     * Get this value as short.
+     *
+     * @return a short value, 0 if the value is not a number.
+     */
+    public short asShort() {
+        return value instanceof Number ? ((Number) value).shortValue() : 0;
+    }
+
+    /**
+     * Get this value as int.
+     *
+     * @return an int value, 0 if the value is not a number.
+     */
+    public int asInt() {
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+
+    /**
+     * Get this value as long.
+     *
+     * @return a long value, 0 if the value is not a number.
+     */
+    public long asLong() {
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+
+    /**
+     * Get this value as float.
+     *
+     * @return a float value, 0 if the value is not a number.
+     */
+    public float asFloat() {
+        return value instanceof Number ? ((Number) value).floatValue() : 0F;
+    }
+
+    /**
+     * Get this value as double.
+     *
+     * @return a double value, 0 if the value is not a number.
+     */
+    public double asDouble() {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0D;
+    }
+
+    /**
+     * Get this value as string.
+     *
+     * @return a string representation of this value.
+     */
+    public String asString() {
+        return value instanceof String ? (String) value : toString();
+    }
+
+    @Override
+    TagVisitor.Result accept(TagVisitor visitor, boolean copy) {
+        switch (type) {
+            case 1:
+                return visitor.visitByte((byte) value);
+            case 2:
+                return visitor.visitShort((short) value);
+            case 3:
+                return visitor.visitInt((int) value);
+            case 4:
+                return visitor.visitLong((long) value);
+            case 5:
+                return visitor.visitFloat((float) value);
+            case 6:
+                return visitor.visitDouble((double) value);
+            case 7:
+                return visitor.visitByteArray(copy ? ((byte[]) value).clone() : (byte[]) value);
+            case 8:
+                return visitor.visitString((String) value);
+            case 11:
+                return visitor.visitIntArray(copy ? ((int[]) value).clone() : (int[]) value);
+            case 12:
+                return visitor.visitLongArray(copy ? ((long[]) value).clone() : (long[]) value);
+            default:
+                throw new IllegalStateException("Invalid tag type: " + type);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof NbtValue)) return false;
+
+        final NbtValue other = (NbtValue) o;
+        if (type != other.type) return false;
+        switch (type) {
+            case 7:
+                return Arrays.equals((byte[]) value, (byte[]) other.value);
+            case 11:
+                return Arrays.equals((int[]) value, (int[]) other.value);
+            case 12:
+                return Arrays.equals((long[]) value, (long[]) other.value);
+            default:
+                return value.equals(other.value);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        switch (type) {
+            case 7:
+                return Arrays.hashCode((byte[]) value);
+            case 11:
+                return Arrays.hashCode((int[]) value);
+            case 12:
+                return Arrays.hashCode((long[]) value);
+            default:
+                return value.hashCode();
+        }
+    }
+
+    @Override
+    public String toString() {
+        switch (type) {
+            case 7:
+                return Arrays.toString((byte[]) value);
+            case 11:
+                return Arrays.toString((int[]) value);
+            case 12:
+                return Arrays.toString((long[]) value);
+            default:
+                return String.valueOf(value);
+        }
+    }
+}
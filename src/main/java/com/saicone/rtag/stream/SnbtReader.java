@@ -0,0 +1,846 @@
+package com.saicone.rtag.stream;
+
+import com.saicone.rtag.util.MC;
+
+/**
+ * Pure Java reader of SNBT (stringified NBT) data.<br>
+ * Like {@link TStreamReader}, this class doesn't create a tag tree, every
+ * value is emitted into a {@link TagVisitor}, so the same parse operation can
+ * build NMS tags using {@link TagBuilder#ofServer()} or any other tag representation.<br>
+ * The accepted syntax is the same as Minecraft TagParser: unquoted or quoted keys and strings,
+ * number suffixes (b, s, l, f, d), booleans as bytes and typed arrays with [B;], [I;] or [L;] prefix.<br>
+ * Lists with mixed element types are visited as compound lists with every element
+ * wrapped into a compound with empty key, in the same way as binary NBT data.<br>
+ * Using legacy grammar, the SNBT is read like Minecraft did before 1.21.5, so mixed
+ * lists and typed arrays with elements of other type are rejected.
+ *
+ * @author Rubenicos
+ */
+public class SnbtReader {
+
+    private static final byte TYPE_STRING = 8;
+
+    private final String input;
+    private final int length;
+    private final boolean legacy;
+    private int pos = 0;
+
+    // Last classified unquoted value
+    private int tokenStart = -1;
+    private int tokenEnd;
+    private byte tokenType;
+    private long tokenLong;
+    private double tokenDouble;
+
+    // List scan result
+    private int scanSize;
+    private byte scanType;
+    private boolean scanMixed;
+
+    private StringBuilder buffer;
+
+    /**
+     * Read the provided SNBT as NMS tag object.
+     *
+     * @param snbt the SNBT to read.
+     * @return     a tag object.
+     * @throws IllegalArgumentException if the SNBT is malformed.
+     */
+    public static Object read(String snbt) throws IllegalArgumentException {
+        return read(snbt, TagBuilder.ofServer(), MC.version().isOlderThan(MC.V_1_21_5));
+    }
+
+    /**
+     * Read the provided SNBT using a TagBuilder with 1.21.5 grammar.
+     *
+     * @param snbt    the SNBT to read.
+     * @param builder the builder to create tag objects.
+     * @return        a tag object created by builder.
+     * @param <T>     the tag object type.
+     * @throws IllegalArgumentException if the SNBT is malformed.
+     */
+    public static <T> T read(String snbt, TagBuilder<T> builder) throws IllegalArgumentException {
+        return read(snbt, builder, false);
+    }
+
+    /**
+     * Read the provided SNBT using a TagBuilder.
+     *
+     * @param snbt    the SNBT to read.
+     * @param builder the builder to create tag objects.
+     * @param legacy  true to read with the grammar used before 1.21.5.
+     * @return        a tag object created by builder.
+     * @param <T>     the tag object type.
+     * @throws IllegalArgumentException if the SNBT is malformed.
+     *
+     * @see #accept(String, TagVisitor, boolean)
+     */
+    public static <T> T read(String snbt, TagBuilder<T> builder, boolean legacy) throws IllegalArgumentException {
+        builder.reset();
+        accept(snbt, builder, legacy);
+        return builder.build();
+    }
+
+    /**
+     * Read the provided SNBT with 1.21.5 grammar and visit it.
+     *
+     * @param snbt    the SNBT to read.
+     * @param visitor the visitor to consume tag values.
+     * @return        a visit result, {@link TagVisitor.Result#HALT} if the visitor stopped the operation.
+     * @throws IllegalArgumentException if the SNBT is malformed.
+     */
+    public static TagVisitor.Result accept(String snbt, TagVisitor visitor) throws IllegalArgumentException {
+        return accept(snbt, visitor, false);
+    }
+
+    /**
+     * Read the provided SNBT and visit it.<br>
+     * Since 1.21.5 Minecraft also accept numbers with hexadecimal, binary, underscores
+     * or signed suffixes, this reader doesn't support that syntax, so any unquoted value
+     * that starts like a number and cannot be parsed throws an exception. Using legacy grammar
+     * those values are read as String like older versions does, while mixed lists and typed
+     * arrays with elements of other type throw an exception instead.
+     *
+     * @param snbt    the SNBT to read.
+     * @param visitor the visitor to consume tag values.
+     * @param legacy  true to read with the grammar used before 1.21.5.
+     * @return        a visit result, {@link TagVisitor.Result#HALT} if the visitor stopped the operation.
+     * @throws IllegalArgumentException if the SNBT is malformed.
+     */
+    public static TagVisitor.Result accept(String snbt, TagVisitor visitor, boolean legacy) throws IllegalArgumentException {
+        final SnbtReader reader = new SnbtReader(snbt, legacy);
+        final TagVisitor.Result result = reader.value(visitor, 0);
+        if (result != TagVisitor.Result.HALT) {
+            reader.skipWhitespace();
+            if (reader.pos < reader.length) {
+                throw reader.error("Trailing data after value");
+            }
+        }
+        return result;
+    }
+
+    SnbtReader(String input, boolean legacy) {
+        this.input = input;
+        this.length = input.length();
+        this.legacy = legacy;
+    }
+
+    // A null visitor is used to parse values without visit them
+    private TagVisitor.Result value(TagVisitor visitor, int depth) {
+        skipWhitespace();
+        if (pos >= length) {
+            throw error("Expected value");
+        }
+        final char c = input.charAt(pos);
+        if (c == '{') {
+            return compound(visitor, depth + 1);
+        } else if (c == '[') {
+            final byte arrayType = arrayType(pos);
+            if (arrayType != 0) {
+                return array(visitor, arrayType);
+            }
+            return list(visitor, depth + 1);
+        } else if (c == '"' || c == '\'') {
+            final String value = readQuoted();
+            return visitor == null ? TagVisitor.Result.CONTINUE : visitor.visitString(value);
+        }
+        classify();
+        pos = tokenEnd;
+        if (visitor == null) {
+            return TagVisitor.Result.CONTINUE;
+        }
+        switch (tokenType) {
+            case 1:
+                return visitor.visitByte((byte) tokenLong);
+            case 2:
+                return visitor.visitShort((short) tokenLong);
+            case 3:
+                return visitor.visitInt((int) tokenLong);
+            case 4:
+                return visitor.visitLong(tokenLong);
+            case 5:
+                return visitor.visitFloat((float) tokenDouble);
+            case 6:
+                return visitor.visitDouble(tokenDouble);
+            default:
+                return visitor.visitString(input.substring(tokenStart, tokenEnd));
+        }
+    }
+
+    private TagVisitor.Result compound(TagVisitor visitor, int depth) {
+        checkDepth(depth);
+        pos++;
+        if (visitor != null) {
+            switch (visitor.visitCompoundStart()) {
+                case HALT:
+                    return TagVisitor.Result.HALT;
+                case SKIP:
+                    skipCompound(depth);
+                    return TagVisitor.Result.CONTINUE;
+                default:
+                    break;
+            }
+        }
+
+        TagVisitor entryVisitor = visitor;
+        skipWhitespace();
+        if (pos < length && input.charAt(pos) == '}') {
+            pos++;
+        } else {
+            while (true) {
+                final String key = readKey();
+                skipWhitespace();
+                expect(':');
+                if (entryVisitor == null) {
+                    value(null, depth);
+                } else {
+                    final TagVisitor.Result result = entryVisitor.visitKey(peekType(), key);
+                    if (result == TagVisitor.Result.HALT) {
+                        return TagVisitor.Result.HALT;
+                    } else if (result == TagVisitor.Result.SKIP) {
+                        value(null, depth);
+                    } else if (result == TagVisitor.Result.BREAK) {
+                        value(null, depth);
+                        entryVisitor = null;
+                    } else {
+                        final TagVisitor.Result valueResult = value(entryVisitor, depth);
+                        if (valueResult == TagVisitor.Result.HALT) {
+                            return TagVisitor.Result.HALT;
+                        } else if (valueResult == TagVisitor.Result.BREAK) {
+                            entryVisitor = null;
+                        }
+                    }
+                }
+                skipWhitespace();
+                if (pos < length && input.charAt(pos) == ',') {
+                    pos++;
+                } else {
+                    expect('}');
+                    break;
+                }
+            }
+        }
+
+        return visitor == null ? TagVisitor.Result.CONTINUE : visitor.visitEnd();
+    }
+
+    private void skipCompound(int depth) {
+        pos--;
+        compound(null, depth);
+    }
+
+    private TagVisitor.Result list(TagVisitor visitor, int depth) {
+        checkDepth(depth);
+        pos++;
+        if (visitor == null) {
+            if (legacy) {
+                scanList(pos);
+            }
+            skipWhitespace();
+            if (pos < length && input.charAt(pos) == ']') {
+                pos++;
+                return TagVisitor.Result.CONTINUE;
+            }
+            while (true) {
+                value(null, depth);
+                skipWhitespace();
+                if (pos < length && input.charAt(pos) == ',') {
+                    pos++;
+                } else {
+                    expect(']');
+                    return TagVisitor.Result.CONTINUE;
+                }
+            }
+        }
+
+        scanList(pos);
+        final byte type = scanMixed ? 10 : scanType;
+        // Compound elements that look like wrappers are also wrapped, so they are not unwrapped by the visitor
+        final boolean wrap = !legacy && type == 10;
+        switch (visitor.visitListStart(type, scanSize)) {
+            case HALT:
+                return TagVisitor.Result.HALT;
+            case SKIP:
+                pos--;
+                list(null, depth);
+                return TagVisitor.Result.CONTINUE;
+            default:
+                break;
+        }
+
+        TagVisitor elementVisitor = visitor;
+        skipWhitespace();
+        if (pos < length && input.charAt(pos) == ']') {
+            pos++;
+        } else {
+            int index = 0;
+            while (true) {
+                if (elementVisitor == null) {
+                    value(null, depth);
+                } else {
+                    final TagVisitor.Result result = elementVisitor.visitElement(type, index);
+                    if (result == TagVisitor.Result.HALT) {
+                        return TagVisitor.Result.HALT;
+                    } else if (result == TagVisitor.Result.SKIP) {
+                        value(null, depth);
+                    } else if (result == TagVisitor.Result.BREAK) {
+                        value(null, depth);
+                        elementVisitor = null;
+                    } else {
+                        final TagVisitor.Result valueResult = wrap ? wrapped(elementVisitor, depth) : value(elementVisitor, depth);
+                        if (valueResult == TagVisitor.Result.HALT) {
+                            return TagVisitor.Result.HALT;
+                        } else if (valueResult == TagVisitor.Result.BREAK) {
+                            elementVisitor = null;
+                        }
+                    }
+                }
+                index++;
+                skipWhitespace();
+                if (pos < length && input.charAt(pos) == ',') {
+                    pos++;
+                } else {
+                    expect(']');
+                    break;
+                }
+            }
+        }
+
+        return visitor.visitEnd();
+    }
+
+    private TagVisitor.Result wrapped(TagVisitor visitor, int depth) {
+        final byte type = peekType();
+        if (type == 10 && !isWrapper(pos)) {
+            return value(visitor, depth);
+        }
+        switch (visitor.visitCompoundStart()) {
+            case HALT:
+                return TagVisitor.Result.HALT;
+            case SKIP:
+                value(null, depth);
+                return TagVisitor.Result.CONTINUE;
+            default:
+                break;
+        }
+        final TagVisitor.Result result = visitor.visitKey(type, "");
+        if (result == TagVisitor.Result.HALT) {
+            return TagVisitor.Result.HALT;
+        } else if (result == TagVisitor.Result.SKIP || result == TagVisitor.Result.BREAK) {
+            value(null, depth);
+        } else if (value(visitor, depth) == TagVisitor.Result.HALT) {
+            return TagVisitor.Result.HALT;
+        }
+        return visitor.visitEnd();
+    }
+
+    // Check if the compound at provided position only contains keys with empty name, like a wrapper compound
+    private boolean isWrapper(int start) {
+        boolean wrapper = false;
+        int i = skipWhitespace(start + 1);
+        while (i < length && input.charAt(i) != '}') {
+            final char quote = input.charAt(i);
+            if ((quote != '"' && quote != '\'') || i + 1 >= length || input.charAt(i + 1) != quote) {
+                return false;
+            }
+            i = skipWhitespace(i + 2);
+            if (i >= length || input.charAt(i) != ':') {
+                return false;
+            }
+            i = skipWhitespace(i + 1);
+            if (i >= length) {
+                return false;
+            }
+            i = skipWhitespace(skipValue(i));
+            wrapper = true;
+            if (i < length && input.charAt(i) == ',') {
+                i = skipWhitespace(i + 1);
+            } else {
+                break;
+            }
+        }
+        return wrapper;
+    }
+
+    private TagVisitor.Result array(TagVisitor visitor, byte type) {
+        // Skip "[X;"
+        pos += 3;
+        scanList(pos);
+        final int size = scanSize;
+        final byte[] bytes = type == 7 ? new byte[size] : null;
+        final int[] ints = type == 11 ? new int[size] : null;
+        final long[] longs = type == 12 ? new long[size] : null;
+
+        skipWhitespace();
+        int index = 0;
+        if (pos < length && input.charAt(pos) == ']') {
+            pos++;
+        } else {
+            while (true) {
+                skipWhitespace();
+                final int start = pos;
+                if (pos >= length || !isUnquoted(input.charAt(pos))) {
+                    throw error("Expected number inside array");
+                }
+                classify();
+                pos = tokenEnd;
+                if (tokenType < 1 || tokenType > 4 || index >= size) {
+                    throw error("Invalid array element", start);
+                }
+                if (legacy && tokenType != (type == 7 ? 1 : type == 11 ? 3 : 4)) {
+                    throw error("Invalid array element type", start);
+                }
+                final long value = tokenLong;
+                if (type == 7) {
+                    if (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) {
+                        throw error("Value out of byte range", start);
+                    }
+                    bytes[index] = (byte) value;
+                } else if (type == 11) {
+                    if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                        throw error("Value out of int range", start);
+                    }
+                    ints[index] = (int) value;
+                } else {
+                    longs[index] = value;
+                }
+                index++;
+                skipWhitespace();
+                if (pos < length && input.charAt(pos) == ',') {
+                    pos++;
+                } else {
+                    expect(']');
+                    break;
+                }
+            }
+        }
+
+        if (visitor == null) {
+            return TagVisitor.Result.CONTINUE;
+        } else if (type == 7) {
+            return visitor.visitByteArray(bytes);
+        } else if (type == 11) {
+            return visitor.visitIntArray(ints);
+        } else {
+            return visitor.visitLongArray(longs);
+        }
+    }
+
+    private byte arrayType(int start) {
+        if (start + 2 < length && input.charAt(start + 2) == ';') {
+            switch (input.charAt(start + 1)) {
+                case 'B':
+                    return 7;
+                case 'I':
+                    return 11;
+                case 'L':
+                    return 12;
+                default:
+                    break;
+            }
+        }
+        return 0;
+    }
+
+    // Get the type of the value at current position, after whitespace
+    private byte peekType() {
+        skipWhitespace();
+        return typeAt(pos);
+    }
+
+    private byte typeAt(int start) {
+        if (start >= length) {
+            throw error("Expected value", start);
+        }
+        final char c = input.charAt(start);
+        if (c == '{') {
+            return 10;
+        } else if (c == '[') {
+            final byte arrayType = arrayType(start);
+            return arrayType != 0 ? arrayType : 9;
+        } else if (c == '"' || c == '\'') {
+            return TYPE_STRING;
+        }
+        final int saved = pos;
+        pos = start;
+        classify();
+        pos = saved;
+        return tokenType;
+    }
+
+    // Count the list elements and get their type without parsing nested values
+    private void scanList(int start) {
+        int i = start;
+        int size = 0;
+        byte type = 0;
+        boolean mixed = false;
+        while (true) {
+            i = skipWhitespace(i);
+            if (i >= length || input.charAt(i) == ']') {
+                break;
+            }
+            final byte elementType = typeAt(i);
+            if (type == 0) {
+                type = elementType;
+            } else if (type != elementType) {
+                mixed = true;
+            }
+            size++;
+            i = skipValue(i);
+            i = skipWhitespace(i);
+            if (i < length && input.charAt(i) == ',') {
+                i++;
+            } else {
+                break;
+            }
+        }
+        if (mixed && legacy) {
+            throw error("Can't insert mixed types into list", start);
+        }
+        scanSize = size;
+        scanType = type;
+        scanMixed = mixed;
+    }
+
+    private int skipValue(int start) {
+        final char c = input.charAt(start);
+        if (c == '"' || c == '\'') {
+            return skipQuoted(start);
+        } else if (c == '{' || c == '[') {
+            int depth = 0;
+            int i = start;
+            while (i < length) {
+                final char ch = input.charAt(i);
+                if (ch == '"' || ch == '\'') {
+                    i = skipQuoted(i);
+                    continue;
+                } else if (ch == '{' || ch == '[') {
+                    depth++;
+                } else if (ch == '}' || ch == ']') {
+                    if (--depth == 0) {
+                        return i + 1;
+                    }
+                }
+                i++;
+            }
+            return length;
+        }
+        int i = start;
+        while (i < length && isUnquoted(input.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private int skipQuoted(int start) {
+        final char quote = input.charAt(start);
+        int i = start + 1;
+        while (i < length) {
+            final char c = input.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote) {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+        return length;
+    }
+
+    // Parse the unquoted value at current position, the position is not modified
+    private void classify() {
+        if (tokenStart == pos) {
+            return;
+        }
+        final int start = pos;
+        int end = start;
+        while (end < length && isUnquoted(input.charAt(end))) {
+            end++;
+        }
+        if (end == start) {
+            throw error("Expected value", start);
+        }
+        tokenStart = start;
+        tokenEnd = end;
+        tokenType = TYPE_STRING;
+
+        final int size = end - start;
+        if (size == 4 && input.regionMatches(true, start, "true", 0, 4)) {
+            tokenType = 1;
+            tokenLong = 1;
+            return;
+        } else if (size == 5 && input.regionMatches(true, start, "false", 0, 5)) {
+            tokenType = 1;
+            tokenLong = 0;
+            return;
+        }
+
+        int i = start;
+        char c = input.charAt(i);
+        if (c == '+' || c == '-') {
+            i++;
+        }
+        final int intStart = i;
+        while (i < end && isDigit(input.charAt(i))) {
+            i++;
+        }
+        final int intDigits = i - intStart;
+        boolean dot = false;
+        int fracDigits = 0;
+        if (i < end && input.charAt(i) == '.') {
+            dot = true;
+            i++;
+            final int fracStart = i;
+            while (i < end && isDigit(input.charAt(i))) {
+                i++;
+            }
+            fracDigits = i - fracStart;
+        }
+        if (intDigits == 0 && fracDigits == 0) {
+            return;
+        }
+        // Unsupported number syntax will be read as String
+        tokenType = -1;
+        boolean exponent = false;
+        if (i < end && (input.charAt(i) == 'e' || input.charAt(i) == 'E')) {
+            int j = i + 1;
+            if (j < end && (input.charAt(j) == '+' || input.charAt(j) == '-')) {
+                j++;
+            }
+            final int expStart = j;
+            while (j < end && isDigit(input.charAt(j))) {
+                j++;
+            }
+            if (j == expStart) {
+                return;
+            }
+            exponent = true;
+            i = j;
+        }
+        final int numberEnd = i;
+        final boolean integer = !dot && !exponent && (intDigits == 1 || input.charAt(intStart) != '0');
+
+        try {
+            if (numberEnd == end) {
+                if (integer) {
+                    tokenLong = Integer.parseInt(input, start, numberEnd, 10);
+                    tokenType = 3;
+                } else if (dot) {
+                    tokenDouble = Double.parseDouble(input.substring(start, numberEnd));
+                    tokenType = 6;
+                }
+            } else if (numberEnd == end - 1) {
+                switch (input.charAt(numberEnd)) {
+                    case 'b':
+                    case 'B':
+                        if (integer) {
+                            final int value = Integer.parseInt(input, start, numberEnd, 10);
+                            if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                                tokenLong = value;
+                                tokenType = 1;
+                            }
+                        }
+                        break;
+                    case 's':
+                    case 'S':
+                        if (integer) {
+                            final int value = Integer.parseInt(input, start, numberEnd, 10);
+                            if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                                tokenLong = value;
+                                tokenType = 2;
+                            }
+                        }
+                        break;
+                    case 'l':
+                    case 'L':
+                        if (integer) {
+                            tokenLong = Long.parseLong(input, start, numberEnd, 10);
+                            tokenType = 4;
+                        }
+                        break;
+                    case 'f':
+                    case 'F':
+                        tokenDouble = Float.parseFloat(input.substring(start, numberEnd));
+                        tokenType = 5;
+                        break;
+                    case 'd':
+                    case 'D':
+                        tokenDouble = Double.parseDouble(input.substring(start, numberEnd));
+                        tokenType = 6;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } catch (NumberFormatException ignored) {
+            // Out of range numbers are read as String, like Minecraft does
+        }
+        if (tokenType == -1) {
+            if (!legacy) {
+                throw error("Unsupported number format", start);
+            }
+            tokenType = TYPE_STRING;
+        }
+    }
+
+    private String readKey() {
+        skipWhitespace();
+        if (pos >= length) {
+            throw error("Expected key");
+        }
+        final char c = input.charAt(pos);
+        if (c == '"' || c == '\'') {
+            return readQuoted();
+        }
+        final int start = pos;
+        while (pos < length && isUnquoted(input.charAt(pos))) {
+            pos++;
+        }
+        if (pos == start) {
+            throw error("Expected key");
+        }
+        return input.substring(start, pos);
+    }
+
+    private String readQuoted() {
+        final char quote = input.charAt(pos);
+        final int start = pos + 1;
+        int i = start;
+        // Fast path for strings without escapes
+        while (i < length) {
+            final char c = input.charAt(i);
+            if (c == quote) {
+                pos = i + 1;
+                return input.substring(start, i);
+            } else if (c == '\\') {
+                break;
+            }
+            i++;
+        }
+        if (buffer == null) {
+            buffer = new StringBuilder(Math.max(16, i - start + 16));
+        } else {
+            buffer.setLength(0);
+        }
+        buffer.append(input, start, i);
+        while (i < length) {
+            final char c = input.charAt(i);
+            if (c == quote) {
+                pos = i + 1;
+                return buffer.toString();
+            } else if (c == '\\') {
+                if (++i >= length) {
+                    break;
+                }
+                final char escaped = input.charAt(i);
+                switch (escaped) {
+                    case '\\':
+                    case '"':
+                    case '\'':
+                        buffer.append(escaped);
+                        break;
+                    case 'n':
+                        buffer.append('\n');
+                        break;
+                    case 't':
+                        buffer.append('\t');
+                        break;
+                    case 'r':
+                        buffer.append('\r');
+                        break;
+                    case 'b':
+                        buffer.append('\b');
+                        break;
+                    case 'f':
+                        buffer.append('\f');
+                        break;
+                    case 's':
+                        buffer.append(' ');
+                        break;
+                    case 'x':
+                        buffer.append((char) readHex(i + 1, 2));
+                        i += 2;
+                        break;
+                    case 'u':
+                        buffer.append((char) readHex(i + 1, 4));
+                        i += 4;
+                        break;
+                    case 'U':
+                        buffer.appendCodePoint(readHex(i + 1, 8));
+                        i += 8;
+                        break;
+                    default:
+                        throw error("Invalid escape sequence '\\" + escaped + "'", i - 1);
+                }
+                i++;
+            } else {
+                buffer.append(c);
+                i++;
+            }
+        }
+        throw error("Unclosed quoted string", start - 1);
+    }
+
+    private int readHex(int start, int digits) {
+        if (start + digits > length) {
+            throw error("Invalid escape sequence", start - 2);
+        }
+        try {
+            return Integer.parseUnsignedInt(input, start, start + digits, 16);
+        } catch (NumberFormatException e) {
+            throw error("Invalid escape sequence", start - 2);
+        }
+    }
+
+    private void expect(char c) {
+        skipWhitespace();
+        if (pos >= length || input.charAt(pos) != c) {
+            throw error("Expected '" + c + "'");
+        }
+        pos++;
+    }
+
+    private void skipWhitespace() {
+        pos = skipWhitespace(pos);
+    }
+
+    private int skipWhitespace(int i) {
+        while (i < length && Character.isWhitespace(input.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private void checkDepth(int depth) {
+        if (depth > TStreamReader.MAX_DEPTH) {
+            throw error("Tried to read SNBT with too high complexity, depth > " + TStreamReader.MAX_DEPTH);
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return error(message, pos);
+    }
+
+    private IllegalArgumentException error(String message, int at) {
+        final int from = Math.max(0, at - 10);
+        return new IllegalArgumentException(message + " at position " + at + ": ..." + input.substring(from, Math.min(length, at)) + "<--[HERE]");
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Check if the provided char can be used inside unquoted keys or values.
+     *
+     * @param c the char to check.
+     * @return  true if the char doesn't require quotes.
+     */
+    public static boolean isUnquoted(char c) {
+        return c >= '0' && c <= '9'
+                || c >= 'A' && c <= 'Z'
+                || c >= 'a' && c <= 'z'
+                || c == '_' || c == '-' || c == '.' || c == '+';
+    }
+}
@@ -0,0 +1,295 @@
+package com.saicone.rtag.stream;
+
+import java.util.Arrays;
+
+/**
+ * Pure Java writer of SNBT (stringified NBT) data.<br>
+ * This class is a {@link TagVisitor} that append every visited value into
+ * a StringBuilder, using compact format by default or indented format if
+ * an indent is provided.<br>
+ * The output can be read again by {@link SnbtReader} or Minecraft TagParser.
+ *
+ * @author Rubenicos
+ */
+public class SnbtWriter implements TagVisitor {
+
+    private static final byte COMPOUND = 10;
+    private static final byte LIST = 9;
+    // List that write its elements in the same line
+    private static final byte INLINE_LIST = -9;
+
+    private final StringBuilder output;
+    private final String indent;
+
+    private byte[] containers = new byte[16];
+    private int[] counts = new int[16];
+    private int depth = 0;
+
+    /**
+     * Convert the provided Tag object into compact SNBT.
+     *
+     * @param tag the tag to convert.
+     * @return    a SNBT string.
+     */
+    public static String toString(Object tag) {
+        return toString(tag, null);
+    }
+
+    /**
+     * Convert the provided Tag object into SNBT.
+     *
+     * @param tag    the tag to convert.
+     * @param indent the indent used for nested values, null or empty for compact format.
+     * @return       a SNBT string.
+     */
+    public static String toString(Object tag, String indent) {
+        final SnbtWriter writer = new SnbtWriter(new StringBuilder(), indent);
+        TStreamTools.visit(tag, writer);
+        return writer.output.toString();
+    }
+
+    /**
+     * Constructs a SnbtWriter that append compact SNBT into provided StringBuilder.
+     *
+     * @param output StringBuilder to append in.
+     */
+    public SnbtWriter(StringBuilder output) {
+        this(output, null);
+    }
+
+    /**
+     * Constructs a SnbtWriter that append SNBT into provided StringBuilder.
+     *
+     * @param output StringBuilder to append in.
+     * @param indent the indent used for nested values, null or empty for compact format.
+     */
+    public SnbtWriter(StringBuilder output, String indent) {
+        this.output = output;
+        this.indent = indent == null || indent.isEmpty() ? null : indent;
+    }
+
+    /**
+     * Get the output that is used by this writer.
+     *
+     * @return a StringBuilder instance.
+     */
+    public StringBuilder getOutput() {
+        return output;
+    }
+
+    /**
+     * Check if this writer use indented format.
+     *
+     * @return true if the output is indented.
+     */
+    public boolean isPretty() {
+        return indent != null;
+    }
+
+    private void newLine(int level) {
+        output.append('\n');
+        for (int i = 0; i < level; i++) {
+            output.append(indent);
+        }
+    }
+
+    private void push(byte type) {
+        if (depth == containers.length) {
+            containers = Arrays.copyOf(containers, depth * 2);
+            counts = Arrays.copyOf(counts, depth * 2);
+        }
+        containers[depth] = type;
+        counts[depth] = 0;
+        depth++;
+    }
+
+    @Override
+    public Result visitByte(byte value) {
+        output.append(value).append('b');
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitShort(short value) {
+        output.append(value).append('s');
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitInt(int value) {
+        output.append(value);
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitLong(long value) {
+        output.append(value).append('L');
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitFloat(float value) {
+        output.append(value).append('f');
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitDouble(double value) {
+        output.append(value).append('d');
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitByteArray(byte[] value) {
+        output.append("[B;");
+        for (int i = 0; i < value.length; i++) {
+            separator(i);
+            output.append(value[i]).append('B');
+        }
+        output.append(']');
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitString(String value) {
+        quote(output, value);
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitIntArray(int[] value) {
+        output.append("[I;");
+        for (int i = 0; i < value.length; i++) {
+            separator(i);
+            output.append(value[i]);
+        }
+        output.append(']');
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitLongArray(long[] value) {
+        output.append("[L;");
+        for (int i = 0; i < value.length; i++) {
+            separator(i);
+            output.append(value[i]).append('L');
+        }
+        output.append(']');
+        return Result.CONTINUE;
+    }
+
+    private void separator(int index) {
+        if (index > 0) {
+            output.append(',');
+            if (indent != null) {
+                output.append(' ');
+            }
+        } else if (indent != null) {
+            output.append(' ');
+        }
+    }
+
+    @Override
+    public Result visitListStart(byte type, int size) {
+        output.append('[');
+        // Numeric lists are written in the same line
+        push(type >= 1 && type <= 6 ? INLINE_LIST : LIST);
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitElement(byte type, int index) {
+        final int current = depth - 1;
+        if (counts[current]++ > 0) {
+            output.append(',');
+            if (indent != null && containers[current] == INLINE_LIST) {
+                output.append(' ');
+            }
+        }
+        if (indent != null && containers[current] == LIST) {
+            newLine(depth);
+        }
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitCompoundStart() {
+        output.append('{');
+        push(COMPOUND);
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitKey(byte type, String key) {
+        final int current = depth - 1;
+        if (counts[current]++ > 0) {
+            output.append(',');
+        }
+        if (indent != null) {
+            newLine(depth);
+        }
+        key(output, key);
+        output.append(':');
+        if (indent != null) {
+            output.append(' ');
+        }
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitEnd() {
+        if (depth < 1) {
+            throw new IllegalStateException("There's no compound or list to end");
+        }
+        final byte type = containers[--depth];
+        if (indent != null && type != INLINE_LIST && counts[depth] > 0) {
+            newLine(depth);
+        }
+        output.append(type == COMPOUND ? '}' : ']');
+        return Result.CONTINUE;
+    }
+
+    /**
+     * Append the provided key into StringBuilder, the key is quoted only if it's required.
+     *
+     * @param builder the StringBuilder to append in.
+     * @param key     the compound key.
+     */
+    public static void key(StringBuilder builder, String key) {
+        if (key.isEmpty()) {
+            builder.append("\"\"");
+            return;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (!SnbtReader.isUnquoted(key.charAt(i))) {
+                quote(builder, key);
+                return;
+            }
+        }
+        builder.append(key);
+    }
+
+    /**
+     * Append the provided String as quoted value into StringBuilder.<br>
+     * Double quotes are used by default, unless the String contains double quotes
+     * but not single quotes.
+     *
+     * @param builder the StringBuilder to append in.
+     * @param value   the String to quote.
+     */
+    public static void quote(StringBuilder builder, String value) {
+        char quote = '"';
+        if (value.indexOf('"') >= 0 && value.indexOf('\'') < 0) {
+            quote = '\'';
+        }
+        builder.append(quote);
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '\\' || c == quote) {
+                builder.append('\\');
+            }
+            builder.append(c);
+        }
+        builder.append(quote);
+    }
+}
@@ -3,6 +3,7 @@ package com.saicone.rtag.stream;
 import com.saicone.rtag.RtagMirror;
 import com.saicone.rtag.tag.TagBase;
 import com.saicone.rtag.tag.TagCompound;
+import com.saicone.rtag.tag.TagInterner;
 import com.saicone.rtag.tag.TagList;
 import org.bukkit.util.io.BukkitObjectInputStream;
 import org.bukkit.util.io.BukkitObjectOutputStream;
@@ -11,9 +12,16 @@ import java.io.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
+import java.util.function.IntFunction;
 
 /**
  * Tag stream class to handle CompoundTag
@@ -44,6 +52,81 @@ public class TStream<T> {
         }
     };
 
+    private TagInterner interner;
+    private TStreamDictionary dictionary;
+    private Executor executor = ForkJoinPool.commonPool();
+
+    /**
+     * Get the interner used to deduplicate read compounds.
+     *
+     * @return a TagInterner instance, null if interning is disabled.
+     */
+    public TagInterner getInterner() {
+        return interner;
+    }
+
+    /**
+     * Set the interner used to deduplicate read compounds.<br>
+     * When an interner is set, equal strings of every read compound
+     * are shared across built objects, compounds and lists are never shared.
+     *
+     * @param interner a TagInterner instance, null to disable interning.
+     */
+    public void setInterner(TagInterner interner) {
+        this.interner = interner;
+    }
+
+    /**
+     * Get the dictionary used to compress objects into bytes.
+     *
+     * @return a TStreamDictionary instance, null if GZIP is used.
+     */
+    public TStreamDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Set the dictionary used to compress objects into bytes.<br>
+     * The dictionary is also registered, so any compressed bytes
+     * can be read by every TStream instance.
+     *
+     * @param dictionary a TStreamDictionary instance, null to use GZIP.
+     */
+    public void setDictionary(TStreamDictionary dictionary) {
+        if (dictionary != null) {
+            TStreamDictionary.register(dictionary);
+        }
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Get the executor used to encode objects asynchronously.
+     *
+     * @return an Executor instance.
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Set the executor used to encode objects asynchronously.
+     *
+     * @param executor an Executor instance, null to use common pool.
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor == null ? ForkJoinPool.commonPool() : executor;
+    }
+
+    /**
+     * Intern the values of provided compound using the current interner.
+     *
+     * @param compound CompoundTag to intern.
+     * @return         the same compound.
+     */
+    protected Object intern(Object compound) {
+        return interner == null ? compound : interner.intern(compound);
+    }
+
     /**
      * Clone provided object by extract CompoundTag
      * and use it to build new object.
@@ -73,7 +156,7 @@ public class TStream<T> {
      */
     @SuppressWarnings("unchecked")
     public T build(Object compound) {
-        return (T) compound;
+        return (T) intern(compound);
     }
 
     /**
@@ -197,7 +280,7 @@ public class TStream<T> {
      * @return       The object compound as String.
      */
     public String toString(T object) {
-        return toCompound(object).toString();
+        return SnbtWriter.toString(toCompound(object));
     }
 
     /**
@@ -239,7 +322,7 @@ public class TStream<T> {
     public String listToBase64(List<T> objects) {
         String data = "";
         if (!objects.isEmpty()) {
-            try (ByteArrayOutputStream out = new ByteArrayOutputStream(); BukkitObjectOutputStream output = new BukkitObjectOutputStream(out)) {
+            try (TStreamPool.Buffer out = TStreamPool.buffer(); BukkitObjectOutputStream output = new BukkitObjectOutputStream(out)) {
                 for (T object : objects) {
                     byte[] bytes = toBytes(object);
                     if (bytes != null) {
@@ -255,10 +338,183 @@ public class TStream<T> {
         return data;
     }
 
+    /**
+     * Convert list of objects into Base64 using frame format.
+     *
+     * @see TStreamFrame
+     *
+     * @param objects Objects to convert.
+     * @return        A Base64 String that represent provided list.
+     */
+    public String listToFrameBase64(List<T> objects) {
+        final byte[] bytes = listToFrame(objects);
+        return bytes == null ? "" : Base64.getEncoder().encodeToString(bytes);
+    }
+
+    /**
+     * Convert list of objects into compressed frame bytes.<br>
+     * Unlike {@link #listToBase64(List)}, the objects are not wrapped with Java
+     * serialization, every compound is length-prefixed and the full list is
+     * compressed at once.
+     *
+     * @see TStreamFrame
+     *
+     * @param objects Objects to convert.
+     * @return        A byte array that represent provided list.
+     */
+    public byte[] listToFrame(List<T> objects) {
+        return listToFrame(objects, true);
+    }
+
+    /**
+     * Convert list of objects into frame bytes.
+     *
+     * @see TStreamFrame
+     *
+     * @param objects  Objects to convert.
+     * @param compress True to compress the frame body.
+     * @return         A byte array that represent provided list.
+     */
+    public byte[] listToFrame(List<T> objects, boolean compress) {
+        return toFrame(objects, compress ? TStreamFrame.COMPRESSED : 0);
+    }
+
+    /**
+     * Convert collection of objects into bytes using a single compression pass.<br>
+     * Every object is converted into CompoundTag and written inside a compressed frame,
+     * so the compression is shared across every object instead of compressing
+     * each object independently.
+     *
+     * @see TStreamFrame
+     *
+     * @param objects Objects to convert.
+     * @return        A byte array that represent provided objects.
+     */
+    public byte[] toBytes(Collection<T> objects) {
+        return toBytes(objects, false);
+    }
+
+    /**
+     * Convert collection of objects into bytes using a single compression pass.<br>
+     * If the bytes are indexed, the offset of every object is written, so any
+     * object can be read with {@link #fromBytes(byte[], int)} without reading the others.
+     *
+     * @see TStreamFrame
+     *
+     * @param objects Objects to convert.
+     * @param indexed True to write the offset of every object.
+     * @return        A byte array that represent provided objects.
+     */
+    public byte[] toBytes(Collection<T> objects, boolean indexed) {
+        return toFrame(objects, indexed ? TStreamFrame.COMPRESSED | TStreamFrame.INDEXED : TStreamFrame.COMPRESSED);
+    }
+
+    private byte[] toFrame(Collection<T> objects, int flags) {
+        try {
+            return TStreamFrame.write(toCompounds(objects, false), flags);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private List<Object> toCompounds(Collection<T> objects, boolean detached) {
+        final List<Object> compounds = new ArrayList<>(objects.size());
+        for (T object : objects) {
+            // Null compounds are also written to keep the index of every object
+            compounds.add(object == null ? null : detached ? toDetachedCompound(object) : toCompound(object));
+        }
+        return compounds;
+    }
+
+    private Object toDetachedCompound(T object) {
+        final Object compound = toCompound(object);
+        // The provided object can be the live compound itself
+        if (compound != null && TagCompound.isTagCompound(object)) {
+            return TagCompound.clone(compound);
+        }
+        return compound;
+    }
+
+    /**
+     * Convert object into bytes asynchronously.<br>
+     * The object is converted into CompoundTag on the current thread, so it's
+     * safe to use with objects that must be accessed from main thread, then the
+     * compound is written and compressed using the current executor.<br>
+     * If the object is a CompoundTag itself, it's copied before being written,
+     * so it can be edited while the returned future is running.
+     *
+     * @see #toBytes(Object)
+     *
+     * @param object Object to convert.
+     * @return       A CompletableFuture that will be completed with the byte array that represent the object.
+     */
+    public CompletableFuture<byte[]> toBytesAsync(T object) {
+        final Object compound = toDetachedCompound(object);
+        if (compound == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return supplyAsync(() -> encode(compound));
+    }
+
+    /**
+     * Convert collection of objects into bytes asynchronously using a single compression pass.<br>
+     * See {@link #toBytesAsync(Object)} for more information.
+     *
+     * @see #toBytes(Collection)
+     *
+     * @param objects Objects to convert.
+     * @return        A CompletableFuture that will be completed with the byte array that represent provided objects.
+     */
+    public CompletableFuture<byte[]> toBytesAsync(Collection<T> objects) {
+        return toBytesAsync(objects, false);
+    }
+
+    /**
+     * Convert collection of objects into bytes asynchronously using a single compression pass.<br>
+     * See {@link #toBytesAsync(Object)} for more information.
+     *
+     * @see #toBytes(Collection, boolean)
+     *
+     * @param objects Objects to convert.
+     * @param indexed True to write the offset of every object.
+     * @return        A CompletableFuture that will be completed with the byte array that represent provided objects.
+     */
+    public CompletableFuture<byte[]> toBytesAsync(Collection<T> objects, boolean indexed) {
+        final List<Object> compounds = toCompounds(objects, true);
+        final int flags = indexed ? TStreamFrame.COMPRESSED | TStreamFrame.INDEXED : TStreamFrame.COMPRESSED;
+        return supplyAsync(() -> TStreamFrame.write(compounds, flags));
+    }
+
+    /**
+     * Convert list of objects into Base64 asynchronously using frame format.<br>
+     * See {@link #toBytesAsync(Object)} for more information.
+     *
+     * @see #listToFrameBase64(List)
+     *
+     * @param objects Objects to convert.
+     * @return        A CompletableFuture that will be completed with the Base64 String that represent provided list.
+     */
+    public CompletableFuture<String> listToFrameBase64Async(List<T> objects) {
+        final List<Object> compounds = toCompounds(objects, true);
+        return supplyAsync(() -> Base64.getEncoder().encodeToString(TStreamFrame.write(compounds, TStreamFrame.COMPRESSED)));
+    }
+
+    private <R> CompletableFuture<R> supplyAsync(Callable<R> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
     /**
      * Convert object into bytes.<br>
      * This method first convert provided object into CompoundTag,
-     * then write compound into ByteArrayOutputStream.<br>
+     * then write compound into ByteArrayOutputStream, compressed with
+     * the current dictionary if any, or GZIP otherwise.<br>
      * Object -&gt; CompoundTag -&gt; Bytes
      *
      * @param object Object to convert.
@@ -269,15 +525,27 @@ public class TStream<T> {
         if (compound == null) {
             return null;
         }
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            TStreamTools.write(compound, out);
-            return out.toByteArray();
+        try {
+            return encode(compound);
         } catch (IOException e) {
             e.printStackTrace();
             return null;
         }
     }
 
+    /**
+     * Write provided compound into bytes, compressed with the current
+     * dictionary if any, or GZIP otherwise.
+     *
+     * @param compound CompoundTag to write.
+     * @return         A byte array that represent the compound.
+     * @throws IOException if an I/O error occurs while writing.
+     */
+    protected byte[] encode(Object compound) throws IOException {
+        final TStreamDictionary dictionary = this.dictionary;
+        return dictionary != null ? dictionary.write(compound) : TStreamTools.toBytes(compound);
+    }
+
     /**
      * Get object by read provided Map of objects.
      *
@@ -378,6 +646,55 @@ public class TStream<T> {
         return list;
     }
 
+    /**
+     * Get array of objects by read byte array.<br>
+     * If the bytes were written by {@link #toBytes(Collection)} every object
+     * is placed at its written index, so null objects are kept.
+     *
+     * @param bytes     Bytes to read.
+     * @param generator A function which produces a new array of the desired type and the provided length.
+     * @return          An array of converted objects from any saved compound.
+     */
+    public T[] arrayFromBytes(byte[] bytes, IntFunction<T[]> generator) {
+        if (TStreamFrame.isFrameHeader(bytes)) {
+            try {
+                final Object[] compounds = TStreamFrame.readAll(bytes);
+                final T[] array = generator.apply(compounds.length);
+                for (int i = 0; i < compounds.length; i++) {
+                    array[i] = compounds[i] == null ? null : fromCompound(compounds[i]);
+                }
+                return array;
+            } catch (IOException e) {
+                e.printStackTrace();
+                return generator.apply(0);
+            }
+        }
+        return listFromBytes(bytes).toArray(generator.apply(0));
+    }
+
+    /**
+     * Get object at provided index from bytes.<br>
+     * If the bytes were written by {@link #toBytes(Collection)} only the object
+     * at index is converted, otherwise every object is read.
+     *
+     * @param bytes Bytes to read.
+     * @param index The object index.
+     * @return      A converted object, null if the index is out of range.
+     */
+    public T fromBytes(byte[] bytes, int index) {
+        if (TStreamFrame.isFrameHeader(bytes)) {
+            try {
+                final Object compound = TStreamFrame.read(bytes, index);
+                return compound == null ? null : fromCompound(compound);
+            } catch (IOException e) {
+                e.printStackTrace();
+                return null;
+            }
+        }
+        final List<T> list = listFromBytes(bytes);
+        return index >= 0 && index < list.size() ? list.get(index) : null;
+    }
+
     /**
      * Get object from bytes.<br>
      * This method first read the bytes with ByteArrayInputStream to
@@ -400,7 +717,7 @@ public class TStream<T> {
      * Consume new objects if it can be created from byte array.<br>
      * This method detect any CompoundTag inside provided bytes and convert into current
      * instance object using the detected compression format, it is also compatible with
-     * any saved object inside ByteArrayTag, ListTag and BukkitObjectInputStream.
+     * any saved object inside frame, dictionary compression, ByteArrayTag, ListTag and BukkitObjectInputStream.
      *
      * @param bytes    Byte array to read.
      * @param consumer The consumer that accept non-null objects.
@@ -410,12 +727,37 @@ public class TStream<T> {
             return;
         }
 
+        // Read every compound inside frame
+        if (TStreamFrame.isFrameHeader(bytes)) {
+            try {
+                TStreamFrame.read(bytes, compound -> fromCompound(compound, consumer));
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            return;
+        }
+
+        // Read compound compressed with dictionary
+        if (TStreamDictionary.isDictionaryHeader(bytes)) {
+            final Object nbt;
+            try {
+                nbt = TStreamDictionary.readTag(bytes);
+            } catch (IOException e) {
+                e.printStackTrace();
+                return;
+            }
+
+            if (nbt != null) {
+                fromBase(nbt, consumer);
+            }
+            return;
+        }
+
         // Detect NBT and parse with GZIP compression format if it's applicable
-        final Boolean gzip = TStreamTools.isGzipHeader(bytes) ? Boolean.TRUE : (TStreamTools.isNbtHeader(bytes) ? Boolean.FALSE : null);
-        if (gzip != null) {
+        if (TStreamTools.isGzipHeader(bytes) || TStreamTools.isNbtHeader(bytes)) {
             final Object nbt;
-            try (DataInputStream in = TStreamTools.getDataInput(new ByteArrayInputStream(bytes), gzip)) {
-                nbt = TStreamTools.read((DataInput) in);
+            try {
+                nbt = TStreamTools.read(bytes);
             } catch (IOException e) {
                 e.printStackTrace();
                 return;
@@ -0,0 +1,390 @@
+package com.saicone.rtag.stream;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Adler32;
+
+/**
+ * Class to compress tags using deflate with a preset dictionary.<br>
+ * Small tags like single items barely compress using GZIP, since every
+ * stream starts without any previous data, a preset dictionary trained from
+ * similar tags provides that data, so common keys and values are compressed
+ * from the first byte.<br>
+ * Every dictionary is identified by the Adler-32 checksum of its data, that is
+ * written in the header of compressed bytes, so the dictionary must be registered
+ * before reading them.
+ * <h2>Format</h2>
+ * <pre>
+ * magic   : 3 bytes, 'R' 'T' 'D'
+ * version : 1 byte
+ * id      : int, dictionary id
+ * body    : NBT data with unnamed root tag, deflated with dictionary
+ * </pre>
+ *
+ * @author Rubenicos
+ */
+public class TStreamDictionary {
+
+    /**
+     * Dictionary compression magic header.
+     */
+    public static final byte[] MAGIC = new byte[] { 'R', 'T', 'D' };
+    /**
+     * Current dictionary compression version.
+     */
+    public static final byte VERSION = 1;
+    /**
+     * Max size of deflate dictionary, any extra byte is ignored by deflate.
+     */
+    public static final int MAX_SIZE = 32 * 1024;
+
+    private static final int HEADER_SIZE = MAGIC.length + 5;
+    // Size of the sequences that are counted while training
+    private static final int WINDOW = 8;
+    private static final Map<Integer, TStreamDictionary> REGISTRY = new ConcurrentHashMap<>();
+
+    private final int id;
+    private final byte[] data;
+
+    /**
+     * Register the provided dictionary to be used when reading compressed bytes.
+     *
+     * @param dictionary the dictionary to register.
+     * @return           the provided dictionary.
+     * @throws IllegalArgumentException if other dictionary with the same id is already registered.
+     */
+    public static TStreamDictionary register(TStreamDictionary dictionary) {
+        final TStreamDictionary previous = REGISTRY.putIfAbsent(dictionary.getId(), dictionary);
+        if (previous != null && !Arrays.equals(previous.data, dictionary.data)) {
+            throw new IllegalArgumentException("Other dictionary with the id " + dictionary.getId() + " is already registered");
+        }
+        return dictionary;
+    }
+
+    /**
+     * Unregister the dictionary with provided id.
+     *
+     * @param id the dictionary id.
+     * @return   the removed dictionary, null if there's no dictionary with that id.
+     */
+    public static TStreamDictionary unregister(int id) {
+        return REGISTRY.remove(id);
+    }
+
+    /**
+     * Get the registered dictionary with provided id.
+     *
+     * @param id the dictionary id.
+     * @return   a dictionary, null if there's no dictionary with that id.
+     */
+    public static TStreamDictionary get(int id) {
+        return REGISTRY.get(id);
+    }
+
+    /**
+     * Check if the provided byte array has dictionary compression header.
+     *
+     * @param bytes The byte array to check.
+     * @return      true if it contains dictionary compression header.
+     */
+    public static boolean isDictionaryHeader(byte[] bytes) {
+        return bytes.length >= HEADER_SIZE && bytes[0] == MAGIC[0] && bytes[1] == MAGIC[1] && bytes[2] == MAGIC[2];
+    }
+
+    /**
+     * Read the dictionary id from provided compressed bytes.
+     *
+     * @param bytes The compressed bytes.
+     * @return      the dictionary id.
+     */
+    public static int getId(byte[] bytes) {
+        return ((bytes[4] & 0xFF) << 24) | ((bytes[5] & 0xFF) << 16) | ((bytes[6] & 0xFF) << 8) | (bytes[7] & 0xFF);
+    }
+
+    /**
+     * Read the tag from provided compressed bytes using the registered dictionary.
+     *
+     * @param bytes The compressed bytes.
+     * @return      A Tag instance.
+     * @throws IOException if the dictionary is not registered or the bytes are malformed.
+     */
+    public static Object readTag(byte[] bytes) throws IOException {
+        return of(bytes).read(bytes);
+    }
+
+    /**
+     * Get the registered dictionary used to compress provided bytes.
+     *
+     * @param bytes The compressed bytes.
+     * @return      a registered dictionary.
+     * @throws IOException if the bytes are not compressed with dictionary or the dictionary is not registered.
+     */
+    public static TStreamDictionary of(byte[] bytes) throws IOException {
+        if (!isDictionaryHeader(bytes)) {
+            throw new IOException("The provided bytes are not compressed with dictionary");
+        }
+        final int id = getId(bytes);
+        final TStreamDictionary dictionary = get(id);
+        if (dictionary == null) {
+            throw new IOException("The dictionary with id " + id + " is not registered");
+        }
+        return dictionary;
+    }
+
+    /**
+     * Train a dictionary from provided sample tags.
+     *
+     * @param tags    The sample tags, similar to the tags that will be compressed.
+     * @param maxSize The max size of dictionary.
+     * @return        A trained dictionary.
+     * @throws IOException if an I/O error occurs while writing the tags.
+     */
+    public static TStreamDictionary trainTags(Collection<Object> tags, int maxSize) throws IOException {
+        final List<byte[]> samples = new ArrayList<>(tags.size());
+        try (TStreamPool.Buffer out = TStreamPool.buffer()) {
+            final DataOutputStream output = new DataOutputStream(out);
+            for (Object tag : tags) {
+                out.reset();
+                TStreamTools.write(tag, (DataOutput) output);
+                samples.add(out.toByteArray());
+            }
+        }
+        return train(samples, maxSize);
+    }
+
+    /**
+     * Train a dictionary from provided uncompressed samples.<br>
+     * The dictionary is built by the byte sequences that appear in most samples,
+     * the most common sequences are placed at the end of dictionary since deflate
+     * encodes nearer matches with fewer bits.
+     *
+     * @param samples The uncompressed sample data.
+     * @param maxSize The max size of dictionary.
+     * @return        A trained dictionary.
+     */
+    public static TStreamDictionary train(Collection<byte[]> samples, int maxSize) {
+        maxSize = Math.min(maxSize, MAX_SIZE);
+        // Count the number of samples that contains every window
+        final Map<Long, Integer> frequency = new HashMap<>();
+        final Set<Long> seen = new HashSet<>();
+        for (byte[] sample : samples) {
+            seen.clear();
+            for (int i = 0; i + WINDOW <= sample.length; i++) {
+                final long window = window(sample, i);
+                if (seen.add(window)) {
+                    frequency.merge(window, 1, Integer::sum);
+                }
+            }
+        }
+        final int minCount = Math.max(2, samples.size() / 16);
+
+        // Join consecutive common windows into segments
+        final Map<Segment, Long> segments = new HashMap<>();
+        for (byte[] sample : samples) {
+            int start = -1;
+            long score = 0;
+            for (int i = 0; i + WINDOW <= sample.length + 1; i++) {
+                final int count = i + WINDOW <= sample.length ? frequency.getOrDefault(window(sample, i), 0) : 0;
+                if (count >= minCount) {
+                    if (start < 0) {
+                        start = i;
+                        score = 0;
+                    }
+                    score += count;
+                } else if (start >= 0) {
+                    final Segment segment = new Segment(Arrays.copyOfRange(sample, start, i + WINDOW - 1));
+                    segments.merge(segment, score, Math::max);
+                    start = -1;
+                }
+            }
+        }
+
+        // Sort by score and append until max size, most common segments at end
+        final List<Map.Entry<Segment, Long>> sorted = new ArrayList<>(segments.entrySet());
+        sorted.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+        final List<byte[]> selected = new ArrayList<>();
+        int size = 0;
+        for (Map.Entry<Segment, Long> entry : sorted) {
+            final byte[] bytes = entry.getKey().bytes;
+            if (size + bytes.length > maxSize) {
+                continue;
+            }
+            selected.add(bytes);
+            size += bytes.length;
+        }
+        final byte[] data = new byte[size];
+        int offset = size;
+        for (byte[] bytes : selected) {
+            offset -= bytes.length;
+            System.arraycopy(bytes, 0, data, offset, bytes.length);
+        }
+        return new TStreamDictionary(data);
+    }
+
+    private static long window(byte[] bytes, int offset) {
+        long window = 0;
+        for (int i = 0; i < WINDOW; i++) {
+            window = (window << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return window;
+    }
+
+    /**
+     * Constructs a dictionary with provided data.
+     *
+     * @param data The dictionary data.
+     */
+    public TStreamDictionary(byte[] data) {
+        if (data.length > MAX_SIZE) {
+            data = Arrays.copyOfRange(data, data.length - MAX_SIZE, data.length);
+        }
+        this.data = data;
+        final Adler32 checksum = new Adler32();
+        checksum.update(data);
+        this.id = (int) checksum.getValue();
+    }
+
+    /**
+     * Get the dictionary id.
+     *
+     * @return an Adler-32 checksum of dictionary data.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Get the dictionary data.
+     *
+     * @return a copy of dictionary data.
+     */
+    public byte[] getData() {
+        return data.clone();
+    }
+
+    /**
+     * Compress provided tag using this dictionary.
+     *
+     * @param tag The tag to compress.
+     * @return    A byte array that represent the compressed tag.
+     * @throws IOException if an I/O error occurs while writing.
+     */
+    public byte[] write(Object tag) throws IOException {
+        try (TStreamPool.Buffer raw = TStreamPool.buffer()) {
+            TStreamTools.write(tag, (DataOutput) new DataOutputStream(raw));
+            return compress(raw.array(), 0, raw.size());
+        }
+    }
+
+    /**
+     * Read the tag from provided bytes compressed with this dictionary.
+     *
+     * @param bytes The compressed bytes.
+     * @return      A Tag instance.
+     * @throws IOException if the bytes are malformed.
+     */
+    public Object read(byte[] bytes) throws IOException {
+        try (TStreamPool.Buffer raw = TStreamPool.buffer()) {
+            decompress(bytes, raw);
+            return TStreamTools.read((DataInput) new DataInputStream(raw.toInputStream()));
+        }
+    }
+
+    /**
+     * Compress provided uncompressed NBT data using this dictionary.
+     *
+     * @param bytes The uncompressed data.
+     * @return      A byte array with header and compressed data.
+     */
+    public byte[] compress(byte[] bytes) {
+        return compress(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Compress provided uncompressed NBT data using this dictionary.
+     *
+     * @param bytes  The uncompressed data.
+     * @param offset The start offset of data.
+     * @param length The data length.
+     * @return       A byte array with header and compressed data.
+     */
+    public byte[] compress(byte[] bytes, int offset, int length) {
+        try (TStreamPool.Buffer out = TStreamPool.buffer()) {
+            out.write(MAGIC, 0, MAGIC.length);
+            out.write(VERSION);
+            out.write(id >>> 24);
+            out.write(id >>> 16);
+            out.write(id >>> 8);
+            out.write(id);
+            TStreamPool.deflate(bytes, offset, length, data, out);
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Decompress provided bytes compressed with this dictionary.
+     *
+     * @param bytes The bytes with header and compressed data.
+     * @return      A byte array with uncompressed data.
+     * @throws IOException if the bytes are malformed or compressed with other dictionary.
+     */
+    public byte[] decompress(byte[] bytes) throws IOException {
+        try (TStreamPool.Buffer out = TStreamPool.buffer()) {
+            decompress(bytes, out);
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Decompress provided bytes compressed with this dictionary into buffer.
+     *
+     * @param bytes  The bytes with header and compressed data.
+     * @param output The buffer to write the uncompressed data.
+     * @throws IOException if the bytes are malformed or compressed with other dictionary.
+     */
+    public void decompress(byte[] bytes, TStreamPool.Buffer output) throws IOException {
+        if (!isDictionaryHeader(bytes)) {
+            throw new IOException("The provided bytes are not compressed with dictionary");
+        }
+        if (bytes[3] < 1 || bytes[3] > VERSION) {
+            throw new IOException("Unsupported dictionary compression version: " + bytes[3]);
+        }
+        if (getId(bytes) != id) {
+            throw new IOException("The provided bytes are compressed with other dictionary: " + getId(bytes));
+        }
+        TStreamPool.inflate(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE, data, output);
+    }
+
+    private static final class Segment {
+
+        private final byte[] bytes;
+        private final int hash;
+
+        private Segment(byte[] bytes) {
+            this.bytes = bytes;
+            this.hash = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Segment && Arrays.equals(bytes, ((Segment) o).bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
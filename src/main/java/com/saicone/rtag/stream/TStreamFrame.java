@@ -0,0 +1,289 @@
+package com.saicone.rtag.stream;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Class to write and read multiple tags into a single binary frame.<br>
+ * Instead of using Java serialization, every tag is written as uncompressed
+ * NBT data prefixed with its length, and the full body can be compressed
+ * at once, so the compression is shared across every tag.
+ * <h2>Format</h2>
+ * <pre>
+ * magic   : 3 bytes, 'R' 'T' 'F'
+ * version : 1 byte
+ * flags   : 1 byte, see {@link #COMPRESSED} and {@link #INDEXED}
+ * body    : (deflated if compressed)
+ *   count : int
+ *   index : int offset of every entry inside body, only if indexed
+ *   entry : int length, followed by NBT data with unnamed root tag (empty for null tags)
+ * </pre>
+ *
+ * @author Rubenicos
+ */
+public class TStreamFrame {
+
+    /**
+     * Frame magic header.
+     */
+    public static final byte[] MAGIC = new byte[] { 'R', 'T', 'F' };
+    /**
+     * Current frame version.
+     */
+    public static final byte VERSION = 1;
+    /**
+     * Flag to compress the frame body using deflate.
+     */
+    public static final int COMPRESSED = 0x01;
+    /**
+     * Flag to write the offset of every entry, so any entry can be read without walk the previous ones.
+     */
+    public static final int INDEXED = 0x02;
+
+    private static final int HEADER_SIZE = MAGIC.length + 2;
+
+    TStreamFrame() {
+    }
+
+    /**
+     * Check if the provided byte array has frame header.
+     *
+     * @param bytes The byte array to check.
+     * @return      true if it contains frame header.
+     */
+    public static boolean isFrameHeader(byte[] bytes) {
+        return bytes.length >= HEADER_SIZE && bytes[0] == MAGIC[0] && bytes[1] == MAGIC[1] && bytes[2] == MAGIC[2];
+    }
+
+    /**
+     * Write the provided tags into a compressed frame.
+     *
+     * @param tags The tags to write.
+     * @return     A byte array that represent the frame.
+     * @throws IOException if an I/O error occurs while writing.
+     */
+    public static byte[] write(List<Object> tags) throws IOException {
+        return write(tags, COMPRESSED);
+    }
+
+    /**
+     * Write the provided tags into a frame.<br>
+     * Null tags are written as empty entries to keep the index of every tag.
+     *
+     * @param tags  The tags to write.
+     * @param flags The frame flags.
+     * @return      A byte array that represent the frame.
+     * @throws IOException if an I/O error occurs while writing.
+     */
+    public static byte[] write(List<Object> tags, int flags) throws IOException {
+        try (TStreamPool.Buffer body = TStreamPool.buffer(); TStreamPool.Buffer frame = TStreamPool.buffer()) {
+            final DataOutputStream out = new DataOutputStream(body);
+            out.writeInt(tags.size());
+            final boolean indexed = (flags & INDEXED) != 0;
+            if (indexed) {
+                // Reserve index and write it along with entries
+                for (int i = 0; i < tags.size(); i++) {
+                    out.writeInt(0);
+                }
+            }
+            int index = 0;
+            for (Object tag : tags) {
+                // Reserve entry length and write it after the entry
+                final int position = body.size();
+                if (indexed) {
+                    putInt(body.array(), 4 + index++ * 4, position);
+                }
+                out.writeInt(0);
+                if (tag != null) {
+                    TStreamTools.write(tag, (DataOutput) out);
+                }
+                putInt(body.array(), position, body.size() - position - 4);
+            }
+
+            frame.write(MAGIC, 0, MAGIC.length);
+            frame.write(VERSION);
+            frame.write(flags);
+            if ((flags & COMPRESSED) != 0) {
+                TStreamPool.deflate(body.array(), 0, body.size(), null, frame);
+            } else {
+                frame.write(body.array(), 0, body.size());
+            }
+            return frame.toByteArray();
+        }
+    }
+
+    /**
+     * Read every tag inside the provided frame.
+     *
+     * @param bytes    The frame to read.
+     * @param consumer The consumer that accept every read tag.
+     * @throws IOException if the frame is malformed or an I/O error occurs while reading.
+     */
+    public static void read(byte[] bytes, Consumer<Object> consumer) throws IOException {
+        try (TStreamPool.Buffer buffer = TStreamPool.buffer()) {
+            final Body body = new Body(bytes, buffer);
+            int offset = body.entries;
+            for (int i = 0; i < body.count; i++) {
+                final Object tag = body.read(offset);
+                if (tag != null) {
+                    consumer.accept(tag);
+                }
+                offset += 4 + getInt(body.array, offset);
+            }
+        }
+    }
+
+    /**
+     * Read every entry inside the provided frame.<br>
+     * The returned array keeps the index of every entry, so null tags are also included.
+     *
+     * @param bytes The frame to read.
+     * @return      An array of Tag instances with the same size as frame count.
+     * @throws IOException if the frame is malformed or an I/O error occurs while reading.
+     */
+    public static Object[] readAll(byte[] bytes) throws IOException {
+        try (TStreamPool.Buffer buffer = TStreamPool.buffer()) {
+            final Body body = new Body(bytes, buffer);
+            final Object[] tags = new Object[body.count];
+            int offset = body.entries;
+            for (int i = 0; i < body.count; i++) {
+                tags[i] = body.read(offset);
+                offset += 4 + getInt(body.array, offset);
+            }
+            return tags;
+        }
+    }
+
+    /**
+     * Read the tag at provided index inside frame.<br>
+     * Any previous entry is skipped by length, or by offset if the frame is indexed,
+     * so only the requested tag is converted into Tag object.
+     *
+     * @param bytes The frame to read.
+     * @param index The entry index.
+     * @return      A Tag instance, null if the index is out of range.
+     * @throws IOException if the frame is malformed or an I/O error occurs while reading.
+     */
+    public static Object read(byte[] bytes, int index) throws IOException {
+        try (TStreamPool.Buffer buffer = TStreamPool.buffer()) {
+            final Body body = new Body(bytes, buffer);
+            if (index < 0 || index >= body.count) {
+                return null;
+            }
+            int offset;
+            if (body.indexed) {
+                offset = body.start + getInt(body.array, body.start + 4 + index * 4);
+            } else {
+                offset = body.entries;
+                for (int i = 0; i < index; i++) {
+                    offset += 4 + body.length(offset);
+                }
+            }
+            return body.read(offset);
+        }
+    }
+
+    /**
+     * Get the number of entries inside provided frame.
+     *
+     * @param bytes The frame to read.
+     * @return      The number of entries.
+     * @throws IOException if the frame is malformed.
+     */
+    public static int count(byte[] bytes) throws IOException {
+        checkHeader(bytes);
+        if ((bytes[4] & COMPRESSED) == 0) {
+            if (bytes.length < HEADER_SIZE + 4) {
+                throw new IOException("Unexpected end of frame");
+            }
+            return getInt(bytes, HEADER_SIZE);
+        }
+        try (TStreamPool.Buffer buffer = TStreamPool.buffer()) {
+            return new Body(bytes, buffer).count;
+        }
+    }
+
+    private static void checkHeader(byte[] bytes) throws IOException {
+        if (!isFrameHeader(bytes)) {
+            throw new IOException("The provided bytes are not a frame");
+        }
+        final int version = bytes[3];
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported frame version: " + version);
+        }
+        if ((bytes[4] & ~(COMPRESSED | INDEXED)) != 0) {
+            throw new IOException("Unsupported frame flags: " + bytes[4]);
+        }
+    }
+
+    private static int getInt(byte[] bytes, int pos) {
+        return ((bytes[pos] & 0xFF) << 24) | ((bytes[pos + 1] & 0xFF) << 16) | ((bytes[pos + 2] & 0xFF) << 8) | (bytes[pos + 3] & 0xFF);
+    }
+
+    private static void putInt(byte[] bytes, int pos, int value) {
+        bytes[pos] = (byte) (value >>> 24);
+        bytes[pos + 1] = (byte) (value >>> 16);
+        bytes[pos + 2] = (byte) (value >>> 8);
+        bytes[pos + 3] = (byte) value;
+    }
+
+    // Uncompressed frame body
+    private static final class Body {
+
+        private final byte[] array;
+        private final int start;
+        private final int end;
+        private final int count;
+        private final boolean indexed;
+        private final int entries;
+
+        private Body(byte[] bytes, TStreamPool.Buffer buffer) throws IOException {
+            checkHeader(bytes);
+            if ((bytes[4] & COMPRESSED) != 0) {
+                TStreamPool.inflate(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE, null, buffer);
+                this.array = buffer.array();
+                this.start = 0;
+                this.end = buffer.size();
+            } else {
+                this.array = bytes;
+                this.start = HEADER_SIZE;
+                this.end = bytes.length;
+            }
+            if (end - start < 4) {
+                throw new IOException("Unexpected end of frame");
+            }
+            this.count = getInt(array, start);
+            this.indexed = (bytes[4] & INDEXED) != 0;
+            final long entries = start + 4 + (indexed ? count * 4L : 0L);
+            if (count < 0 || entries > end) {
+                throw new IOException("Invalid frame entry count: " + count);
+            }
+            this.entries = (int) entries;
+        }
+
+        private int length(int offset) throws IOException {
+            if (offset < entries || end - offset < 4) {
+                throw new IOException("Unexpected end of frame");
+            }
+            final int length = getInt(array, offset);
+            if (length < 0 || length > end - offset - 4) {
+                throw new IOException("Invalid frame entry length: " + length);
+            }
+            return length;
+        }
+
+        private Object read(int offset) throws IOException {
+            final int length = length(offset);
+            if (length == 0) {
+                return null;
+            }
+            return TStreamTools.read((DataInput) new DataInputStream(new ByteArrayInputStream(array, offset + 4, length)));
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.saicone.rtag.stream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Class to reuse byte buffers, Deflaters and Inflaters across stream operations.<br>
+ * Every pooled object is thread-confined, so each thread keeps its own objects
+ * and no synchronization is required, the objects must be released by the same
+ * thread that acquired them.<br>
+ * Only JDK objects are kept by thread locals, buffers are pooled as plain byte arrays,
+ * so long-lived threads don't keep this library class loader alive after reloading it.<br>
+ * GZIP format is written and read manually to use pooled raw Deflaters and Inflaters
+ * instead of creating a new native instance on every GZIP stream.
+ *
+ * @author Rubenicos
+ */
+public class TStreamPool {
+
+    /**
+     * Max number of objects of each type that are kept by every thread.
+     */
+    public static final int MAX_POOLED = 4;
+    /**
+     * Max capacity of buffer that can be kept by pool, bigger buffers are discarded.
+     */
+    public static final int MAX_BUFFER_CAPACITY = 1024 * 1024;
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+    private static final byte[] GZIP_HEADER = new byte[] { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+
+    private static final ThreadLocal<ArrayDeque<byte[]>> BUFFERS = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<ArrayDeque<Deflater>> DEFLATERS = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<ArrayDeque<Inflater>> INFLATERS = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<CRC32> CRC = ThreadLocal.withInitial(CRC32::new);
+
+    TStreamPool() {
+    }
+
+    /**
+     * Acquire an empty buffer from the current thread pool.<br>
+     * The buffer is released by closing it.
+     *
+     * @return a Buffer instance.
+     */
+    public static Buffer buffer() {
+        final byte[] array = BUFFERS.get().pollFirst();
+        if (array == null) {
+            return new Buffer();
+        }
+        return new Buffer(array);
+    }
+
+    /**
+     * Acquire a Deflater that write raw deflate data from the current thread pool.
+     *
+     * @return a Deflater instance.
+     */
+    public static Deflater deflater() {
+        final Deflater deflater = DEFLATERS.get().pollFirst();
+        return deflater == null ? new Deflater(Deflater.DEFAULT_COMPRESSION, true) : deflater;
+    }
+
+    /**
+     * Reset and return the provided Deflater into the current thread pool.
+     *
+     * @param deflater the Deflater acquired by {@link #deflater()}.
+     */
+    public static void release(Deflater deflater) {
+        final ArrayDeque<Deflater> pool = DEFLATERS.get();
+        if (pool.size() < MAX_POOLED) {
+            deflater.reset();
+            pool.addFirst(deflater);
+        } else {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Acquire an Inflater that read raw deflate data from the current thread pool.
+     *
+     * @return an Inflater instance.
+     */
+    public static Inflater inflater() {
+        final Inflater inflater = INFLATERS.get().pollFirst();
+        return inflater == null ? new Inflater(true) : inflater;
+    }
+
+    /**
+     * Reset and return the provided Inflater into the current thread pool.
+     *
+     * @param inflater the Inflater acquired by {@link #inflater()}.
+     */
+    public static void release(Inflater inflater) {
+        final ArrayDeque<Inflater> pool = INFLATERS.get();
+        if (pool.size() < MAX_POOLED) {
+            inflater.reset();
+            pool.addFirst(inflater);
+        } else {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Compress the provided bytes with raw deflate format.
+     *
+     * @param input      The bytes to compress.
+     * @param offset     The start offset of bytes.
+     * @param length     The number of bytes to compress.
+     * @param dictionary The preset dictionary, null to compress without dictionary.
+     * @param output     The buffer to write the compressed bytes.
+     */
+    public static void deflate(byte[] input, int offset, int length, byte[] dictionary, Buffer output) {
+        final Deflater deflater = deflater();
+        try {
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary);
+            }
+            deflater.setInput(input, offset, length);
+            deflater.finish();
+            while (!deflater.finished()) {
+                output.ensureFree(Math.max(512, length / 4));
+                output.advance(deflater.deflate(output.array(), output.size(), output.free()));
+            }
+        } finally {
+            release(deflater);
+        }
+    }
+
+    /**
+     * Decompress the provided raw deflate bytes.
+     *
+     * @param input      The bytes to decompress.
+     * @param offset     The start offset of compressed data.
+     * @param length     The max number of bytes to read.
+     * @param dictionary The preset dictionary used to compress, null if there's no dictionary.
+     * @param output     The buffer to write the decompressed bytes.
+     * @return           The number of bytes that were not part of compressed data.
+     * @throws IOException if the compressed data is malformed.
+     */
+    public static int inflate(byte[] input, int offset, int length, byte[] dictionary, Buffer output) throws IOException {
+        final Inflater inflater = inflater();
+        try {
+            if (dictionary != null) {
+                inflater.setDictionary(dictionary);
+            }
+            inflater.setInput(input, offset, length);
+            while (!inflater.finished()) {
+                output.ensureFree(Math.max(512, length * 2));
+                final int count = inflater.inflate(output.array(), output.size(), output.free());
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Unexpected end of compressed data");
+                }
+                output.advance(count);
+            }
+            return inflater.getRemaining();
+        } catch (DataFormatException e) {
+            throw new IOException("Invalid compressed data", e);
+        } finally {
+            release(inflater);
+        }
+    }
+
+    /**
+     * Compress the provided bytes with GZIP format.
+     *
+     * @param input  The bytes to compress.
+     * @param offset The start offset of bytes.
+     * @param length The number of bytes to compress.
+     * @param output The buffer to write the compressed bytes.
+     */
+    public static void gzip(byte[] input, int offset, int length, Buffer output) {
+        output.write(GZIP_HEADER, 0, GZIP_HEADER.length);
+        deflate(input, offset, length, null, output);
+        final CRC32 crc = CRC.get();
+        crc.reset();
+        crc.update(input, offset, length);
+        writeIntLE(output, (int) crc.getValue());
+        writeIntLE(output, length);
+    }
+
+    /**
+     * Decompress the provided GZIP bytes, concatenated GZIP members are also supported.
+     *
+     * @param input  The bytes to decompress.
+     * @param output The buffer to write the decompressed bytes.
+     * @throws IOException if the bytes are not in GZIP format or the data is malformed.
+     */
+    public static void gunzip(byte[] input, Buffer output) throws IOException {
+        int pos = 0;
+        do {
+            pos = gunzip(input, pos, output);
+        } while (input.length - pos >= 18 && readShortLE(input, pos) == GZIP_MAGIC);
+    }
+
+    private static int gunzip(byte[] input, int pos, Buffer output) throws IOException {
+        if (input.length - pos < 18 || readShortLE(input, pos) != GZIP_MAGIC) {
+            throw new IOException("Not in GZIP format");
+        }
+        if (input[pos + 2] != Deflater.DEFLATED) {
+            throw new IOException("Unsupported compression method");
+        }
+        final int flags = input[pos + 3] & 0xff;
+        pos += 10;
+        try {
+            if ((flags & FEXTRA) != 0) {
+                pos += 2 + readShortLE(input, pos);
+            }
+            if ((flags & FNAME) != 0) {
+                while (input[pos++] != 0) ;
+            }
+            if ((flags & FCOMMENT) != 0) {
+                while (input[pos++] != 0) ;
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Unexpected end of GZIP header");
+        }
+        if ((flags & FHCRC) != 0) {
+            pos += 2;
+        }
+        if (pos > input.length) {
+            throw new IOException("Unexpected end of GZIP header");
+        }
+
+        final int start = output.size();
+        final int remaining = inflate(input, pos, input.length - pos, null, output);
+        pos = input.length - remaining;
+        if (remaining < 8) {
+            throw new IOException("Unexpected end of GZIP trailer");
+        }
+        final CRC32 crc = CRC.get();
+        crc.reset();
+        crc.update(output.array(), start, output.size() - start);
+        if (readIntLE(input, pos) != (int) crc.getValue()) {
+            throw new IOException("Corrupt GZIP trailer");
+        }
+        if (readIntLE(input, pos + 4) != output.size() - start) {
+            throw new IOException("Corrupt GZIP trailer");
+        }
+        return pos + 8;
+    }
+
+    private static void writeIntLE(Buffer output, int value) {
+        output.write(value);
+        output.write(value >>> 8);
+        output.write(value >>> 16);
+        output.write(value >>> 24);
+    }
+
+    private static int readShortLE(byte[] bytes, int pos) {
+        return (bytes[pos] & 0xff) | ((bytes[pos + 1] & 0xff) << 8);
+    }
+
+    private static int readIntLE(byte[] bytes, int pos) {
+        return readShortLE(bytes, pos) | (readShortLE(bytes, pos + 2) << 16);
+    }
+
+    /**
+     * Growable byte buffer that release its array into pool after close it.<br>
+     * Any data inside buffer must not be used after close it.
+     */
+    public static class Buffer extends ByteArrayOutputStream {
+
+        private static final byte[] EMPTY = new byte[0];
+
+        private boolean released;
+
+        /**
+         * Constructs an empty buffer.
+         */
+        public Buffer() {
+            super(8192);
+        }
+
+        private Buffer(byte[] array) {
+            super(0);
+            this.buf = array;
+        }
+
+        /**
+         * Get the internal array of this buffer, valid up to {@link #size()}.
+         *
+         * @return a byte array.
+         */
+        public byte[] array() {
+            return buf;
+        }
+
+        /**
+         * Get the number of bytes that can be written without grow the buffer.
+         *
+         * @return the free capacity of buffer.
+         */
+        public int free() {
+            return buf.length - count;
+        }
+
+        /**
+         * Make sure the buffer has at least the provided free capacity.
+         *
+         * @param free the required free capacity.
+         */
+        public void ensureFree(int free) {
+            if (buf.length - count < free) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, count + free));
+            }
+        }
+
+        void advance(int length) {
+            count += length;
+        }
+
+        /**
+         * Create an InputStream that read the current data of this buffer without copying it.
+         *
+         * @return a ByteArrayInputStream instance.
+         */
+        public ByteArrayInputStream toInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+
+        /**
+         * Release the array of this buffer into the current thread pool.
+         */
+        @Override
+        public void close() {
+            if (released) {
+                return;
+            }
+            released = true;
+            final byte[] array = buf;
+            // The array is no longer owned by this buffer
+            buf = EMPTY;
+            count = 0;
+            final ArrayDeque<byte[]> pool = BUFFERS.get();
+            if (array.length <= MAX_BUFFER_CAPACITY && pool.size() < MAX_POOLED) {
+                pool.addFirst(array);
+            }
+        }
+    }
+}
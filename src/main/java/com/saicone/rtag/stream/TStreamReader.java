@@ -0,0 +1,392 @@
+package com.saicone.rtag.stream;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Pure Java reader of binary NBT data.<br>
+ * Instead of creating a tag tree this class emit every value into
+ * a {@link TagVisitor}, the unwanted values are skipped by length
+ * without decoding them.
+ *
+ * @author Rubenicos
+ */
+public class TStreamReader {
+
+    /**
+     * The max depth that can be read, the same limit as Minecraft.
+     */
+    public static final int MAX_DEPTH = 512;
+
+    // Max array size allocated before reading its elements
+    private static final int CHUNK_SIZE = 8192;
+
+    TStreamReader() {
+    }
+
+    /**
+     * Read the unnamed root tag from DataInput and visit it.
+     *
+     * @param input   DataInput to read.
+     * @param visitor the visitor to consume tag values.
+     * @return        the root tag type, 0 if there's no tag.
+     * @throws IOException if an I/O error occurs or the data is malformed.
+     */
+    public static byte accept(DataInput input, TagVisitor visitor) throws IOException {
+        final byte type = readRoot(input);
+        if (type != 0) {
+            accept(input, type, visitor);
+        }
+        return type;
+    }
+
+    /**
+     * Read the root tag header from DataInput, this method also skips the root name.
+     *
+     * @param input DataInput to read.
+     * @return      the root tag type, 0 if there's no tag.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static byte readRoot(DataInput input) throws IOException {
+        final byte type = input.readByte();
+        if (type != 0) {
+            skipFully(input, input.readUnsignedShort());
+        }
+        return type;
+    }
+
+    /**
+     * Read the payload of provided tag type and visit it.
+     *
+     * @param input   DataInput to read.
+     * @param type    the tag type to read.
+     * @param visitor the visitor to consume tag values.
+     * @return        a visit result, {@link TagVisitor.Result#HALT} if the visitor stopped the operation.
+     * @throws IOException if an I/O error occurs or the data is malformed.
+     */
+    public static TagVisitor.Result accept(DataInput input, byte type, TagVisitor visitor) throws IOException {
+        return accept(input, type, visitor, 0);
+    }
+
+    private static TagVisitor.Result accept(DataInput input, byte type, TagVisitor visitor, int depth) throws IOException {
+        switch (type) {
+            case 1:
+                return visitor.visitByte(input.readByte());
+            case 2:
+                return visitor.visitShort(input.readShort());
+            case 3:
+                return visitor.visitInt(input.readInt());
+            case 4:
+                return visitor.visitLong(input.readLong());
+            case 5:
+                return visitor.visitFloat(input.readFloat());
+            case 6:
+                return visitor.visitDouble(input.readDouble());
+            case 7:
+                return visitor.visitByteArray(readByteArray(input));
+            case 8:
+                return visitor.visitString(input.readUTF());
+            case 9:
+                return acceptList(input, visitor, depth + 1);
+            case 10:
+                return acceptCompound(input, visitor, depth + 1);
+            case 11:
+                return visitor.visitIntArray(readIntArray(input));
+            case 12:
+                return visitor.visitLongArray(readLongArray(input));
+            default:
+                throw new IOException("Invalid tag type: " + type);
+        }
+    }
+
+    // The array grows while it's read, so a malformed length cannot allocate more than twice the available data
+    private static byte[] readByteArray(DataInput input) throws IOException {
+        final int length = readLength(input);
+        byte[] array = new byte[Math.min(length, CHUNK_SIZE)];
+        int read = 0;
+        while (read < length) {
+            if (read == array.length) {
+                array = Arrays.copyOf(array, (int) Math.min(length, array.length * 2L));
+            }
+            input.readFully(array, read, array.length - read);
+            read = array.length;
+        }
+        return array;
+    }
+
+    private static int[] readIntArray(DataInput input) throws IOException {
+        final int length = readLength(input);
+        int[] array = new int[Math.min(length, CHUNK_SIZE)];
+        for (int i = 0; i < length; i++) {
+            if (i == array.length) {
+                array = Arrays.copyOf(array, (int) Math.min(length, array.length * 2L));
+            }
+            array[i] = input.readInt();
+        }
+        return array;
+    }
+
+    private static long[] readLongArray(DataInput input) throws IOException {
+        final int length = readLength(input);
+        long[] array = new long[Math.min(length, CHUNK_SIZE)];
+        for (int i = 0; i < length; i++) {
+            if (i == array.length) {
+                array = Arrays.copyOf(array, (int) Math.min(length, array.length * 2L));
+            }
+            array[i] = input.readLong();
+        }
+        return array;
+    }
+
+    private static TagVisitor.Result acceptList(DataInput input, TagVisitor visitor, int depth) throws IOException {
+        checkDepth(depth);
+        final byte type = input.readByte();
+        final int size = readLength(input);
+        if (type == 0 && size > 0) {
+            throw new IOException("Missing type on ListTag");
+        }
+
+        switch (visitor.visitListStart(type, size)) {
+            case HALT:
+                return TagVisitor.Result.HALT;
+            case SKIP:
+                skipElements(input, type, size, depth);
+                return TagVisitor.Result.CONTINUE;
+            default:
+                break;
+        }
+
+        for (int i = 0; i < size; i++) {
+            final TagVisitor.Result result = visitor.visitElement(type, i);
+            if (result == TagVisitor.Result.HALT) {
+                return TagVisitor.Result.HALT;
+            } else if (result == TagVisitor.Result.SKIP) {
+                skip(input, type, depth);
+            } else if (result == TagVisitor.Result.BREAK) {
+                skipElements(input, type, size - i, depth);
+                break;
+            } else {
+                final TagVisitor.Result valueResult = accept(input, type, visitor, depth);
+                if (valueResult == TagVisitor.Result.HALT) {
+                    return TagVisitor.Result.HALT;
+                } else if (valueResult == TagVisitor.Result.BREAK) {
+                    skipElements(input, type, size - i - 1, depth);
+                    break;
+                }
+            }
+        }
+
+        return visitor.visitEnd();
+    }
+
+    private static TagVisitor.Result acceptCompound(DataInput input, TagVisitor visitor, int depth) throws IOException {
+        checkDepth(depth);
+        switch (visitor.visitCompoundStart()) {
+            case HALT:
+                return TagVisitor.Result.HALT;
+            case SKIP:
+                skipCompound(input, depth);
+                return TagVisitor.Result.CONTINUE;
+            default:
+                break;
+        }
+
+        byte type;
+        while ((type = input.readByte()) != 0) {
+            final String key = input.readUTF();
+            final TagVisitor.Result result = visitor.visitKey(type, key);
+            if (result == TagVisitor.Result.HALT) {
+                return TagVisitor.Result.HALT;
+            } else if (result == TagVisitor.Result.SKIP) {
+                skip(input, type, depth);
+            } else if (result == TagVisitor.Result.BREAK) {
+                skip(input, type, depth);
+                skipCompound(input, depth);
+                break;
+            } else {
+                final TagVisitor.Result valueResult = accept(input, type, visitor, depth);
+                if (valueResult == TagVisitor.Result.HALT) {
+                    return TagVisitor.Result.HALT;
+                } else if (valueResult == TagVisitor.Result.BREAK) {
+                    skipCompound(input, depth);
+                    break;
+                }
+            }
+        }
+
+        return visitor.visitEnd();
+    }
+
+    /**
+     * Seek the child value associated with provided key inside current compound or list payload.<br>
+     * If the child value is found, the DataInput is positioned at the start of its payload,
+     * every other value before it is skipped by length.<br>
+     * Following the Rtag path format, an Integer key is used as list index (negative index
+     * is counted from the end of list) and any other key is converted to String to get
+     * compound values.<br>
+     * Take in count heterogeneous list elements saved as compounds with a single empty key
+     * are not unwrapped, see {@link TStreamTools#read(DataInput, Object...)}.
+     *
+     * @param input DataInput to read.
+     * @param type  the current tag type.
+     * @param key   the key or index to seek.
+     * @return      the child value type, 0 if the value was not found.
+     * @throws IOException if an I/O error occurs or the data is malformed.
+     */
+    public static byte seek(DataInput input, byte type, Object key) throws IOException {
+        if (type == 10) {
+            final String name = String.valueOf(key);
+            byte entryType;
+            while ((entryType = input.readByte()) != 0) {
+                if (input.readUTF().equals(name)) {
+                    return entryType;
+                }
+                skip(input, entryType, 1);
+            }
+        } else if (type == 9 && key instanceof Integer) {
+            final byte elementType = input.readByte();
+            final int size = readLength(input);
+            final int index = (int) key >= 0 ? (int) key : size + (int) key;
+            if (index >= 0 && index < size) {
+                skipElements(input, elementType, index, 1);
+                return elementType;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Skip the payload of provided tag type.
+     *
+     * @param input DataInput to read.
+     * @param type  the tag type to skip.
+     * @throws IOException if an I/O error occurs or the data is malformed.
+     */
+    public static void skip(DataInput input, byte type) throws IOException {
+        skip(input, type, 0);
+    }
+
+    private static void skip(DataInput input, byte type, int depth) throws IOException {
+        switch (type) {
+            case 0:
+                break;
+            case 1:
+                skipFully(input, 1);
+                break;
+            case 2:
+                skipFully(input, 2);
+                break;
+            case 3:
+            case 5:
+                skipFully(input, 4);
+                break;
+            case 4:
+            case 6:
+                skipFully(input, 8);
+                break;
+            case 7:
+                skipFully(input, readLength(input));
+                break;
+            case 8:
+                skipFully(input, input.readUnsignedShort());
+                break;
+            case 9:
+                checkDepth(depth + 1);
+                final byte elementType = input.readByte();
+                skipElements(input, elementType, readLength(input), depth + 1);
+                break;
+            case 10:
+                checkDepth(depth + 1);
+                skipCompound(input, depth + 1);
+                break;
+            case 11:
+                skipFully(input, readLength(input) * 4L);
+                break;
+            case 12:
+                skipFully(input, readLength(input) * 8L);
+                break;
+            default:
+                throw new IOException("Invalid tag type: " + type);
+        }
+    }
+
+    private static void skipElements(DataInput input, byte type, int size, int depth) throws IOException {
+        if (size <= 0) {
+            return;
+        }
+        final int width = width(type);
+        if (width > 0) {
+            skipFully(input, (long) width * size);
+        } else {
+            for (int i = 0; i < size; i++) {
+                skip(input, type, depth);
+            }
+        }
+    }
+
+    private static void skipCompound(DataInput input, int depth) throws IOException {
+        byte type;
+        while ((type = input.readByte()) != 0) {
+            skipFully(input, input.readUnsignedShort());
+            skip(input, type, depth);
+        }
+    }
+
+    /**
+     * Get the fixed byte width of provided tag type.
+     *
+     * @param type the tag type.
+     * @return     the byte width, or 0 if the tag type doesn't have a fixed width.
+     */
+    public static int width(byte type) {
+        switch (type) {
+            case 1:
+                return 1;
+            case 2:
+                return 2;
+            case 3:
+            case 5:
+                return 4;
+            case 4:
+            case 6:
+                return 8;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Skip the provided amount of bytes from DataInput.
+     *
+     * @param input DataInput to read.
+     * @param bytes the amount of bytes to skip.
+     * @throws IOException if an I/O error occurs or the end of input is reached.
+     */
+    public static void skipFully(DataInput input, long bytes) throws IOException {
+        while (bytes > 0) {
+            final int skipped = input.skipBytes((int) Math.min(bytes, Integer.MAX_VALUE));
+            if (skipped > 0) {
+                bytes -= skipped;
+            } else {
+                // Force EOFException if the end of input is reached
+                input.readByte();
+                bytes--;
+            }
+        }
+    }
+
+    private static int readLength(DataInput input) throws IOException {
+        final int length = input.readInt();
+        if (length < 0) {
+            throw new IOException("Negative length: " + length);
+        }
+        return length;
+    }
+
+    private static void checkDepth(int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("Tried to read NBT tag with too high complexity, depth > " + MAX_DEPTH);
+        }
+    }
+}
@@ -1,17 +1,29 @@
 package com.saicone.rtag.stream;
 
+import com.saicone.rtag.Rtag;
+import com.saicone.rtag.RtagPath;
+import com.saicone.rtag.tag.TagBase;
+import com.saicone.rtag.tag.TagCompound;
+import com.saicone.rtag.tag.TagList;
 import com.saicone.rtag.util.MC;
+import com.saicone.rtag.util.ThrowableFunction;
 import com.saicone.rtag.util.reflect.Lookup;
 
 import java.io.*;
 import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
 import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 /**
- * Class to invoke NbtIo methods across versions.
+ * Class to invoke NbtIo methods across versions.<br>
+ * This class also provide methods to read and visit NBT data
+ * using {@link TStreamReader} without NbtIo.
  *
  * @author Rubenicos
  */
@@ -26,6 +38,7 @@ public class TStreamTools {
     // declare
     private static final boolean USE_FAST_STREAM = MC.version().isNewerThanOrEquals(MC.V_1_18);
     private static final boolean NETWORK_RECODE = MC.version().isNewerThanOrEquals(MC.V_1_20_2);
+    private static final boolean HETEROGENEOUS_LIST = MC.version().isNewerThanOrEquals(MC.V_1_21_5);
 
     private static final MethodHandle FastBufferedInputStream$new;
     static {
@@ -128,6 +141,28 @@ public class TStreamTools {
         return new DataInputStream(new BufferedInputStream(in));
     }
 
+    /**
+     * Get a data input to read the provided byte array.<br>
+     * If the bytes are GZIP formatted or compressed with a registered {@link TStreamDictionary},
+     * they are decompressed into provided buffer using a pooled Inflater.
+     *
+     * @param bytes  The byte array to read.
+     * @param buffer The buffer to write decompressed bytes.
+     * @return       A data input that read the NBT data.
+     * @throws IOException if the compressed data is malformed or the dictionary is not registered.
+     */
+    public static DataInput getDataInput(byte[] bytes, TStreamPool.Buffer buffer) throws IOException {
+        if (bytes.length >= 2 && isGzipHeader(bytes)) {
+            TStreamPool.gunzip(bytes, buffer);
+            return new DataInputStream(buffer.toInputStream());
+        }
+        if (TStreamDictionary.isDictionaryHeader(bytes)) {
+            TStreamDictionary.of(bytes).decompress(bytes, buffer);
+            return new DataInputStream(buffer.toInputStream());
+        }
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+
     /**
      * Check if the provided file is a GZIP file.
      *
@@ -219,21 +254,20 @@ public class TStreamTools {
      * @throws IOException if root object is not a nbt tag.
      */
     public static Object read(File file) throws IOException {
-        try (DataInputStream in = getDataInput(new FileInputStream(file), isGzipFormat(file))) {
-            return read((DataInput) in);
-        }
+        return read(Files.readAllBytes(file.toPath()));
     }
 
     /**
-     * Read Tag from byte array.
+     * Read Tag from byte array.<br>
+     * The bytes can be compressed with GZIP or a registered {@link TStreamDictionary}.
      *
      * @param bytes The byte array to read.
      * @return      A Tag instance.
      * @throws IOException if root object is not a nbt tag.
      */
     public static Object read(byte[] bytes) throws IOException {
-        try (DataInputStream in = getDataInput(new ByteArrayInputStream(bytes), bytes.length >= 2 && isGzipHeader(bytes))) {
-            return read((DataInput) in);
+        try (TStreamPool.Buffer buffer = TStreamPool.buffer()) {
+            return read(getDataInput(bytes, buffer));
         }
     }
 
@@ -283,6 +317,324 @@ public class TStreamTools {
         }
     }
 
+    /**
+     * Read a single Tag from byte array at the specified path.<br>
+     * Instead of reading the full NBT data, this method seeks the requested
+     * value by skipping any unrelated compound or list by length, so only
+     * the value at path is converted into Tag object.<br>
+     * See {@link Rtag#get(Object, Object...)} for path information.
+     *
+     * @param bytes The byte array to read.
+     * @param path  Value path to read.
+     * @return      A Tag instance, null if the path doesn't exist.
+     * @throws IOException if an I/O error occurs or the data is malformed.
+     */
+    public static Object read(byte[] bytes, Object... path) throws IOException {
+        try (TStreamPool.Buffer buffer = TStreamPool.buffer()) {
+            return read(getDataInput(bytes, buffer), path);
+        }
+    }
+
+    /**
+     * Read a single Tag from DataInput at the specified path.<br>
+     * See {@link #read(byte[], Object...)} for more information.
+     *
+     * @param input DataInput to read.
+     * @param path  Value path to read.
+     * @return      A Tag instance, null if the path doesn't exist.
+     * @throws IOException if an I/O error occurs or the data is malformed.
+     */
+    public static Object read(DataInput input, Object... path) throws IOException {
+        if (path.length == 1 && path[0] instanceof RtagPath) {
+            path = ((RtagPath) path[0]).toArray();
+        }
+        byte type = TStreamReader.readRoot(input);
+        boolean element = false;
+        for (int i = 0; i < path.length && type != 0; i++) {
+            final Object key = path[i];
+            if (key instanceof ThrowableFunction) {
+                // Functions are applied into Tag objects, so the remaining path is read from tag
+                return Rtag.INSTANCE.getExact(readValue(input, type, element), Arrays.copyOfRange(path, i, path.length));
+            }
+            if (element && type == 10 && HETEROGENEOUS_LIST) {
+                // Heterogeneous list element can be saved as compound with a single empty key
+                final byte entryType = input.readByte();
+                if (entryType == 0) {
+                    return null;
+                }
+                final String name = input.readUTF();
+                if (name.isEmpty()) {
+                    return Rtag.INSTANCE.getExact(readWrapped(input, entryType), Arrays.copyOfRange(path, i, path.length));
+                }
+                element = false;
+                if (name.equals(String.valueOf(key))) {
+                    type = entryType;
+                } else {
+                    TStreamReader.skip(input, entryType);
+                    type = TStreamReader.seek(input, type, key);
+                }
+                continue;
+            }
+            element = type == 9;
+            type = TStreamReader.seek(input, type, key);
+        }
+        if (type == 0) {
+            return null;
+        }
+        return readValue(input, type, element);
+    }
+
+    // Read the remaining compound after its first entry with empty key, unwrapping it if it's the only entry
+    private static Object readWrapped(DataInput input, byte type) throws IOException {
+        final Object value = readValue(input, type, false);
+        byte entryType = input.readByte();
+        if (entryType == 0) {
+            return value;
+        }
+        final Map<String, Object> map = new HashMap<>();
+        map.put("", value);
+        do {
+            final String key = input.readUTF();
+            map.put(key, readValue(input, entryType, false));
+        } while ((entryType = input.readByte()) != 0);
+        return TagCompound.newUncheckedTag(map);
+    }
+
+    private static Object readValue(DataInput input, byte type, boolean element) throws IOException {
+        final TagBuilder<Object> builder = TagBuilder.ofServer();
+        TStreamReader.accept(input, type, builder);
+        final Object tag = builder.build();
+        if (element && type == 10 && HETEROGENEOUS_LIST) {
+            // Unwrap heterogeneous list element
+            final Map<String, Object> map = TagCompound.getValue(tag);
+            if (map.size() == 1 && map.containsKey("")) {
+                return map.get("");
+            }
+        }
+        return tag;
+    }
+
+    /**
+     * Read NBT data from byte array and visit it without creating Tag objects.
+     *
+     * @see TStreamReader#accept(DataInput, TagVisitor)
+     *
+     * @param bytes   The byte array to read.
+     * @param visitor The visitor to consume tag values.
+     * @return        The root tag type, 0 if there's no tag.
+     * @throws IOException if an I/O error occurs or the data is malformed.
+     */
+    public static byte accept(byte[] bytes, TagVisitor visitor) throws IOException {
+        try (TStreamPool.Buffer buffer = TStreamPool.buffer()) {
+            return accept(getDataInput(bytes, buffer), visitor);
+        }
+    }
+
+    /**
+     * Read NBT data from InputStream and visit it without creating Tag objects.
+     *
+     * @see TStreamReader#accept(DataInput, TagVisitor)
+     *
+     * @param input   InputStream to read.
+     * @param visitor The visitor to consume tag values.
+     * @return        The root tag type, 0 if there's no tag.
+     * @throws IOException if an I/O error occurs or the data is malformed.
+     */
+    public static byte accept(InputStream input, TagVisitor visitor) throws IOException {
+        try (DataInputStream in = getDataInput(input)) {
+            return accept((DataInput) in, visitor);
+        }
+    }
+
+    /**
+     * Read NBT data from DataInput and visit it without creating Tag objects.
+     *
+     * @see TStreamReader#accept(DataInput, TagVisitor)
+     *
+     * @param input   DataInput to read.
+     * @param visitor The visitor to consume tag values.
+     * @return        The root tag type, 0 if there's no tag.
+     * @throws IOException if an I/O error occurs or the data is malformed.
+     */
+    public static byte accept(DataInput input, TagVisitor visitor) throws IOException {
+        return TStreamReader.accept(input, visitor);
+    }
+
+    /**
+     * Read Tag from byte array using a pure Java reader instead of NbtIo.<br>
+     * The result is the same as {@link #read(byte[])} but Tag objects
+     * are created directly from the stream.
+     *
+     * @param bytes The byte array to read.
+     * @return      A Tag instance, null if there's no tag.
+     * @throws IOException if an I/O error occurs or the data is malformed.
+     */
+    public static Object readStream(byte[] bytes) throws IOException {
+        final TagBuilder<Object> builder = TagBuilder.ofServer();
+        accept(bytes, builder);
+        return builder.build();
+    }
+
+    /**
+     * Visit the provided Tag object with the same event order as it was
+     * read from binary NBT data.<br>
+     * Since 1.21.5 lists with mixed element types are visited as compound
+     * lists with every element wrapped into a compound with empty key,
+     * like Minecraft does while writing them.
+     *
+     * @param tag     The tag to visit.
+     * @param visitor The visitor to consume tag values.
+     * @return        A visit result, {@link TagVisitor.Result#HALT} if the visitor stopped the operation.
+     */
+    public static TagVisitor.Result visit(Object tag, TagVisitor visitor) {
+        return visit(TagBase.getTypeId(tag), tag, visitor);
+    }
+
+    private static TagVisitor.Result visit(byte type, Object tag, TagVisitor visitor) {
+        switch (type) {
+            case 1:
+                return visitor.visitByte((byte) TagBase.getValue(tag));
+            case 2:
+                return visitor.visitShort((short) TagBase.getValue(tag));
+            case 3:
+                return visitor.visitInt((int) TagBase.getValue(tag));
+            case 4:
+                return visitor.visitLong((long) TagBase.getValue(tag));
+            case 5:
+                return visitor.visitFloat((float) TagBase.getValue(tag));
+            case 6:
+                return visitor.visitDouble((double) TagBase.getValue(tag));
+            case 7:
+                return visitor.visitByteArray((byte[]) TagBase.getValue(tag));
+            case 8:
+                return visitor.visitString((String) TagBase.getValue(tag));
+            case 9:
+                return visitList(tag, visitor);
+            case 10:
+                return visitCompound(TagCompound.getValue(tag), visitor);
+            case 11:
+                return visitor.visitIntArray((int[]) TagBase.getValue(tag));
+            case 12:
+                return visitor.visitLongArray((long[]) TagBase.getValue(tag));
+            default:
+                throw new IllegalArgumentException("Invalid tag type: " + type);
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private static TagVisitor.Result visitList(Object tag, TagVisitor visitor) {
+        final List<Object> list = TagList.getValue(tag);
+        byte type = 0;
+        boolean wrap = false;
+        if (HETEROGENEOUS_LIST) {
+            for (Object element : list) {
+                final byte elementType = TagBase.getTypeId(element);
+                if (type == 0) {
+                    type = elementType;
+                } else if (type != elementType) {
+                    type = 10;
+                    wrap = true;
+                    break;
+                }
+            }
+            if (type == 10) {
+                wrap = true;
+            }
+        } else {
+            type = TagList.getType(tag);
+        }
+
+        switch (visitor.visitListStart(type, list.size())) {
+            case HALT:
+                return TagVisitor.Result.HALT;
+            case SKIP:
+                return TagVisitor.Result.CONTINUE;
+            default:
+                break;
+        }
+
+        for (int i = 0; i < list.size(); i++) {
+            final TagVisitor.Result result = visitor.visitElement(type, i);
+            if (result == TagVisitor.Result.HALT) {
+                return TagVisitor.Result.HALT;
+            } else if (result == TagVisitor.Result.BREAK) {
+                break;
+            } else if (result != TagVisitor.Result.SKIP) {
+                final Object element = list.get(i);
+                final TagVisitor.Result valueResult;
+                if (wrap) {
+                    valueResult = visitWrapped(element, visitor);
+                } else {
+                    valueResult = visit(type, element, visitor);
+                }
+                if (valueResult == TagVisitor.Result.HALT) {
+                    return TagVisitor.Result.HALT;
+                } else if (valueResult == TagVisitor.Result.BREAK) {
+                    break;
+                }
+            }
+        }
+
+        return visitor.visitEnd();
+    }
+
+    private static TagVisitor.Result visitWrapped(Object element, TagVisitor visitor) {
+        final byte type = TagBase.getTypeId(element);
+        if (type == 10) {
+            final Map<String, Object> map = TagCompound.getValue(element);
+            if (map.size() != 1 || !map.containsKey("")) {
+                return visitCompound(map, visitor);
+            }
+        }
+        switch (visitor.visitCompoundStart()) {
+            case HALT:
+                return TagVisitor.Result.HALT;
+            case SKIP:
+                return TagVisitor.Result.CONTINUE;
+            default:
+                break;
+        }
+        final TagVisitor.Result result = visitor.visitKey(type, "");
+        if (result == TagVisitor.Result.HALT) {
+            return TagVisitor.Result.HALT;
+        } else if (result != TagVisitor.Result.SKIP && result != TagVisitor.Result.BREAK) {
+            if (visit(type, element, visitor) == TagVisitor.Result.HALT) {
+                return TagVisitor.Result.HALT;
+            }
+        }
+        return visitor.visitEnd();
+    }
+
+    private static TagVisitor.Result visitCompound(Map<String, Object> map, TagVisitor visitor) {
+        switch (visitor.visitCompoundStart()) {
+            case HALT:
+                return TagVisitor.Result.HALT;
+            case SKIP:
+                return TagVisitor.Result.CONTINUE;
+            default:
+                break;
+        }
+
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            final byte type = TagBase.getTypeId(entry.getValue());
+            final TagVisitor.Result result = visitor.visitKey(type, entry.getKey());
+            if (result == TagVisitor.Result.HALT) {
+                return TagVisitor.Result.HALT;
+            } else if (result == TagVisitor.Result.BREAK) {
+                break;
+            } else if (result != TagVisitor.Result.SKIP) {
+                final TagVisitor.Result valueResult = visit(type, entry.getValue(), visitor);
+                if (valueResult == TagVisitor.Result.HALT) {
+                    return TagVisitor.Result.HALT;
+                } else if (valueResult == TagVisitor.Result.BREAK) {
+                    break;
+                }
+            }
+        }
+
+        return visitor.visitEnd();
+    }
+
     /**
      * Write Tag to File.
      *
@@ -304,8 +656,30 @@ public class TStreamTools {
      * @throws IOException if an I/O error occurs while writing.
      */
     public static void write(Object tag, OutputStream output) throws IOException {
-        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(output)))) {
-            write(tag, (DataOutput) out);
+        try (OutputStream out = output; TStreamPool.Buffer buffer = TStreamPool.buffer()) {
+            gzip(tag, buffer);
+            buffer.writeTo(out);
+        }
+    }
+
+    /**
+     * Write Tag into GZIP formatted bytes.
+     *
+     * @param tag The tag to write.
+     * @return    A byte array that represent the tag.
+     * @throws IOException if an I/O error occurs while writing.
+     */
+    public static byte[] toBytes(Object tag) throws IOException {
+        try (TStreamPool.Buffer buffer = TStreamPool.buffer()) {
+            gzip(tag, buffer);
+            return buffer.toByteArray();
+        }
+    }
+
+    private static void gzip(Object tag, TStreamPool.Buffer output) throws IOException {
+        try (TStreamPool.Buffer raw = TStreamPool.buffer()) {
+            write(tag, (DataOutput) new DataOutputStream(raw));
+            TStreamPool.gzip(raw.array(), 0, raw.size(), output);
         }
     }
 
@@ -0,0 +1,240 @@
+package com.saicone.rtag.stream;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Pure Java writer of binary NBT data.<br>
+ * This class is a {@link TagVisitor} that encode every visited value into
+ * the same wire format used by Minecraft NbtIo, the first visited value
+ * is written as unnamed root tag.
+ *
+ * @author Rubenicos
+ */
+public class TStreamWriter implements TagVisitor {
+
+    private static final byte COMPOUND = 10;
+    private static final byte LIST = 9;
+
+    private final DataOutput output;
+
+    private byte[] containers = new byte[16];
+    private int depth = 0;
+    private boolean root = true;
+
+    /**
+     * Constructs a TStreamWriter that write into provided DataOutput.
+     *
+     * @param output DataOutput to write in.
+     */
+    public TStreamWriter(DataOutput output) {
+        this.output = output;
+    }
+
+    /**
+     * Get the output that is used by this writer.
+     *
+     * @return a DataOutput instance.
+     */
+    public DataOutput getOutput() {
+        return output;
+    }
+
+    /**
+     * Check if the writer has written the complete root tag.
+     *
+     * @return true if the root tag was completely written.
+     */
+    public boolean isComplete() {
+        return !root && depth == 0;
+    }
+
+    private void writeRoot(byte type) throws IOException {
+        if (root) {
+            root = false;
+            output.writeByte(type);
+            output.writeUTF("");
+        }
+    }
+
+    @Override
+    public Result visitByte(byte value) {
+        try {
+            writeRoot((byte) 1);
+            output.writeByte(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitShort(short value) {
+        try {
+            writeRoot((byte) 2);
+            output.writeShort(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitInt(int value) {
+        try {
+            writeRoot((byte) 3);
+            output.writeInt(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitLong(long value) {
+        try {
+            writeRoot((byte) 4);
+            output.writeLong(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitFloat(float value) {
+        try {
+            writeRoot((byte) 5);
+            output.writeFloat(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitDouble(double value) {
+        try {
+            writeRoot((byte) 6);
+            output.writeDouble(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitByteArray(byte[] value) {
+        try {
+            writeRoot((byte) 7);
+            output.writeInt(value.length);
+            output.write(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitString(String value) {
+        try {
+            writeRoot((byte) 8);
+            output.writeUTF(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitIntArray(int[] value) {
+        try {
+            writeRoot((byte) 11);
+            output.writeInt(value.length);
+            for (int i : value) {
+                output.writeInt(i);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitLongArray(long[] value) {
+        try {
+            writeRoot((byte) 12);
+            output.writeInt(value.length);
+            for (long l : value) {
+                output.writeLong(l);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitListStart(byte type, int size) {
+        try {
+            writeRoot(LIST);
+            push(LIST);
+            output.writeByte(size > 0 ? type : 0);
+            output.writeInt(size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitElement(byte type, int index) {
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitCompoundStart() {
+        try {
+            writeRoot(COMPOUND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        push(COMPOUND);
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitKey(byte type, String key) {
+        try {
+            output.writeByte(type);
+            output.writeUTF(key);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitEnd() {
+        if (depth < 1) {
+            throw new IllegalStateException("There's no compound or list to end");
+        }
+        if (containers[--depth] == COMPOUND) {
+            try {
+                output.writeByte(0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return Result.CONTINUE;
+    }
+
+    private void push(byte container) {
+        if (depth == containers.length) {
+            containers = Arrays.copyOf(containers, depth * 2);
+        }
+        containers[depth++] = container;
+    }
+}
@@ -0,0 +1,387 @@
+package com.saicone.rtag.stream;
+
+import com.saicone.rtag.tag.TagBase;
+import com.saicone.rtag.tag.TagCompound;
+import com.saicone.rtag.tag.TagList;
+import com.saicone.rtag.util.MC;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Abstract {@link TagVisitor} that build a tag tree from visited values.<br>
+ * The type of tag objects is defined by the implementation, so the same
+ * visit operation can create NMS tags or any other tag representation.
+ *
+ * @author Rubenicos
+ *
+ * @param <T> the tag object type.
+ */
+public abstract class TagBuilder<T> implements TagVisitor {
+
+    private Frame<T>[] frames = newFrames(8);
+    private int depth = 0;
+    private T result = null;
+
+    /**
+     * Create a TagBuilder that build NMS tags using current server version.
+     *
+     * @return a TagBuilder that create Tag objects.
+     */
+    public static TagBuilder<Object> ofServer() {
+        return new ServerBuilder();
+    }
+
+    /**
+     * Get the built tag object.
+     *
+     * @return a tag object, null if no value was visited.
+     */
+    public T build() {
+        return result;
+    }
+
+    /**
+     * Reset this builder to be used again.
+     */
+    public void reset() {
+        Arrays.fill(frames, 0, depth, null);
+        depth = 0;
+        result = null;
+    }
+
+    /**
+     * Check if this builder should unwrap the compounds that are used by
+     * heterogeneous lists to save elements with different types.<br>
+     * A wrapper compound is a compound with a single empty key.
+     *
+     * @return true if wrapper compounds inside compound lists should be unwrapped.
+     */
+    protected boolean isHeterogeneous() {
+        return false;
+    }
+
+    /**
+     * Create a ByteTag object.
+     *
+     * @param value the byte value.
+     * @return      a tag object.
+     */
+    protected abstract T newByte(byte value);
+
+    /**
+     * Create a ShortTag object.
+     *
+     * @param value the short value.
+     * @return      a tag object.
+     */
+    protected abstract T newShort(short value);
+
+    /**
+     * Create an IntTag object.
+     *
+     * @param value the int value.
+     * @return      a tag object.
+     */
+    protected abstract T newInt(int value);
+
+    /**
+     * Create a LongTag object.
+     *
+     * @param value the long value.
+     * @return      a tag object.
+     */
+    protected abstract T newLong(long value);
+
+    /**
+     * Create a FloatTag object.
+     *
+     * @param value the float value.
+     * @return      a tag object.
+     */
+    protected abstract T newFloat(float value);
+
+    /**
+     * Create a DoubleTag object.
+     *
+     * @param value the double value.
+     * @return      a tag object.
+     */
+    protected abstract T newDouble(double value);
+
+    /**
+     * Create a ByteArrayTag object.
+     *
+     * @param value the byte array.
+     * @return      a tag object.
+     */
+    protected abstract T newByteArray(byte[] value);
+
+    /**
+     * Create a StringTag object.
+     *
+     * @param value the string value.
+     * @return      a tag object.
+     */
+    protected abstract T newString(String value);
+
+    /**
+     * Create an IntArrayTag object.
+     *
+     * @param value the int array.
+     * @return      a tag object.
+     */
+    protected abstract T newIntArray(int[] value);
+
+    /**
+     * Create a LongArrayTag object.
+     *
+     * @param value the long array.
+     * @return      a tag object.
+     */
+    protected abstract T newLongArray(long[] value);
+
+    /**
+     * Create a ListTag object.
+     *
+     * @param type the type of elements inside list.
+     * @param list the list of tag objects, the builder doesn't use it after this method.
+     * @return     a tag object.
+     */
+    protected abstract T newList(byte type, List<T> list);
+
+    /**
+     * Create a CompoundTag object.
+     *
+     * @param map the map of tag objects, the builder doesn't use it after this method.
+     * @return    a tag object.
+     */
+    protected abstract T newCompound(Map<String, T> map);
+
+    private void put(T value) {
+        if (depth == 0) {
+            result = value;
+            return;
+        }
+        final Frame<T> frame = frames[depth - 1];
+        if (frame.list != null) {
+            frame.list.add(value);
+        } else {
+            frame.map.put(frame.key, value);
+        }
+    }
+
+    private void push(Frame<T> frame) {
+        if (depth == frames.length) {
+            frames = Arrays.copyOf(frames, depth * 2);
+        }
+        frames[depth++] = frame;
+    }
+
+    @Override
+    public Result visitByte(byte value) {
+        put(newByte(value));
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitShort(short value) {
+        put(newShort(value));
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitInt(int value) {
+        put(newInt(value));
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitLong(long value) {
+        put(newLong(value));
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitFloat(float value) {
+        put(newFloat(value));
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitDouble(double value) {
+        put(newDouble(value));
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitByteArray(byte[] value) {
+        put(newByteArray(value));
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitString(String value) {
+        put(newString(value));
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitIntArray(int[] value) {
+        put(newIntArray(value));
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitLongArray(long[] value) {
+        put(newLongArray(value));
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitListStart(byte type, int size) {
+        // The size can be read from untrusted data, so the initial capacity is limited
+        push(new Frame<>(type, new ArrayList<>(Math.min(size, 1024)), null));
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitElement(byte type, int index) {
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitCompoundStart() {
+        push(new Frame<>((byte) 10, null, new HashMap<>()));
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitKey(byte type, String key) {
+        frames[depth - 1].key = key;
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitEnd() {
+        if (depth < 1) {
+            throw new IllegalStateException("There's no compound or list to end");
+        }
+        final Frame<T> frame = frames[--depth];
+        frames[depth] = null;
+        if (frame.list != null) {
+            byte type = frame.type;
+            if (type == 10 && isHeterogeneous() && frame.wrapped) {
+                type = 0;
+            }
+            put(newList(type, frame.list));
+        } else {
+            if (depth > 0 && frame.map.size() == 1 && isHeterogeneous()) {
+                final Frame<T> parent = frames[depth - 1];
+                if (parent.list != null && parent.type == 10 && frame.map.containsKey("")) {
+                    // Unwrap heterogeneous list element
+                    parent.wrapped = true;
+                    parent.list.add(frame.map.get(""));
+                    return Result.CONTINUE;
+                }
+            }
+            put(newCompound(frame.map));
+        }
+        return Result.CONTINUE;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Frame<T>[] newFrames(int size) {
+        return (Frame<T>[]) new Frame<?>[size];
+    }
+
+    private static final class Frame<T> {
+        private final byte type;
+        private final List<T> list;
+        private final Map<String, T> map;
+        private String key;
+        private boolean wrapped;
+
+        Frame(byte type, List<T> list, Map<String, T> map) {
+            this.type = type;
+            this.list = list;
+            this.map = map;
+        }
+    }
+
+    private static final class ServerBuilder extends TagBuilder<Object> {
+
+        private static final boolean HETEROGENEOUS = MC.version().isNewerThanOrEquals(MC.V_1_21_5);
+
+        @Override
+        protected boolean isHeterogeneous() {
+            return HETEROGENEOUS;
+        }
+
+        @Override
+        protected Object newByte(byte value) {
+            return TagBase.newTag(value);
+        }
+
+        @Override
+        protected Object newShort(short value) {
+            return TagBase.newTag(value);
+        }
+
+        @Override
+        protected Object newInt(int value) {
+            return TagBase.newTag(value);
+        }
+
+        @Override
+        protected Object newLong(long value) {
+            return TagBase.newTag(value);
+        }
+
+        @Override
+        protected Object newFloat(float value) {
+            return TagBase.newTag(value);
+        }
+
+        @Override
+        protected Object newDouble(double value) {
+            return TagBase.newTag(value);
+        }
+
+        @Override
+        protected Object newByteArray(byte[] value) {
+            return TagBase.newTag(value);
+        }
+
+        @Override
+        protected Object newString(String value) {
+            return TagBase.newTag(value);
+        }
+
+        @Override
+        protected Object newIntArray(int[] value) {
+            return TagBase.newTag(value);
+        }
+
+        @Override
+        protected Object newLongArray(long[] value) {
+            return TagBase.newTag(value);
+        }
+
+        @Override
+        protected Object newList(byte type, List<Object> list) {
+            if (list.isEmpty()) {
+                return TagList.newTag();
+            }
+            return TagList.newUncheckedTag(list);
+        }
+
+        @Override
+        protected Object newCompound(Map<String, Object> map) {
+            return TagCompound.newUncheckedTag(map);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.saicone.rtag.stream;
+
+/**
+ * Event-driven visitor to consume NBT data without building a tag tree.<br>
+ * Every visit method return a {@link Result} that tells to the caller
+ * how to continue with the data that is being read.
+ * <h2>Event order</h2>
+ * A compound generates {@link #visitCompoundStart()}, then {@link #visitKey(byte, String)}
+ * followed by its value for every entry, and finally {@link #visitEnd()}.<br>
+ * A list generates {@link #visitListStart(byte, int)}, then {@link #visitElement(byte, int)}
+ * followed by its value for every element, and finally {@link #visitEnd()}.
+ *
+ * @author Rubenicos
+ */
+public interface TagVisitor {
+
+    /**
+     * Visit result that indicates how to continue.
+     */
+    enum Result {
+        /**
+         * Continue with the next value, or enter into the current value.
+         */
+        CONTINUE,
+        /**
+         * Skip the current value without visit it.
+         */
+        SKIP,
+        /**
+         * Skip the remaining values inside current compound or list.
+         */
+        BREAK,
+        /**
+         * Stop the full visit operation.
+         */
+        HALT
+    }
+
+    /**
+     * Visit a ByteTag value.
+     *
+     * @param value the byte value.
+     * @return      a visit result.
+     */
+    Result visitByte(byte value);
+
+    /**
+     * Visit a ShortTag value.
+     *
+     * @param value the short value.
+     * @return      a visit result.
+     */
+    Result visitShort(short value);
+
+    /**
+     * Visit an IntTag value.
+     *
+     * @param value the int value.
+     * @return      a visit result.
+     */
+    Result visitInt(int value);
+
+    /**
+     * Visit a LongTag value.
+     *
+     * @param value the long value.
+     * @return      a visit result.
+     */
+    Result visitLong(long value);
+
+    /**
+     * Visit a FloatTag value.
+     *
+     * @param value the float value.
+     * @return      a visit result.
+     */
+    Result visitFloat(float value);
+
+    /**
+     * Visit a DoubleTag value.
+     *
+     * @param value the double value.
+     * @return      a visit result.
+     */
+    Result visitDouble(double value);
+
+    /**
+     * Visit a ByteArrayTag value.
+     *
+     * @param value the byte array.
+     * @return      a visit result.
+     */
+    Result visitByteArray(byte[] value);
+
+    /**
+     * Visit a StringTag value.
+     *
+     * @param value the string value.
+     * @return      a visit result.
+     */
+    Result visitString(String value);
+
+    /**
+     * Visit an IntArrayTag value.
+     *
+     * @param value the int array.
+     * @return      a visit result.
+     */
+    Result visitIntArray(int[] value);
+
+    /**
+     * Visit a LongArrayTag value.
+     *
+     * @param value the long array.
+     * @return      a visit result.
+     */
+    Result visitLongArray(long[] value);
+
+    /**
+     * Visit the start of a ListTag.<br>
+     * Return {@link Result#SKIP} to skip the full list, in that case
+     * {@link #visitEnd()} will not be called.
+     *
+     * @param type the type of elements inside list.
+     * @param size the list size.
+     * @return     a visit result.
+     */
+    Result visitListStart(byte type, int size);
+
+    /**
+     * Visit the element at provided index of current list, the element value will be visited after this.
+     *
+     * @param type  the element type.
+     * @param index the element index.
+     * @return      {@link Result#SKIP} to skip the element value, {@link Result#BREAK} to skip
+     *              the remaining elements, or any other result.
+     */
+    Result visitElement(byte type, int index);
+
+    /**
+     * Visit the start of a CompoundTag.<br>
+     * Return {@link Result#SKIP} to skip the full compound, in that case
+     * {@link #visitEnd()} will not be called.
+     *
+     * @return a visit result.
+     */
+    Result visitCompoundStart();
+
+    /**
+     * Visit the key of current compound entry, the entry value will be visited after this.
+     *
+     * @param type the value type.
+     * @param key  the entry key.
+     * @return     {@link Result#SKIP} to skip the entry value, {@link Result#BREAK} to skip
+     *             the remaining entries, or any other result.
+     */
+    Result visitKey(byte type, String key);
+
+    /**
+     * Visit the end of current compound or list.
+     *
+     * @return a visit result.
+     */
+    Result visitEnd();
+}
@@ -21,10 +21,12 @@ public class TagBase {
     // import
     private static final Lookup.AClass<?> ByteTag = Lookup.SERVER.importClass("net.minecraft.nbt.ByteTag");
     private static final Lookup.AClass<?> ByteArrayTag = Lookup.SERVER.importClass("net.minecraft.nbt.ByteArrayTag");
+    private static final Lookup.AClass<?> CompoundTag = Lookup.SERVER.importClass("net.minecraft.nbt.CompoundTag");
     private static final Lookup.AClass<?> DoubleTag = Lookup.SERVER.importClass("net.minecraft.nbt.DoubleTag");
     private static final Lookup.AClass<?> FloatTag = Lookup.SERVER.importClass("net.minecraft.nbt.FloatTag");
     private static final Lookup.AClass<?> IntTag = Lookup.SERVER.importClass("net.minecraft.nbt.IntTag");
     private static final Lookup.AClass<?> IntArrayTag = Lookup.SERVER.importClass("net.minecraft.nbt.IntArrayTag");
+    private static final Lookup.AClass<?> ListTag = Lookup.SERVER.importClass("net.minecraft.nbt.ListTag");
     private static final Lookup.AClass<?> LongTag = Lookup.SERVER.importClass("net.minecraft.nbt.LongTag");
     private static final Lookup.AClass<?> LongArrayTag = Lookup.SERVER.importClass("net.minecraft.nbt.LongArrayTag");
     private static final Lookup.AClass<?> ShortTag = Lookup.SERVER.importClass("net.minecraft.nbt.ShortTag");
@@ -32,12 +34,12 @@ public class TagBase {
     private static final Lookup.AClass<?> Tag = Lookup.SERVER.importClass("net.minecraft.nbt.Tag");
 
     // declare
-    private static final MethodHandle ByteArrayTag$new = ByteArrayTag.constructor(byte[].class).handle();
-    private static final MethodHandle IntArrayTag$new = IntArrayTag.constructor(int[].class).handle();
+    private static final MethodHandle ByteArrayTag$new = Lookup.exact(ByteArrayTag.constructor(byte[].class).handle());
+    private static final MethodHandle IntArrayTag$new = Lookup.exact(IntArrayTag.constructor(int[].class).handle());
     private static final MethodHandle LongArrayTag$new;
     static {
         if (MC.version().isNewerThanOrEquals(MC.V_1_12)) {
-            LongArrayTag$new = LongArrayTag.constructor(long[].class).handle();
+            LongArrayTag$new = Lookup.exact(LongArrayTag.constructor(long[].class).handle());
         } else {
             LongArrayTag$new = null;
         }
@@ -53,32 +55,32 @@ public class TagBase {
     private static final MethodHandle StringTag_valueOf;
     static {
         if (MC.version().isNewerThanOrEquals(MC.V_1_15)) {
-            ByteTag_valueOf = ByteTag.method(Modifier.STATIC, ByteTag, "valueOf", byte.class).handle();
-            ByteTag_valueOf$boolean = ByteTag.method(Modifier.STATIC, ByteTag, "valueOf", boolean.class).handle();
-            DoubleTag_valueOf = DoubleTag.method(Modifier.STATIC, DoubleTag, "valueOf", double.class).handle();
-            FloatTag_valueOf = FloatTag.method(Modifier.STATIC, FloatTag, "valueOf", float.class).handle();
-            IntTag_valueOf = IntTag.method(Modifier.STATIC, IntTag, "valueOf", int.class).handle();
-            LongTag_valueOf = LongTag.method(Modifier.STATIC, LongTag, "valueOf", long.class).handle();
-            ShortTag_valueOf = ShortTag.method(Modifier.STATIC, ShortTag, "valueOf", short.class).handle();
-            StringTag_valueOf = StringTag.method(Modifier.STATIC, StringTag, "valueOf", String.class).handle();
+            ByteTag_valueOf = Lookup.exact(ByteTag.method(Modifier.STATIC, ByteTag, "valueOf", byte.class).handle());
+            ByteTag_valueOf$boolean = Lookup.exact(ByteTag.method(Modifier.STATIC, ByteTag, "valueOf", boolean.class).handle());
+            DoubleTag_valueOf = Lookup.exact(DoubleTag.method(Modifier.STATIC, DoubleTag, "valueOf", double.class).handle());
+            FloatTag_valueOf = Lookup.exact(FloatTag.method(Modifier.STATIC, FloatTag, "valueOf", float.class).handle());
+            IntTag_valueOf = Lookup.exact(IntTag.method(Modifier.STATIC, IntTag, "valueOf", int.class).handle());
+            LongTag_valueOf = Lookup.exact(LongTag.method(Modifier.STATIC, LongTag, "valueOf", long.class).handle());
+            ShortTag_valueOf = Lookup.exact(ShortTag.method(Modifier.STATIC, ShortTag, "valueOf", short.class).handle());
+            StringTag_valueOf = Lookup.exact(StringTag.method(Modifier.STATIC, StringTag, "valueOf", String.class).handle());
         } else {
-            ByteTag_valueOf = ByteTag.constructor(byte.class).handle();
+            ByteTag_valueOf = Lookup.exact(ByteTag.constructor(byte.class).handle());
             ByteTag_valueOf$boolean = null;
-            DoubleTag_valueOf = DoubleTag.constructor(double.class).handle();
-            FloatTag_valueOf = FloatTag.constructor(float.class).handle();
-            IntTag_valueOf = IntTag.constructor(int.class).handle();
-            LongTag_valueOf = LongTag.constructor(long.class).handle();
-            ShortTag_valueOf = ShortTag.constructor(short.class).handle();
-            StringTag_valueOf = StringTag.constructor(String.class).handle();
+            DoubleTag_valueOf = Lookup.exact(DoubleTag.constructor(double.class).handle());
+            FloatTag_valueOf = Lookup.exact(FloatTag.constructor(float.class).handle());
+            IntTag_valueOf = Lookup.exact(IntTag.constructor(int.class).handle());
+            LongTag_valueOf = Lookup.exact(LongTag.constructor(long.class).handle());
+            ShortTag_valueOf = Lookup.exact(ShortTag.constructor(short.class).handle());
+            StringTag_valueOf = Lookup.exact(StringTag.constructor(String.class).handle());
         }
     }
 
-    private static final MethodHandle ByteArrayTag$get_data = ByteArrayTag.field(byte[].class, "data").getter();
-    private static final MethodHandle IntArrayTag$get_data = IntArrayTag.field(int[].class, "data").getter();
+    private static final MethodHandle ByteArrayTag$get_data = Lookup.exact(ByteArrayTag.field(byte[].class, "data").getter());
+    private static final MethodHandle IntArrayTag$get_data = Lookup.exact(IntArrayTag.field(int[].class, "data").getter());
     private static final MethodHandle LongArrayTag$get_data;
     static {
         if (MC.version().isNewerThanOrEquals(MC.V_1_12)) {
-            LongArrayTag$get_data = LongArrayTag.field(long[].class, "data").getter();
+            LongArrayTag$get_data = Lookup.exact(LongArrayTag.field(long[].class, "data").getter());
         } else {
             LongArrayTag$get_data = null;
         }
@@ -93,26 +95,54 @@ public class TagBase {
     private static final MethodHandle StringTag$get_value;
     static {
         if (MC.version().isNewerThanOrEquals(MC.V_1_21_5)) {
-            ByteTag$get_value = ByteTag.field(byte.class, "value").getter();
-            DoubleTag$get_value = DoubleTag.field(double.class, "value").getter();
-            FloatTag$get_value = FloatTag.field(float.class, "value").getter();
-            IntTag$get_value = IntTag.field(int.class, "value").getter();
-            LongTag$get_value = LongTag.field(long.class, "value").getter();
-            ShortTag$get_value = ShortTag.field(short.class, "value").getter();
-            StringTag$get_value = StringTag.field(String.class, "value").getter();
+            ByteTag$get_value = Lookup.exact(ByteTag.field(byte.class, "value").getter());
+            DoubleTag$get_value = Lookup.exact(DoubleTag.field(double.class, "value").getter());
+            FloatTag$get_value = Lookup.exact(FloatTag.field(float.class, "value").getter());
+            IntTag$get_value = Lookup.exact(IntTag.field(int.class, "value").getter());
+            LongTag$get_value = Lookup.exact(LongTag.field(long.class, "value").getter());
+            ShortTag$get_value = Lookup.exact(ShortTag.field(short.class, "value").getter());
+            StringTag$get_value = Lookup.exact(StringTag.field(String.class, "value").getter());
         } else {
-            ByteTag$get_value = ByteTag.field(byte.class, "data").getter();
-            DoubleTag$get_value = DoubleTag.field(double.class, "data").getter();
-            FloatTag$get_value = FloatTag.field(float.class, "data").getter();
-            IntTag$get_value = IntTag.field(int.class, "data").getter();
-            LongTag$get_value = LongTag.field(long.class, "data").getter();
-            ShortTag$get_value = ShortTag.field(short.class, "data").getter();
-            StringTag$get_value = StringTag.field(String.class, "data").getter();
+            ByteTag$get_value = Lookup.exact(ByteTag.field(byte.class, "data").getter());
+            DoubleTag$get_value = Lookup.exact(DoubleTag.field(double.class, "data").getter());
+            FloatTag$get_value = Lookup.exact(FloatTag.field(float.class, "data").getter());
+            IntTag$get_value = Lookup.exact(IntTag.field(int.class, "data").getter());
+            LongTag$get_value = Lookup.exact(LongTag.field(long.class, "data").getter());
+            ShortTag$get_value = Lookup.exact(ShortTag.field(short.class, "data").getter());
+            StringTag$get_value = Lookup.exact(StringTag.field(String.class, "data").getter());
         }
     }
 
-    private static final MethodHandle Tag_getId = Tag.method(byte.class, "getId").handle();
-    private static final MethodHandle Tag_copy = Tag.method(Tag, "copy").handle();
+    private static final MethodHandle Tag_getId = Lookup.exact(Tag.method(byte.class, "getId").handle());
+    private static final MethodHandle Tag_copy = Lookup.exact(Tag.method(Tag, "copy").handle());
+
+    private static final Class<?>[] TAG_TYPES = new Class<?>[] {
+            null, // 0 is end, the tag type is taken from Tag#getId()
+            ByteTag.get(),
+            ShortTag.get(),
+            IntTag.get(),
+            LongTag.get(),
+            FloatTag.get(),
+            DoubleTag.get(),
+            ByteArrayTag.get(),
+            StringTag.get(),
+            ListTag.get(),
+            CompoundTag.get(),
+            IntArrayTag.get(),
+            MC.version().isNewerThanOrEquals(MC.V_1_12) ? LongArrayTag.get() : null
+    };
+    private static final ClassValue<Byte> TYPE_ID = new ClassValue<>() {
+        @Override
+        protected Byte computeValue(@NotNull Class<?> type) {
+            for (byte id = 1; id < TAG_TYPES.length; id++) {
+                if (TAG_TYPES[id] != null && TAG_TYPES[id].isAssignableFrom(type)) {
+                    return id;
+                }
+            }
+            // Unknown type, use Tag#getId()
+            return -1;
+        }
+    };
 
     TagBase() {
     }
@@ -132,40 +162,114 @@ public class TagBase {
     public static Object newTag(Object object) throws IllegalArgumentException {
         if (object == null) {
             return null;
-        } else if (object instanceof Byte) { // id 1
-            return Lookup.invoke(ByteTag_valueOf, object);
-        } else if (object instanceof Boolean) { // id 1
-            if (ByteTag_valueOf$boolean != null) {
-                return Lookup.invoke(ByteTag_valueOf$boolean, object);
-            } else {
-                return Lookup.invoke(ByteTag_valueOf, (Boolean) object ? (byte) 1 : (byte) 0);
-            }
-        } else if (object instanceof Short) { // id 2
-            return Lookup.invoke(ShortTag_valueOf, object);
-        } else if (object instanceof Integer) { // id 3
-            return Lookup.invoke(IntTag_valueOf, object);
-        } else if (object instanceof Long) { // id 4
-            return Lookup.invoke(LongTag_valueOf, object);
-        } else if (object instanceof Float) { // id 5
-            return Lookup.invoke(FloatTag_valueOf, object);
-        } else if (object instanceof Double) { // id 6
-            return Lookup.invoke(DoubleTag_valueOf, object);
-        } else if (object instanceof byte[]) { // id 7
-            return Lookup.invoke(ByteArrayTag$new, object);
-        } else if (object instanceof String) { // id 8
-            return Lookup.invoke(StringTag_valueOf, object);
         } else if (object instanceof List) { // id 9
             return TagList.newUncheckedTag((List<?>) object);
         } else if (object instanceof Map) { // id 10
             return TagCompound.newUncheckedTag((Map<String, Object>) object);
-        } else if (object instanceof int[]) { // id 11
-            return Lookup.invoke(IntArrayTag$new, object);
-        } else if (object instanceof long[]) { // id 12
-            return Lookup.invoke(LongArrayTag$new, object);
-        } else if (object instanceof UUID) { // id 8
-            return Lookup.invoke(StringTag_valueOf, object.toString());
-        } else {
-            throw new IllegalArgumentException("The object type " + object.getClass().getName() + " cannot be used to create a net.minecraft.nbt.Tag");
+        }
+        try {
+            if (object instanceof Byte) { // id 1
+                return ByteTag_valueOf.invokeExact((byte) object);
+            } else if (object instanceof Boolean) { // id 1
+                if (ByteTag_valueOf$boolean != null) {
+                    return ByteTag_valueOf$boolean.invokeExact((boolean) object);
+                } else {
+                    return ByteTag_valueOf.invokeExact((boolean) object ? (byte) 1 : (byte) 0);
+                }
+            } else if (object instanceof Short) { // id 2
+                return ShortTag_valueOf.invokeExact((short) object);
+            } else if (object instanceof Integer) { // id 3
+                return IntTag_valueOf.invokeExact((int) object);
+            } else if (object instanceof Long) { // id 4
+                return LongTag_valueOf.invokeExact((long) object);
+            } else if (object instanceof Float) { // id 5
+                return FloatTag_valueOf.invokeExact((float) object);
+            } else if (object instanceof Double) { // id 6
+                return DoubleTag_valueOf.invokeExact((double) object);
+            } else if (object instanceof byte[]) { // id 7
+                return ByteArrayTag$new.invokeExact(object);
+            } else if (object instanceof String) { // id 8
+                return StringTag_valueOf.invokeExact(object);
+            } else if (object instanceof int[]) { // id 11
+                return IntArrayTag$new.invokeExact(object);
+            } else if (object instanceof long[]) { // id 12
+                return LongArrayTag$new.invokeExact(object);
+            } else if (object instanceof UUID) { // id 8
+                return StringTag_valueOf.invokeExact((Object) object.toString());
+            }
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+        throw new IllegalArgumentException("The object type " + object.getClass().getName() + " cannot be used to create a net.minecraft.nbt.Tag");
+    }
+
+    // Typed constructors used by TagWriter to create tags without boxing
+
+    static Object newByte(byte value) {
+        try {
+            return ByteTag_valueOf.invokeExact(value);
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    static Object newBoolean(boolean value) {
+        try {
+            if (ByteTag_valueOf$boolean != null) {
+                return ByteTag_valueOf$boolean.invokeExact(value);
+            } else {
+                return ByteTag_valueOf.invokeExact(value ? (byte) 1 : (byte) 0);
+            }
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    static Object newShort(short value) {
+        try {
+            return ShortTag_valueOf.invokeExact(value);
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    static Object newInt(int value) {
+        try {
+            return IntTag_valueOf.invokeExact(value);
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    static Object newLong(long value) {
+        try {
+            return LongTag_valueOf.invokeExact(value);
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    static Object newFloat(float value) {
+        try {
+            return FloatTag_valueOf.invokeExact(value);
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    static Object newDouble(double value) {
+        try {
+            return DoubleTag_valueOf.invokeExact(value);
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    static Object newString(String value) {
+        try {
+            return StringTag_valueOf.invokeExact((Object) value);
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
         }
     }
 
@@ -227,7 +331,25 @@ public class TagBase {
      * @return    a Tag with the same value.
      */
     public static Object clone(Object tag) {
-        return Lookup.invoke(Tag_copy, tag);
+        try {
+            return Tag_copy.invokeExact(tag);
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    /**
+     * Intern the provided tag using the shared {@link TagInterner}.<br>
+     * Equal strings inside the tag are replaced by shared instances,
+     * compounds and lists are never shared.
+     *
+     * @see TagInterner#intern(Object)
+     *
+     * @param tag the Tag to intern.
+     * @return    the provided tag, or a shared instance if it's a string tag.
+     */
+    public static Object intern(Object tag) {
+        return TagInterner.INSTANCE.intern(tag);
     }
 
     /**
@@ -239,7 +361,15 @@ public class TagBase {
      * @return    An ID that represents the tag type.
      */
     public static byte getTypeId(Object tag) {
-        return Lookup.invoke(Tag_getId, tag);
+        final byte id = TYPE_ID.get(tag.getClass());
+        if (id > 0) {
+            return id;
+        }
+        try {
+            return (byte) Tag_getId.invokeExact(tag);
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
     }
 
     /**
@@ -287,36 +417,280 @@ public class TagBase {
     }
 
     private static Object getValue0(byte id, @NotNull Object tag) throws IllegalArgumentException {
+        if (id == 9) {
+            return TagList.getValue(tag);
+        } else if (id == 10) {
+            return TagCompound.getValue(tag);
+        }
+        try {
+            switch (id) {
+                case 0:
+                    return null;
+                case 1:
+                    return (byte) ByteTag$get_value.invokeExact(tag);
+                case 2:
+                    return (short) ShortTag$get_value.invokeExact(tag);
+                case 3:
+                    return (int) IntTag$get_value.invokeExact(tag);
+                case 4:
+                    return (long) LongTag$get_value.invokeExact(tag);
+                case 5:
+                    return (float) FloatTag$get_value.invokeExact(tag);
+                case 6:
+                    return (double) DoubleTag$get_value.invokeExact(tag);
+                case 7:
+                    return ByteArrayTag$get_data.invokeExact(tag);
+                case 8:
+                    return StringTag$get_value.invokeExact(tag);
+                case 11:
+                    return IntArrayTag$get_data.invokeExact(tag);
+                case 12:
+                    return LongArrayTag$get_data.invokeExact(tag);
+                default:
+                    break;
+            }
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+        throw new IllegalArgumentException("The object type " + tag.getClass().getName() + " is not supported by Tag class");
+    }
+
+    /**
+     * Get the byte value of numeric Tag without boxing.
+     *
+     * @param tag the Tag to extract value.
+     * @param def the default value to return if the tag is not a number.
+     * @return    a byte value.
+     */
+    public static byte getByte(Object tag, byte def) {
+        final byte id = tag == null ? 0 : getTypeId(tag);
+        if (id >= 1 && id <= 4) {
+            return (byte) getLong0(id, tag);
+        } else if (id == 5 || id == 6) {
+            return (byte) getDouble0(id, tag);
+        }
+        return def;
+    }
+
+    /**
+     * Get the boolean value of numeric Tag without boxing.<br>
+     * Any number different than 0 is considered as true.
+     *
+     * @param tag the Tag to extract value.
+     * @param def the default value to return if the tag is not a number.
+     * @return    a boolean value.
+     */
+    public static boolean getBoolean(Object tag, boolean def) {
+        final byte id = tag == null ? 0 : getTypeId(tag);
+        if (id >= 1 && id <= 4) {
+            return getLong0(id, tag) != 0;
+        } else if (id == 5 || id == 6) {
+            return getDouble0(id, tag) != 0;
+        }
+        return def;
+    }
+
+    /**
+     * Get the short value of numeric Tag without boxing.
+     *
+     * @param tag the Tag to extract value.
+     * @param def the default value to return if the tag is not a number.
+     * @return    a short value.
+     */
+    public static short getShort(Object tag, short def) {
+        final byte id = tag == null ? 0 : getTypeId(tag);
+        if (id >= 1 && id <= 4) {
+            return (short) getLong0(id, tag);
+        } else if (id == 5 || id == 6) {
+            return (short) getDouble0(id, tag);
+        }
+        return def;
+    }
+
+    /**
+     * Get the int value of numeric Tag without boxing.
+     *
+     * @param tag the Tag to extract value.
+     * @param def the default value to return if the tag is not a number.
+     * @return    an int value.
+     */
+    public static int getInt(Object tag, int def) {
+        final byte id = tag == null ? 0 : getTypeId(tag);
+        if (id >= 1 && id <= 4) {
+            return (int) getLong0(id, tag);
+        } else if (id == 5 || id == 6) {
+            return (int) getDouble0(id, tag);
+        }
+        return def;
+    }
+
+    /**
+     * Get the long value of numeric Tag without boxing.
+     *
+     * @param tag the Tag to extract value.
+     * @param def the default value to return if the tag is not a number.
+     * @return    a long value.
+     */
+    public static long getLong(Object tag, long def) {
+        final byte id = tag == null ? 0 : getTypeId(tag);
+        if (id >= 1 && id <= 4) {
+            return getLong0(id, tag);
+        } else if (id == 5 || id == 6) {
+            return (long) getDouble0(id, tag);
+        }
+        return def;
+    }
+
+    /**
+     * Get the float value of numeric Tag without boxing.
+     *
+     * @param tag the Tag to extract value.
+     * @param def the default value to return if the tag is not a number.
+     * @return    a float value.
+     */
+    public static float getFloat(Object tag, float def) {
+        final byte id = tag == null ? 0 : getTypeId(tag);
+        if (id >= 1 && id <= 4) {
+            return (float) getLong0(id, tag);
+        } else if (id == 5 || id == 6) {
+            return (float) getDouble0(id, tag);
+        }
+        return def;
+    }
+
+    /**
+     * Get the double value of numeric Tag without boxing.
+     *
+     * @param tag the Tag to extract value.
+     * @param def the default value to return if the tag is not a number.
+     * @return    a double value.
+     */
+    public static double getDouble(Object tag, double def) {
+        final byte id = tag == null ? 0 : getTypeId(tag);
+        if (id >= 1 && id <= 4) {
+            return (double) getLong0(id, tag);
+        } else if (id == 5 || id == 6) {
+            return getDouble0(id, tag);
+        }
+        return def;
+    }
+
+    private static long getLong0(byte id, @NotNull Object tag) {
+        try {
+            switch (id) {
+                case 1:
+                    return (byte) ByteTag$get_value.invokeExact(tag);
+                case 2:
+                    return (short) ShortTag$get_value.invokeExact(tag);
+                case 3:
+                    return (int) IntTag$get_value.invokeExact(tag);
+                default:
+                    return (long) LongTag$get_value.invokeExact(tag);
+            }
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    private static double getDouble0(byte id, @NotNull Object tag) {
+        try {
+            if (id == 5) {
+                return (float) FloatTag$get_value.invokeExact(tag);
+            } else {
+                return (double) DoubleTag$get_value.invokeExact(tag);
+            }
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    /**
+     * Get a 64-bit fingerprint of provided Tag, walking the full tag tree once.<br>
+     * The hash is computed using a fast non-cryptographic function, equal tags
+     * always produce the same hash and the order of CompoundTag entries is
+     * not taken in count.<br>
+     * Take in count this is not a replacement of {@link Object#equals(Object)},
+     * different tags can produce the same hash (but it's very unlikely).
+     *
+     * @param tag the Tag to hash.
+     * @return    a 64-bit hash, 0 if the tag is null.
+     */
+    public static long hash64(Object tag) {
+        if (tag == null) {
+            return 0L;
+        }
+        return hash64(getTypeId(tag), tag);
+    }
+
+    private static long hash64(byte id, @NotNull Object tag) {
+        long hash;
         switch (id) {
-            case 0:
-                return null;
             case 1:
-                return Lookup.invoke(ByteTag$get_value, tag);
             case 2:
-                return Lookup.invoke(ShortTag$get_value, tag);
             case 3:
-                return Lookup.invoke(IntTag$get_value, tag);
             case 4:
-                return Lookup.invoke(LongTag$get_value, tag);
+                hash = getLong0(id, tag);
+                break;
             case 5:
-                return Lookup.invoke(FloatTag$get_value, tag);
             case 6:
-                return Lookup.invoke(DoubleTag$get_value, tag);
+                final double value = getDouble0(id, tag);
+                // FloatTag and DoubleTag consider 0.0 and -0.0 equal
+                hash = Double.doubleToLongBits(value == 0.0 ? 0.0 : value);
+                break;
             case 7:
-                return Lookup.invoke(ByteArrayTag$get_data, tag);
+                hash = 0L;
+                for (byte b : (byte[]) getValue0(id, tag)) {
+                    hash = hash * 31L + b;
+                }
+                break;
             case 8:
-                return Lookup.invoke(StringTag$get_value, tag);
+                hash = hash64((String) getValue0(id, tag));
+                break;
             case 9:
-                return TagList.getValue(tag);
+                hash = 0L;
+                for (Object element : TagList.getValue(tag)) {
+                    hash = hash * 31L + hash64(element);
+                }
+                break;
             case 10:
-                return TagCompound.getValue(tag);
+                // Sum of entries, so the entry order doesn't matter
+                hash = 0L;
+                for (Map.Entry<String, Object> entry : TagCompound.getValue(tag).entrySet()) {
+                    hash += mix64(hash64(entry.getKey()) ^ Long.rotateLeft(hash64(entry.getValue()), 32));
+                }
+                break;
             case 11:
-                return Lookup.invoke(IntArrayTag$get_data, tag);
+                hash = 0L;
+                for (int i : (int[]) getValue0(id, tag)) {
+                    hash = hash * 31L + i;
+                }
+                break;
             case 12:
-                return Lookup.invoke(LongArrayTag$get_data, tag);
+                hash = 0L;
+                for (long l : (long[]) getValue0(id, tag)) {
+                    hash = hash * 31L + l;
+                }
+                break;
             default:
-                throw new IllegalArgumentException("The object type " + tag.getClass().getName() + " is not supported by Tag class");
+                hash = 0L;
+                break;
+        }
+        return mix64(hash + id * 0x9E3779B97F4A7C15L);
+    }
+
+    private static long hash64(String s) {
+        long hash = 0L;
+        for (int i = 0; i < s.length(); i++) {
+            hash = hash * 31L + s.charAt(i);
         }
+        return mix64(hash + s.length());
+    }
+
+    // SplitMix64 finalizer
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
     }
 
     /**
@@ -326,13 +700,17 @@ public class TagBase {
      * @return    size of map or list inside.
      */
     public static int size(Object tag) {
-        if (TagCompound.isTagCompound(tag)) {
-            return TagCompound.getValue(tag).size();
-        } else if (TagList.isTagList(tag)) {
-            return TagList.size(tag);
-        } else {
+        if (!isTag(tag)) {
             return -1;
         }
+        switch (getTypeId(tag)) {
+            case 9:
+                return TagList.size(tag);
+            case 10:
+                return TagCompound.getValue(tag).size();
+            default:
+                return -1;
+        }
     }
 
     /**
@@ -341,10 +719,18 @@ public class TagBase {
      * @param tag the Tag instance.
      */
     public static void clear(Object tag) {
-        if (TagCompound.isTagCompound(tag)) {
-            TagCompound.clear(tag);
-        } else if (TagList.isTagList(tag)) {
-            TagList.clear(tag);
+        if (!isTag(tag)) {
+            return;
+        }
+        switch (getTypeId(tag)) {
+            case 9:
+                TagList.clear(tag);
+                break;
+            case 10:
+                TagCompound.clear(tag);
+                break;
+            default:
+                break;
         }
     }
 }
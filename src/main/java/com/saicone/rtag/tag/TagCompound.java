@@ -3,7 +3,9 @@ package com.saicone.rtag.tag;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import com.saicone.rtag.RtagMirror;
+import com.saicone.rtag.stream.SnbtReader;
 import com.saicone.rtag.stream.TStream;
+import com.saicone.rtag.stream.TagBuilder;
 import com.saicone.rtag.util.MC;
 import com.saicone.rtag.util.OptionalType;
 import com.saicone.rtag.util.reflect.Lookup;
@@ -28,23 +30,23 @@ public class TagCompound {
     private static final Lookup.AClass<?> TagParser = Lookup.SERVER.importClass("net.minecraft.nbt.TagParser");
 
     // declare
-    private static final MethodHandle CompoundTag$new = CompoundTag.constructor().handle();
+    private static final MethodHandle CompoundTag$new = Lookup.exact(CompoundTag.constructor().handle());
     private static final MethodHandle CompoundTag$new_tags;
     static {
         if (MC.version().isNewerThanOrEquals(MC.V_1_15)) {
-            CompoundTag$new_tags = CompoundTag.constructor(Map.class).handle();
+            CompoundTag$new_tags = Lookup.exact(CompoundTag.constructor(Map.class).handle());
         } else {
             CompoundTag$new_tags = null;
         }
     }
-    private static final MethodHandle CompoundTag$get_tags = CompoundTag.field(Map.class, "tags").getter();
-    private static final MethodHandle CompoundTag$set_tags = CompoundTag.field(Map.class, "tags").setter();
+    private static final MethodHandle CompoundTag$get_tags = Lookup.exact(CompoundTag.field(Map.class, "tags").getter());
+    private static final MethodHandle CompoundTag$set_tags = Lookup.exact(CompoundTag.field(Map.class, "tags").setter());
     private static final MethodHandle CompoundTag_copy;
     static {
         if (MC.version().isNewerThanOrEquals(MC.V_1_10)) {
-            CompoundTag_copy = CompoundTag.method(CompoundTag, "copy").handle();
+            CompoundTag_copy = Lookup.exact(CompoundTag.method(CompoundTag, "copy").handle());
         } else {
-            CompoundTag_copy = CompoundTag.method(Tag, "copy").handle();
+            CompoundTag_copy = Lookup.exact(CompoundTag.method(Tag, "copy").handle());
         }
     }
 
@@ -57,6 +59,9 @@ public class TagCompound {
         }
     }
 
+    // Minecraft SNBT grammar was rewritten on 1.21.5
+    private static final boolean LEGACY_SNBT = MC.version().isOlderThan(MC.V_1_21_5);
+
     /**
      * Tag stream instance to save and get compounds.
      *
@@ -77,19 +82,27 @@ public class TagCompound {
      */
     public static Object newTag() {
         try {
-            return CompoundTag$new.invoke();
+            return CompoundTag$new.invokeExact();
         } catch (Throwable t) {
             throw new RuntimeException(t);
         }
     }
 
     /**
-     * Constructs an CompoundTag with provided NBT string.
+     * Constructs an CompoundTag with provided NBT string.<br>
+     * The string is parsed using {@link SnbtReader}, any syntax that
+     * is not supported by it is parsed again using Minecraft TagParser.
      *
      * @param snbt NBT String with data.
      * @return     New CompoundTag instance.
      */
     public static Object newTag(String snbt) {
+        try {
+            final Object tag = SnbtReader.read(snbt, TagBuilder.ofServer(), LEGACY_SNBT);
+            if (isTagCompound(tag)) {
+                return tag;
+            }
+        } catch (IllegalArgumentException ignored) { }
         try {
             return TagParser_parseCompoundFully.invoke(snbt);
         } catch (Throwable t) {
@@ -129,14 +142,14 @@ public class TagCompound {
     public static Object newUncheckedTag(Map<String, Object> map) {
         if (MC.version().isNewerThanOrEquals(MC.V_1_15)) {
             try {
-                return CompoundTag$new_tags.invoke(map);
+                return CompoundTag$new_tags.invokeExact((Object) map);
             } catch (Throwable t) {
                 throw new RuntimeException(t);
             }
         } else {
             final Object tag = newTag();
             try {
-                CompoundTag$set_tags.invoke(tag, map);
+                CompoundTag$set_tags.invokeExact(tag, (Object) map);
             } catch (ClassCastException e) {
                 getValue(tag).putAll(map);
             } catch (Throwable t) {
@@ -179,6 +192,17 @@ public class TagCompound {
             return newTag();
         }
 
+        if (mirror.isParallel(map.size())) {
+            final String[] keys = new String[map.size()];
+            final Object[] values = new Object[keys.length];
+            int i = 0;
+            for (var entry : map.entrySet()) {
+                keys[i] = entry.getKey();
+                values[i++] = entry.getValue();
+            }
+            return newUncheckedTag(toMap(keys, mirror.newTags(values)));
+        }
+
         final Map<String, Object> tags = new HashMap<>();
         for (var entry : map.entrySet()) {
             tags.put(entry.getKey(), mirror.newTag(entry.getValue()));
@@ -204,12 +228,28 @@ public class TagCompound {
      */
     public static Object clone(Object tag) {
         try {
-            return CompoundTag_copy.invoke(tag);
+            return CompoundTag_copy.invokeExact(tag);
         } catch (Throwable t) {
             throw new RuntimeException(t);
         }
     }
 
+    /**
+     * Copy provided CompoundTag into new one without copying its values.<br>
+     * The copy share the same value instances with the original CompoundTag,
+     * so any value must be copied before edit it.
+     *
+     * @param tag CompoundTag instance.
+     * @return    A shallow copy of original CompoundTag.
+     */
+    public static Object shallowClone(Object tag) {
+        final Map<String, Object> map = getValue(tag);
+        if (map.isEmpty()) {
+            return newTag();
+        }
+        return newUncheckedTag(new HashMap<>(map));
+    }
+
     /**
      * Copy provided CompoundTag into new one without exceptions.
      *
@@ -218,7 +258,7 @@ public class TagCompound {
      */
     public static Object safeClone(Object tag) {
         try {
-            return CompoundTag_copy.invoke(tag);
+            return CompoundTag_copy.invokeExact(tag);
         } catch (Throwable t) {
             t.printStackTrace();
             return null;
@@ -234,7 +274,8 @@ public class TagCompound {
     @SuppressWarnings("unchecked")
     public static Map<String, Object> getValue(Object tag) {
         try {
-            return (Map<String, Object>) CompoundTag$get_tags.invoke(tag);
+            final Object map = CompoundTag$get_tags.invokeExact(tag);
+            return (Map<String, Object>) map;
         } catch (Throwable t) {
             throw new RuntimeException(t);
         }
@@ -248,13 +289,32 @@ public class TagCompound {
      * @return       A Map of Objects.
      */
     public static Map<String, Object> getValue(RtagMirror mirror, Object tag) {
-        final Map<String, Object> map = new HashMap<>();
-        for (var entry : getValue(tag).entrySet()) {
+        final Map<String, Object> tags = getValue(tag);
+        if (mirror.isParallel(tags.size())) {
+            final String[] keys = new String[tags.size()];
+            final Object[] values = new Object[keys.length];
+            int i = 0;
+            for (var entry : tags.entrySet()) {
+                keys[i] = entry.getKey();
+                values[i++] = entry.getValue();
+            }
+            return toMap(keys, mirror.getTagValues(values));
+        }
+        final Map<String, Object> map = new HashMap<>((int) (tags.size() / 0.75f) + 1);
+        for (var entry : tags.entrySet()) {
             map.put(entry.getKey(), mirror.getTagValue(entry.getValue()));
         }
         return map;
     }
 
+    private static Map<String, Object> toMap(String[] keys, Object[] values) {
+        final Map<String, Object> map = new HashMap<>((int) (keys.length / 0.75f) + 1);
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], values[i]);
+        }
+        return map;
+    }
+
     /**
      * Get the provided CompoundTag as Json string.
      *
@@ -339,7 +399,7 @@ public class TagCompound {
             clear(tag);
         } else {
             try {
-                CompoundTag$set_tags.invoke(tag, map);
+                CompoundTag$set_tags.invokeExact(tag, (Object) map);
             } catch (Throwable t) {
                 throw new RuntimeException(t);
             }
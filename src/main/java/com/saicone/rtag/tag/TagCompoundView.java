@@ -0,0 +1,261 @@
+package com.saicone.rtag.tag;
+
+import com.saicone.rtag.RtagMirror;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Lazy Map view of CompoundTag.<br>
+ * Instead of converting the full tag into Java objects, the values
+ * are converted on access and cached until the tag value is replaced.
+ * Any CompoundTag or ListTag value is also returned as lazy view, unless
+ * it can be deserialized into custom object by the current mirror.<br>
+ * If the view is write-through, any change is converted into tag and
+ * saved directly into CompoundTag, otherwise the view is read-only.
+ *
+ * @author Rubenicos
+ */
+public class TagCompoundView extends AbstractMap<String, Object> {
+
+    private final RtagMirror mirror;
+    private final Object tag;
+    private final Map<String, Object> tags;
+    private final boolean writeThrough;
+    // Converted values associated with their tag instance
+    private final Map<Object, Object> cache = new IdentityHashMap<>();
+
+    private transient Set<Entry<String, Object>> entrySet;
+
+    /**
+     * Constructs a read-only view of provided CompoundTag.
+     *
+     * @param mirror RtagMirror to convert tags.
+     * @param tag    CompoundTag instance.
+     */
+    public TagCompoundView(RtagMirror mirror, Object tag) {
+        this(mirror, tag, false);
+    }
+
+    /**
+     * Constructs a view of provided CompoundTag.
+     *
+     * @param mirror       RtagMirror to convert tags.
+     * @param tag          CompoundTag instance.
+     * @param writeThrough true to save any change into CompoundTag.
+     */
+    public TagCompoundView(RtagMirror mirror, Object tag, boolean writeThrough) {
+        this.mirror = mirror;
+        this.tag = tag;
+        this.tags = TagCompound.getValue(tag);
+        this.writeThrough = writeThrough;
+    }
+
+    static Object viewOf(RtagMirror mirror, Object tag, boolean writeThrough) {
+        if (tag == null) {
+            return null;
+        }
+        switch (TagBase.getTypeId(tag)) {
+            case 9:
+                return new TagListView(mirror, tag, writeThrough);
+            case 10:
+                // Custom objects must be deserialized by mirror
+                if (TagCompound.hasKey(tag, "rtag==")) {
+                    return mirror.getTagValue(tag);
+                }
+                return new TagCompoundView(mirror, tag, writeThrough);
+            default:
+                return mirror.getTagValue(tag);
+        }
+    }
+
+    /**
+     * Get the CompoundTag of this view.
+     *
+     * @return a CompoundTag instance.
+     */
+    public Object getTag() {
+        return tag;
+    }
+
+    /**
+     * Check if this view save the changes into CompoundTag.
+     *
+     * @return true if the view is write-through.
+     */
+    public boolean isWriteThrough() {
+        return writeThrough;
+    }
+
+    Object convert(Object value) {
+        if (value == null) {
+            return null;
+        }
+        Object converted = cache.get(value);
+        if (converted == null && !cache.containsKey(value)) {
+            converted = viewOf(mirror, value, writeThrough);
+            cache.put(value, converted);
+        }
+        return converted;
+    }
+
+    private void checkWritable() {
+        if (!writeThrough) {
+            throw new UnsupportedOperationException("The view is read-only");
+        }
+    }
+
+    @Override
+    public int size() {
+        return tags.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return tags.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return tags.containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return convert(tags.get(key));
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        checkWritable();
+        final Object valueTag = mirror.newTag(value);
+        if (valueTag == null) {
+            return remove(key);
+        }
+        final Object previous = tags.put(key, valueTag);
+        if (previous == null) {
+            return null;
+        }
+        final Object converted = convert(previous);
+        cache.remove(previous);
+        return converted;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        checkWritable();
+        final Object previous = tags.remove(key);
+        if (previous == null) {
+            return null;
+        }
+        final Object converted = convert(previous);
+        cache.remove(previous);
+        return converted;
+    }
+
+    @Override
+    public void clear() {
+        checkWritable();
+        tags.clear();
+        cache.clear();
+    }
+
+    @NotNull
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, Object>> {
+
+        @NotNull
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+            final Iterator<Entry<String, Object>> iterator = tags.entrySet().iterator();
+            return new Iterator<>() {
+                private Entry<String, Object> last;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Entry<String, Object> next() {
+                    last = iterator.next();
+                    return new ViewEntry(last);
+                }
+
+                @Override
+                public void remove() {
+                    checkWritable();
+                    iterator.remove();
+                    cache.remove(last.getValue());
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return tags.size();
+        }
+    }
+
+    private final class ViewEntry implements Entry<String, Object> {
+
+        private final Entry<String, Object> entry;
+
+        private ViewEntry(Entry<String, Object> entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public String getKey() {
+            return entry.getKey();
+        }
+
+        @Override
+        public Object getValue() {
+            return convert(entry.getValue());
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            checkWritable();
+            final Object valueTag = mirror.newTag(value);
+            if (valueTag == null) {
+                throw new NullPointerException("Cannot set null value into CompoundTag entry");
+            }
+            final Object previous = entry.setValue(valueTag);
+            final Object converted = convert(previous);
+            cache.remove(previous);
+            return converted;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) return false;
+            final Entry<?, ?> e = (Entry<?, ?>) o;
+            return getKey().equals(e.getKey()) && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package com.saicone.rtag.tag;
+
+import com.saicone.rtag.Rtag;
+import com.saicone.rtag.RtagPath;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Class to compute and apply structural differences between tags.<br>
+ * A TagDiff is an ordered list of entries, every entry set, remove or insert
+ * a tag at specified path, so applying the entries in order into the original
+ * tag produce a tag equal to the target one.<br>
+ * Compound values are compared by key and list elements by index, any equal
+ * element at the start or end of lists is not included in the diff.
+ *
+ * @author Rubenicos
+ */
+public class TagDiff {
+
+    /**
+     * Empty TagDiff instance.
+     */
+    public static final TagDiff EMPTY = new TagDiff(List.of());
+
+    private final List<Entry> entries;
+
+    /**
+     * Compute the differences between two CompoundTag or ListTag objects.
+     *
+     * @param from the original tag.
+     * @param to   the target tag.
+     * @return     a TagDiff with the entries required to convert the original tag into target tag.
+     * @throws IllegalArgumentException if the tags are not both CompoundTag or both ListTag.
+     */
+    public static TagDiff of(Object from, Object to) throws IllegalArgumentException {
+        final byte type = TagBase.getTypeId(from);
+        if (type != TagBase.getTypeId(to) || (type != 9 && type != 10)) {
+            throw new IllegalArgumentException("Cannot compute diff between tags with type " + type + " and " + TagBase.getTypeId(to));
+        }
+        final List<Entry> entries = new ArrayList<>();
+        final List<Object> path = new ArrayList<>();
+        if (type == 10) {
+            diffCompound(entries, path, from, to);
+        } else {
+            diffList(entries, path, from, to);
+        }
+        return entries.isEmpty() ? EMPTY : new TagDiff(entries);
+    }
+
+    private static void diffCompound(List<Entry> entries, List<Object> path, Object from, Object to) {
+        final Map<String, Object> fromMap = TagCompound.getValue(from);
+        final Map<String, Object> toMap = TagCompound.getValue(to);
+        for (String key : fromMap.keySet()) {
+            if (!toMap.containsKey(key)) {
+                entries.add(new Entry(Type.REMOVE, path(path, key), null));
+            }
+        }
+        for (Map.Entry<String, Object> entry : toMap.entrySet()) {
+            final Object fromValue = fromMap.get(entry.getKey());
+            if (fromValue == null) {
+                entries.add(new Entry(Type.SET, path(path, entry.getKey()), entry.getValue()));
+            } else {
+                path.add(entry.getKey());
+                diffValue(entries, path, fromValue, entry.getValue());
+                path.remove(path.size() - 1);
+            }
+        }
+    }
+
+    private static void diffList(List<Entry> entries, List<Object> path, Object from, Object to) {
+        final List<Object> fromList = TagList.getValue(from);
+        final List<Object> toList = TagList.getValue(to);
+        if (fromList.isEmpty() || toList.isEmpty() || TagBase.getTypeId(fromList.get(0)) != TagBase.getTypeId(toList.get(0))) {
+            if (path.isEmpty()) {
+                // Root tag cannot be replaced, so every element is removed and inserted again
+                for (int i = 0; i < fromList.size(); i++) {
+                    entries.add(new Entry(Type.REMOVE, path(path, 0), null));
+                }
+                for (int i = 0; i < toList.size(); i++) {
+                    entries.add(new Entry(Type.INSERT, path(path, i), toList.get(i)));
+                }
+            } else {
+                entries.add(new Entry(Type.SET, RtagPath.of(path.toArray()), to));
+            }
+            return;
+        }
+
+        // Skip equal elements at the start and end of lists
+        int start = 0;
+        final int limit = Math.min(fromList.size(), toList.size());
+        while (start < limit && Objects.equals(fromList.get(start), toList.get(start))) {
+            start++;
+        }
+        int fromEnd = fromList.size();
+        int toEnd = toList.size();
+        while (fromEnd > start && toEnd > start && Objects.equals(fromList.get(fromEnd - 1), toList.get(toEnd - 1))) {
+            fromEnd--;
+            toEnd--;
+        }
+
+        final int fromSize = fromEnd - start;
+        final int toSize = toEnd - start;
+        final int paired = Math.min(fromSize, toSize);
+        for (int i = start; i < start + paired; i++) {
+            path.add(i);
+            diffValue(entries, path, fromList.get(i), toList.get(i));
+            path.remove(path.size() - 1);
+        }
+        if (toSize > fromSize) {
+            for (int i = start + paired; i < toEnd; i++) {
+                entries.add(new Entry(Type.INSERT, path(path, i), toList.get(i)));
+            }
+        } else {
+            final int index = start + paired;
+            for (int i = paired; i < fromSize; i++) {
+                entries.add(new Entry(Type.REMOVE, path(path, index), null));
+            }
+        }
+    }
+
+    private static void diffValue(List<Entry> entries, List<Object> path, Object from, Object to) {
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        final byte type = TagBase.getTypeId(from);
+        if (type == TagBase.getTypeId(to)) {
+            if (type == 10) {
+                diffCompound(entries, path, from, to);
+                return;
+            } else if (type == 9) {
+                diffList(entries, path, from, to);
+                return;
+            }
+        }
+        entries.add(new Entry(Type.SET, RtagPath.of(path.toArray()), to));
+    }
+
+    private static RtagPath path(List<Object> path, Object key) {
+        final Object[] array = path.toArray(new Object[path.size() + 1]);
+        array[path.size()] = key;
+        return RtagPath.of(array);
+    }
+
+    /**
+     * Read a TagDiff from ListTag created by {@link #toTag()}.
+     *
+     * @param tag ListTag with diff entries.
+     * @return    a TagDiff instance.
+     * @throws IllegalArgumentException if the tag is not a valid diff.
+     */
+    public static TagDiff fromTag(Object tag) throws IllegalArgumentException {
+        if (!TagList.isTagList(tag)) {
+            throw new IllegalArgumentException("The provided object is not a ListTag");
+        }
+        final List<Object> list = TagList.getValue(tag);
+        if (list.isEmpty()) {
+            return EMPTY;
+        }
+        final List<Entry> entries = new ArrayList<>(list.size());
+        for (Object element : list) {
+            if (!TagCompound.isTagCompound(element)) {
+                throw new IllegalArgumentException("Invalid diff entry: " + element);
+            }
+            final Object op = TagBase.getValue(TagCompound.get(element, "op"));
+            final Object path = TagBase.getValue(TagCompound.get(element, "path"));
+            if (!(op instanceof String) || !(path instanceof String)) {
+                throw new IllegalArgumentException("Invalid diff entry: " + element);
+            }
+            final Type type;
+            try {
+                type = Type.valueOf(((String) op).toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid diff operation: " + op, e);
+            }
+            entries.add(new Entry(type, RtagPath.parse((String) path), TagCompound.get(element, "value")));
+        }
+        return new TagDiff(entries);
+    }
+
+    /**
+     * Constructs a TagDiff with the provided entries.
+     *
+     * @param entries the diff entries.
+     */
+    public TagDiff(List<Entry> entries) {
+        this.entries = Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Check if this diff doesn't have entries.
+     *
+     * @return true if the diff is empty.
+     */
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Get the amount of entries inside this diff.
+     *
+     * @return the entries count.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get the diff entries.
+     *
+     * @return an unmodifiable list of entries.
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Apply this diff into provided tag using the default {@link Rtag} instance.
+     *
+     * @param tag the tag to edit.
+     * @return    the amount of entries that was successfully applied.
+     */
+    public int apply(Object tag) {
+        return apply(Rtag.INSTANCE, tag);
+    }
+
+    /**
+     * Apply this diff into provided tag.<br>
+     * The tag values inside this diff are copied, so the same diff can be applied multiple times.
+     *
+     * @param rtag Rtag instance to edit the tag.
+     * @param tag  the tag to edit.
+     * @return     the amount of entries that was successfully applied.
+     */
+    public int apply(Rtag rtag, Object tag) {
+        int count = 0;
+        for (Entry entry : entries) {
+            if (entry.apply(rtag, tag)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Convert this diff into ListTag.<br>
+     * Every entry is saved as compound with "op", "path" and "value" keys,
+     * the path is saved as String using {@link RtagPath} format.
+     *
+     * @return a ListTag with diff entries.
+     */
+    public Object toTag() {
+        final List<Object> list = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            final Object compound = TagCompound.newTag();
+            TagCompound.set(compound, "op", TagBase.newTag(entry.getType().name().toLowerCase(Locale.ROOT)));
+            TagCompound.set(compound, "path", TagBase.newTag(entry.getPath().toString()));
+            if (entry.getValue() != null) {
+                TagCompound.set(compound, "value", TagBase.clone(entry.getValue()));
+            }
+            list.add(compound);
+        }
+        return list.isEmpty() ? TagList.newTag() : TagList.newUncheckedTag(list);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        return entries.equals(((TagDiff) o).entries);
+    }
+
+    @Override
+    public int hashCode() {
+        return entries.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return entries.toString();
+    }
+
+    /**
+     * Diff entry type.
+     */
+    public enum Type {
+        /**
+         * Set tag value at path, replacing any previous value.
+         */
+        SET,
+        /**
+         * Remove tag value at path.
+         */
+        REMOVE,
+        /**
+         * Insert tag value into ListTag at path index.
+         */
+        INSERT
+    }
+
+    /**
+     * Single diff entry.
+     */
+    public static final class Entry {
+
+        private final Type type;
+        private final RtagPath path;
+        private final Object value;
+
+        /**
+         * Constructs a diff entry.
+         *
+         * @param type  the entry type.
+         * @param path  the path of edited value.
+         * @param value the tag value, null for remove entries.
+         */
+        public Entry(Type type, RtagPath path, Object value) {
+            this.type = type;
+            this.path = path;
+            this.value = value;
+        }
+
+        /**
+         * Get the entry type.
+         *
+         * @return a diff entry type.
+         */
+        public Type getType() {
+            return type;
+        }
+
+        /**
+         * Get the path of edited value.
+         *
+         * @return a compiled path.
+         */
+        public RtagPath getPath() {
+            return path;
+        }
+
+        /**
+         * Get the tag value of this entry.
+         *
+         * @return a tag object, null for remove entries.
+         */
+        public Object getValue() {
+            return value;
+        }
+
+        private boolean apply(Rtag rtag, Object tag) {
+            switch (type) {
+                case SET:
+                    return rtag.set(tag, TagBase.clone(value), path);
+                case REMOVE:
+                    return rtag.set(tag, null, path);
+                case INSERT:
+                    final Object list = rtag.getExact(tag, path.parent());
+                    if (!TagList.isTagList(list) || !(path.last() instanceof Integer)) {
+                        return false;
+                    }
+                    final int index = (int) path.last();
+                    final int size = TagList.size(list);
+                    if (index < 0 || index > size || !TagList.accepts(list, value)) {
+                        return false;
+                    }
+                    if (index == size) {
+                        TagList.add(list, TagBase.clone(value));
+                    } else {
+                        TagList.getValue(list).add(index, TagBase.clone(value));
+                    }
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            final Entry entry = (Entry) o;
+            return type == entry.type && path.equals(entry.path) && Objects.equals(value, entry.value);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = type.hashCode();
+            result = 31 * result + path.hashCode();
+            result = 31 * result + Objects.hashCode(value);
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return type.name().toLowerCase(Locale.ROOT) + " " + path + (value == null ? "" : " = " + value);
+        }
+    }
+}
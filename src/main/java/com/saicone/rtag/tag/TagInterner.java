@@ -0,0 +1,129 @@
+package com.saicone.rtag.tag;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class to deduplicate equal StringTag values by sharing a canonical instance.<br>
+ * Only strings are interned, numbers are smaller than any saved entry and Minecraft
+ * already caches the common ones, CompoundTag, ListTag and array tags are mutable
+ * objects that can be handed back to any caller, so they are walked to intern
+ * their strings but they are never shared.<br>
+ * Every canonical tag is saved with weak references and it's identified by its
+ * String value, so canonical instances are released when no other object is using them.
+ *
+ * @author Rubenicos
+ */
+public class TagInterner {
+
+    /**
+     * TagInterner public instance used by {@link TagBase#intern(Object)}.
+     */
+    public static final TagInterner INSTANCE = new TagInterner();
+
+    private final Map<String, Canonical> cache = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+    /**
+     * Constructs an empty TagInterner.
+     */
+    public TagInterner() {
+    }
+
+    /**
+     * Intern the strings of provided tag.<br>
+     * If the tag is a CompoundTag or ListTag, every string inside it
+     * is replaced by its canonical instance, the tag itself is returned
+     * with the same content.
+     *
+     * @param tag the tag to intern.
+     * @return    the provided tag, or the canonical instance if it's a string tag.
+     */
+    public Object intern(Object tag) {
+        if (tag == null) {
+            return null;
+        }
+        switch (TagBase.getTypeId(tag)) {
+            case 8:
+                return canonical((String) TagBase.getValue(tag), tag);
+            case 9:
+                final List<Object> list = TagList.getValue(tag);
+                for (int i = 0; i < list.size(); i++) {
+                    final Object element = list.get(i);
+                    final Object canonical = intern(element);
+                    if (canonical != element) {
+                        list.set(i, canonical);
+                    }
+                }
+                return tag;
+            case 10:
+                for (Map.Entry<String, Object> entry : TagCompound.getValue(tag).entrySet()) {
+                    final Object value = entry.getValue();
+                    final Object canonical = intern(value);
+                    if (canonical != value) {
+                        entry.setValue(canonical);
+                    }
+                }
+                return tag;
+            default:
+                return tag;
+        }
+    }
+
+    private Object canonical(String value, Object tag) {
+        expunge();
+        while (true) {
+            final Canonical reference = cache.get(value);
+            if (reference != null) {
+                final Object canonical = reference.get();
+                if (canonical != null) {
+                    return canonical;
+                }
+            }
+            final Canonical created = new Canonical(value, tag, queue);
+            if (reference == null ? cache.putIfAbsent(value, created) == null : cache.replace(value, reference, created)) {
+                return tag;
+            }
+            // Other thread saved the value first
+        }
+    }
+
+    private void expunge() {
+        Object reference;
+        while ((reference = queue.poll()) != null) {
+            final Canonical canonical = (Canonical) reference;
+            cache.remove(canonical.value, canonical);
+        }
+    }
+
+    /**
+     * Get the amount of canonical tags that are currently saved.
+     *
+     * @return the interned tags count.
+     */
+    public int size() {
+        expunge();
+        return cache.size();
+    }
+
+    /**
+     * Remove all the canonical tags from this interner.
+     */
+    public void clear() {
+        cache.clear();
+        expunge();
+    }
+
+    private static final class Canonical extends WeakReference<Object> {
+
+        private final String value;
+
+        private Canonical(String value, Object tag, ReferenceQueue<Object> queue) {
+            super(tag, queue);
+            this.value = value;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.saicone.rtag.util.reflect.Lookup;
 
 import java.lang.invoke.MethodHandle;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.BiPredicate;
 
@@ -21,13 +22,13 @@ public class TagList {
     private static final Lookup.AClass<?> Tag = Lookup.SERVER.importClass("net.minecraft.nbt.Tag");
 
     // declare
-    private static final MethodHandle ListTag$new = ListTag.constructor().handle();
+    private static final MethodHandle ListTag$new = Lookup.exact(ListTag.constructor().handle());
     private static final MethodHandle ListTag$new_list;
     static {
         if (MC.version().isNewerThanOrEquals(MC.V_1_21_5)) {
-            ListTag$new_list = ListTag.constructor(List.class).handle();
+            ListTag$new_list = Lookup.exact(ListTag.constructor(List.class).handle());
         } else if (MC.version().isNewerThanOrEquals(MC.V_1_15)) {
-            ListTag$new_list = ListTag.constructor(List.class, byte.class).handle();
+            ListTag$new_list = Lookup.exact(ListTag.constructor(List.class, byte.class).handle());
         } else {
             ListTag$new_list = null;
         }
@@ -35,9 +36,9 @@ public class TagList {
     private static final MethodHandle ListTag_copy;
     static {
         if (MC.version().isNewerThanOrEquals(MC.V_1_10)) {
-            ListTag_copy = ListTag.method(ListTag, "copy").handle();
+            ListTag_copy = Lookup.exact(ListTag.method(ListTag, "copy").handle());
         } else {
-            ListTag_copy = ListTag.method(Tag, "copy").handle();
+            ListTag_copy = Lookup.exact(ListTag.method(Tag, "copy").handle());
         }
     }
     private static final MethodHandle ListTag$get_type;
@@ -48,12 +49,12 @@ public class TagList {
             ListTag$get_type = null;
             ListTag$set_type = null;
         } else {
-            ListTag$get_type = ListTag.field(byte.class, "type").getter();
-            ListTag$set_type = ListTag.field(byte.class, "type").setter();
+            ListTag$get_type = Lookup.exact(ListTag.field(byte.class, "type").getter());
+            ListTag$set_type = Lookup.exact(ListTag.field(byte.class, "type").setter());
         }
     }
-    private static final MethodHandle ListTag$get_list = ListTag.field(List.class, "list").getter();
-    private static final MethodHandle ListTag$set_list = ListTag.field(List.class, "list").setter();
+    private static final MethodHandle ListTag$get_list = Lookup.exact(ListTag.field(List.class, "list").getter());
+    private static final MethodHandle ListTag$set_list = Lookup.exact(ListTag.field(List.class, "list").setter());
 
     TagList() {
     }
@@ -65,7 +66,7 @@ public class TagList {
      */
     public static Object newTag() {
         try {
-            return ListTag$new.invoke();
+            return ListTag$new.invokeExact();
         } catch (Throwable t) {
             throw new RuntimeException(t);
         }
@@ -106,16 +107,16 @@ public class TagList {
         try {
             // List are heterogeneous since 1.21.5
             if (MC.version().isNewerThanOrEquals(MC.V_1_21_5)) {
-                return ListTag$new_list.invoke(list);
+                return ListTag$new_list.invokeExact((Object) list);
             }
             final byte type = TagBase.getTypeId(list.get(0));
             if (MC.version().isNewerThanOrEquals(MC.V_1_15)) {
-                return ListTag$new_list.invoke(list, type);
+                return ListTag$new_list.invokeExact((Object) list, type);
             } else {
                 Object tag = newTag();
-                ListTag$set_type.invoke(tag, type);
+                ListTag$set_type.invokeExact(tag, type);
                 try {
-                    ListTag$set_list.invoke(tag, list);
+                    ListTag$set_list.invokeExact(tag, (Object) list);
                 } catch (ClassCastException e) {
                     getValue(tag).addAll(list);
                 }
@@ -139,6 +140,9 @@ public class TagList {
         if (list == null || list.isEmpty()) {
             return newTag();
         }
+        if (mirror.isParallel(list.size())) {
+            return newUncheckedTag(new ArrayList<>(Arrays.asList(mirror.newTags(list.toArray()))));
+        }
         final List<Object> tags = new ArrayList<>();
         for (Object value : list) {
             tags.add(mirror.newTag(value));
@@ -164,12 +168,28 @@ public class TagList {
      */
     public static Object clone(Object tag) {
         try {
-            return ListTag_copy.invoke(tag);
+            return ListTag_copy.invokeExact(tag);
         } catch (Throwable t) {
             throw new RuntimeException(t);
         }
     }
 
+    /**
+     * Copy provided ListTag into new one without copying its elements.<br>
+     * The copy share the same element instances with the original ListTag,
+     * so any element must be copied before edit it.
+     *
+     * @param tag ListTag instance.
+     * @return    A shallow copy of original ListTag.
+     */
+    public static Object shallowClone(Object tag) {
+        final List<Object> list = getValue(tag);
+        if (list.isEmpty()) {
+            return clone(tag);
+        }
+        return newUncheckedTag(new ArrayList<>(list));
+    }
+
     /**
      * Copy provided ListTag into new one using a list filter.
      *
@@ -201,7 +221,8 @@ public class TagList {
     @SuppressWarnings("unchecked")
     public static List<Object> getValue(Object tag) {
         try {
-            return (List<Object>) ListTag$get_list.invoke(tag);
+            final Object list = ListTag$get_list.invokeExact(tag);
+            return (List<Object>) list;
         } catch (Throwable t) {
             throw new RuntimeException(t);
         }
@@ -217,11 +238,16 @@ public class TagList {
      * @return       A list of objects.
      */
     public static List<Object> getValue(RtagMirror mirror, Object tag) {
-        List<Object> list = new ArrayList<>();
-        if (tag != null) {
-            for (Object object : getValue(tag)) {
-                list.add(mirror.getTagValue(object));
-            }
+        if (tag == null) {
+            return new ArrayList<>();
+        }
+        final List<Object> tags = getValue(tag);
+        if (mirror.isParallel(tags.size())) {
+            return new ArrayList<>(Arrays.asList(mirror.getTagValues(tags.toArray())));
+        }
+        final List<Object> list = new ArrayList<>(tags.size());
+        for (Object object : tags) {
+            list.add(mirror.getTagValue(object));
         }
         return list;
     }
@@ -249,7 +275,7 @@ public class TagList {
 
     private static byte getType0(Object tag) {
         try {
-            return (byte) ListTag$get_type.invoke(tag);
+            return (byte) ListTag$get_type.invokeExact(tag);
         } catch (Throwable t) {
             throw new RuntimeException(t);
         }
@@ -276,6 +302,23 @@ public class TagList {
         return getValue(listTag).contains(tag);
     }
 
+    /**
+     * Check if the provided tag object can be added into ListTag.<br>
+     * Lists are heterogeneous since 1.21.5, on older versions the tag
+     * must be the same type as list, unless the list doesn't have type.
+     *
+     * @param listTag ListTag instance.
+     * @param tag     tag object to check.
+     * @return        true if the tag can be added into list.
+     */
+    public static boolean accepts(Object listTag, Object tag) {
+        if (MC.version().isOlderThan(MC.V_1_21_5)) {
+            final byte listType = getType0(listTag);
+            return listType == 0 || TagBase.isTypeOf(tag, listType);
+        }
+        return true;
+    }
+
     /**
      * Add tag object.
      *
@@ -358,7 +401,7 @@ public class TagList {
 
     private static void setType0(Object tag, byte type) {
         try {
-            ListTag$set_type.invoke(tag, type);
+            ListTag$set_type.invokeExact(tag, type);
         } catch (Throwable t) {
             throw new RuntimeException(t);
         }
@@ -377,9 +420,9 @@ public class TagList {
             try {
                 if (MC.version().isOlderThan(MC.V_1_21_5)) {
                     final byte type = TagBase.getTypeId(list.get(0));
-                    ListTag$set_type.invoke(tag, type);
+                    ListTag$set_type.invokeExact(tag, type);
                 }
-                ListTag$set_list.invoke(tag, list);
+                ListTag$set_list.invokeExact(tag, (Object) list);
             } catch (Throwable t) {
                 throw new RuntimeException(t);
             }
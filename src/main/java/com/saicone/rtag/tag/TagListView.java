@@ -0,0 +1,156 @@
+package com.saicone.rtag.tag;
+
+import com.saicone.rtag.RtagMirror;
+
+import java.util.AbstractList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Lazy List view of ListTag.<br>
+ * The elements are converted on access and cached until the tag element
+ * is replaced, nested CompoundTag and ListTag elements are also returned
+ * as lazy views.<br>
+ * If the view is write-through, any change is converted into tag and
+ * saved directly into ListTag, otherwise the view is read-only.
+ *
+ * @author Rubenicos
+ */
+public class TagListView extends AbstractList<Object> implements RandomAccess {
+
+    private final RtagMirror mirror;
+    private final Object tag;
+    private final List<Object> list;
+    private final boolean writeThrough;
+    // Converted elements associated with their tag instance
+    private final Map<Object, Object> cache = new IdentityHashMap<>();
+
+    /**
+     * Constructs a read-only view of provided ListTag.
+     *
+     * @param mirror RtagMirror to convert tags.
+     * @param tag    ListTag instance.
+     */
+    public TagListView(RtagMirror mirror, Object tag) {
+        this(mirror, tag, false);
+    }
+
+    /**
+     * Constructs a view of provided ListTag.
+     *
+     * @param mirror       RtagMirror to convert tags.
+     * @param tag          ListTag instance.
+     * @param writeThrough true to save any change into ListTag.
+     */
+    public TagListView(RtagMirror mirror, Object tag, boolean writeThrough) {
+        this.mirror = mirror;
+        this.tag = tag;
+        this.list = TagList.getValue(tag);
+        this.writeThrough = writeThrough;
+    }
+
+    /**
+     * Get the ListTag of this view.
+     *
+     * @return a ListTag instance.
+     */
+    public Object getTag() {
+        return tag;
+    }
+
+    /**
+     * Check if this view save the changes into ListTag.
+     *
+     * @return true if the view is write-through.
+     */
+    public boolean isWriteThrough() {
+        return writeThrough;
+    }
+
+    private Object convert(Object value) {
+        if (value == null) {
+            return null;
+        }
+        Object converted = cache.get(value);
+        if (converted == null && !cache.containsKey(value)) {
+            converted = TagCompoundView.viewOf(mirror, value, writeThrough);
+            cache.put(value, converted);
+        }
+        return converted;
+    }
+
+    private Object release(Object previous) {
+        final Object converted = convert(previous);
+        cache.remove(previous);
+        return converted;
+    }
+
+    private Object newTag(Object value) {
+        if (!writeThrough) {
+            throw new UnsupportedOperationException("The view is read-only");
+        }
+        final Object valueTag = mirror.newTag(value);
+        if (valueTag == null) {
+            throw new NullPointerException("Cannot add null value into ListTag");
+        }
+        return valueTag;
+    }
+
+    @Override
+    public int size() {
+        return list.size();
+    }
+
+    @Override
+    public Object get(int index) {
+        return convert(list.get(index));
+    }
+
+    @Override
+    public Object set(int index, Object element) {
+        final Object valueTag = newTag(element);
+        final Object previous = list.get(index);
+        TagList.set(tag, index, valueTag);
+        return release(previous);
+    }
+
+    @Override
+    public void add(int index, Object element) {
+        final Object valueTag = newTag(element);
+        if (index < 0 || index > list.size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + list.size());
+        }
+        // Check list type on older versions
+        if (!TagList.accepts(tag, valueTag)) {
+            throw new IllegalArgumentException("Cannot add " + TagBase.getTypeId(valueTag) + " type tag into ListTag with other element type");
+        }
+        if (index == list.size()) {
+            TagList.add(tag, valueTag);
+        } else {
+            list.add(index, valueTag);
+        }
+        modCount++;
+    }
+
+    @Override
+    public Object remove(int index) {
+        if (!writeThrough) {
+            throw new UnsupportedOperationException("The view is read-only");
+        }
+        final Object previous = TagList.remove(tag, index);
+        modCount++;
+        return release(previous);
+    }
+
+    @Override
+    public void clear() {
+        if (!writeThrough) {
+            throw new UnsupportedOperationException("The view is read-only");
+        }
+        TagList.clear(tag);
+        cache.clear();
+        modCount++;
+    }
+}
@@ -0,0 +1,260 @@
+package com.saicone.rtag.tag;
+
+import com.saicone.rtag.RtagMirror;
+import com.saicone.rtag.util.OptionalType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Class to read values directly from CompoundTag without converting
+ * the full tag into Java map.<br>
+ * Only the requested values are converted, numeric values can be
+ * obtained without boxing and nested compounds can be read with
+ * another TagReader.
+ *
+ * @author Rubenicos
+ */
+public class TagReader {
+
+    private final RtagMirror mirror;
+    private final Object tag;
+
+    /**
+     * Constructs a TagReader that read values from provided CompoundTag.
+     *
+     * @param mirror RtagMirror to convert tags into objects.
+     * @param tag    CompoundTag instance.
+     */
+    public TagReader(RtagMirror mirror, Object tag) {
+        this.mirror = mirror;
+        this.tag = tag;
+    }
+
+    /**
+     * Get the mirror used to convert tags into objects.
+     *
+     * @return a RtagMirror instance.
+     */
+    public RtagMirror getMirror() {
+        return mirror;
+    }
+
+    /**
+     * Get the CompoundTag of this reader.
+     *
+     * @return a CompoundTag instance.
+     */
+    public Object getTag() {
+        return tag;
+    }
+
+    /**
+     * Get the keys of current CompoundTag.
+     *
+     * @return a set of keys.
+     */
+    public Set<String> keySet() {
+        return TagCompound.getValue(tag).keySet();
+    }
+
+    /**
+     * Check if current CompoundTag contains the provided key.
+     *
+     * @param key the key to check.
+     * @return    true if the key exists.
+     */
+    public boolean contains(String key) {
+        return TagCompound.hasKey(tag, key);
+    }
+
+    /**
+     * Get the tag object associated with provided key.
+     *
+     * @param key the value key.
+     * @return    a tag object, null if the key doesn't exist.
+     */
+    public Object getTag(String key) {
+        return TagCompound.get(tag, key);
+    }
+
+    /**
+     * Get the value associated with provided key converted using the current mirror.
+     *
+     * @param key the value key.
+     * @param <T> the type to cast the value.
+     * @return    a converted object, null if the key doesn't exist or a ClassCastException occurs.
+     */
+    public <T> T get(String key) {
+        final Object value = TagCompound.get(tag, key);
+        return value == null ? null : OptionalType.cast(mirror.getTagValue(value));
+    }
+
+    /**
+     * Get the value associated with provided key converted using the current mirror.
+     *
+     * @param key the value key.
+     * @return    an OptionalType with converted object.
+     */
+    public OptionalType getOptional(String key) {
+        final Object value = TagCompound.get(tag, key);
+        return OptionalType.of(value == null ? null : mirror.getTagValue(value));
+    }
+
+    /**
+     * Get a byte value associated with provided key.
+     *
+     * @param key the value key.
+     * @param def the default value to return if the value doesn't exist or it's not a number.
+     * @return    a byte value.
+     */
+    public byte getByte(String key, byte def) {
+        return TagBase.getByte(TagCompound.get(tag, key), def);
+    }
+
+    /**
+     * Get a boolean value associated with provided key.
+     *
+     * @param key the value key.
+     * @param def the default value to return if the value doesn't exist or it's not a number.
+     * @return    a boolean value.
+     */
+    public boolean getBoolean(String key, boolean def) {
+        return TagBase.getBoolean(TagCompound.get(tag, key), def);
+    }
+
+    /**
+     * Get a short value associated with provided key.
+     *
+     * @param key the value key.
+     * @param def the default value to return if the value doesn't exist or it's not a number.
+     * @return    a short value.
+     */
+    public short getShort(String key, short def) {
+        return TagBase.getShort(TagCompound.get(tag, key), def);
+    }
+
+    /**
+     * Get an int value associated with provided key.
+     *
+     * @param key the value key.
+     * @param def the default value to return if the value doesn't exist or it's not a number.
+     * @return    an int value.
+     */
+    public int getInt(String key, int def) {
+        return TagBase.getInt(TagCompound.get(tag, key), def);
+    }
+
+    /**
+     * Get a long value associated with provided key.
+     *
+     * @param key the value key.
+     * @param def the default value to return if the value doesn't exist or it's not a number.
+     * @return    a long value.
+     */
+    public long getLong(String key, long def) {
+        return TagBase.getLong(TagCompound.get(tag, key), def);
+    }
+
+    /**
+     * Get a float value associated with provided key.
+     *
+     * @param key the value key.
+     * @param def the default value to return if the value doesn't exist or it's not a number.
+     * @return    a float value.
+     */
+    public float getFloat(String key, float def) {
+        return TagBase.getFloat(TagCompound.get(tag, key), def);
+    }
+
+    /**
+     * Get a double value associated with provided key.
+     *
+     * @param key the value key.
+     * @param def the default value to return if the value doesn't exist or it's not a number.
+     * @return    a double value.
+     */
+    public double getDouble(String key, double def) {
+        return TagBase.getDouble(TagCompound.get(tag, key), def);
+    }
+
+    /**
+     * Get a String value associated with provided key.
+     *
+     * @param key the value key.
+     * @return    a String, null if the value doesn't exist or it's not a StringTag.
+     */
+    public String getString(String key) {
+        final Object value = TagCompound.get(tag, key);
+        return value != null && TagBase.getTypeId(value) == 8 ? (String) TagBase.getValue(value) : null;
+    }
+
+    /**
+     * Get a byte array associated with provided key.<br>
+     * Take in count the array is not copied.
+     *
+     * @param key the value key.
+     * @return    a byte array, null if the value doesn't exist or it's not a ByteArrayTag.
+     */
+    public byte[] getByteArray(String key) {
+        final Object value = TagCompound.get(tag, key);
+        return value != null && TagBase.getTypeId(value) == 7 ? (byte[]) TagBase.getValue(value) : null;
+    }
+
+    /**
+     * Get an int array associated with provided key.<br>
+     * Take in count the array is not copied.
+     *
+     * @param key the value key.
+     * @return    an int array, null if the value doesn't exist or it's not an IntArrayTag.
+     */
+    public int[] getIntArray(String key) {
+        final Object value = TagCompound.get(tag, key);
+        return value != null && TagBase.getTypeId(value) == 11 ? (int[]) TagBase.getValue(value) : null;
+    }
+
+    /**
+     * Get a long array associated with provided key.<br>
+     * Take in count the array is not copied.
+     *
+     * @param key the value key.
+     * @return    a long array, null if the value doesn't exist or it's not a LongArrayTag.
+     */
+    public long[] getLongArray(String key) {
+        final Object value = TagCompound.get(tag, key);
+        return value != null && TagBase.getTypeId(value) == 12 ? (long[]) TagBase.getValue(value) : null;
+    }
+
+    /**
+     * Get a reader of the CompoundTag associated with provided key.
+     *
+     * @param key the compound key.
+     * @return    a TagReader, null if the value doesn't exist or it's not a CompoundTag.
+     */
+    public TagReader getReader(String key) {
+        final Object value = TagCompound.get(tag, key);
+        return TagCompound.isTagCompound(value) ? new TagReader(mirror, value) : null;
+    }
+
+    /**
+     * Get the tag elements of the ListTag associated with provided key.<br>
+     * Take in count the list is not copied.
+     *
+     * @param key the list key.
+     * @return    a list of tag objects, null if the value doesn't exist or it's not a ListTag.
+     */
+    public List<Object> getList(String key) {
+        final Object value = TagCompound.get(tag, key);
+        return TagList.isTagList(value) ? TagList.getValue(value) : null;
+    }
+
+    /**
+     * Convert the current CompoundTag into Java map using the current mirror.
+     *
+     * @return a Map of objects.
+     */
+    public Map<String, Object> toMap() {
+        return TagCompound.getValue(mirror, tag);
+    }
+}
@@ -0,0 +1,420 @@
+package com.saicone.rtag.tag;
+
+import com.saicone.rtag.RtagMirror;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+
+/**
+ * Class to write values directly into CompoundTag without creating
+ * intermediate Java maps.<br>
+ * The writer keep track of the current container, values with key are put
+ * into the current CompoundTag and values without key are added into the
+ * current ListTag, nested containers are opened with begin methods and
+ * closed with {@link #end()}.
+ *
+ * @author Rubenicos
+ */
+public class TagWriter {
+
+    private final RtagMirror mirror;
+    private final Object tag;
+    private final Deque<Object> containers = new ArrayDeque<>();
+
+    /**
+     * Constructs a TagWriter that write values into a new CompoundTag.
+     *
+     * @param mirror RtagMirror to convert objects into tags.
+     */
+    public TagWriter(RtagMirror mirror) {
+        this(mirror, TagCompound.newTag());
+    }
+
+    /**
+     * Constructs a TagWriter that write values into provided CompoundTag.
+     *
+     * @param mirror RtagMirror to convert objects into tags.
+     * @param tag    CompoundTag instance.
+     */
+    public TagWriter(RtagMirror mirror, Object tag) {
+        this.mirror = mirror;
+        this.tag = tag;
+        this.containers.push(tag);
+    }
+
+    /**
+     * Get the root CompoundTag of this writer.
+     *
+     * @return a CompoundTag instance.
+     */
+    public Object getTag() {
+        return tag;
+    }
+
+    /**
+     * Get the current container that values are written into.
+     *
+     * @return a CompoundTag or ListTag instance.
+     */
+    public Object getCurrent() {
+        return containers.peek();
+    }
+
+    private Object compound() {
+        final Object current = containers.peek();
+        if (!TagCompound.isTagCompound(current)) {
+            throw new IllegalStateException("Cannot put keyed value into ListTag, use add methods instead");
+        }
+        return current;
+    }
+
+    private Object list() {
+        final Object current = containers.peek();
+        if (!TagList.isTagList(current)) {
+            throw new IllegalStateException("Cannot add value into CompoundTag, use put methods instead");
+        }
+        return current;
+    }
+
+    /**
+     * Put a tag object into current CompoundTag.
+     *
+     * @param key   the value key.
+     * @param value the tag to put, null to remove the key.
+     * @return      the current writer.
+     */
+    public TagWriter putTag(String key, Object value) {
+        if (value == null) {
+            TagCompound.remove(compound(), key);
+        } else {
+            TagCompound.set(compound(), key, value);
+        }
+        return this;
+    }
+
+    /**
+     * Put any object into current CompoundTag, the value is converted using the current mirror.
+     *
+     * @param key   the value key.
+     * @param value the object to put, null to remove the key.
+     * @return      the current writer.
+     */
+    public TagWriter put(String key, Object value) {
+        return putTag(key, value == null ? null : mirror.newTag(value));
+    }
+
+    /**
+     * Put all the provided entries into current CompoundTag,
+     * every value is converted using the current mirror.
+     *
+     * @param map the entries to put.
+     * @return    the current writer.
+     */
+    public TagWriter putAll(Map<String, Object> map) {
+        final Object compound = compound();
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            final Object value = mirror.newTag(entry.getValue());
+            if (value != null) {
+                TagCompound.set(compound, entry.getKey(), value);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Put a byte value into current CompoundTag.
+     *
+     * @param key   the value key.
+     * @param value the value to put.
+     * @return      the current writer.
+     */
+    public TagWriter putByte(String key, byte value) {
+        TagCompound.set(compound(), key, TagBase.newByte(value));
+        return this;
+    }
+
+    /**
+     * Put a boolean value into current CompoundTag.
+     *
+     * @param key   the value key.
+     * @param value the value to put.
+     * @return      the current writer.
+     */
+    public TagWriter putBoolean(String key, boolean value) {
+        TagCompound.set(compound(), key, TagBase.newBoolean(value));
+        return this;
+    }
+
+    /**
+     * Put a short value into current CompoundTag.
+     *
+     * @param key   the value key.
+     * @param value the value to put.
+     * @return      the current writer.
+     */
+    public TagWriter putShort(String key, short value) {
+        TagCompound.set(compound(), key, TagBase.newShort(value));
+        return this;
+    }
+
+    /**
+     * Put an int value into current CompoundTag.
+     *
+     * @param key   the value key.
+     * @param value the value to put.
+     * @return      the current writer.
+     */
+    public TagWriter putInt(String key, int value) {
+        TagCompound.set(compound(), key, TagBase.newInt(value));
+        return this;
+    }
+
+    /**
+     * Put a long value into current CompoundTag.
+     *
+     * @param key   the value key.
+     * @param value the value to put.
+     * @return      the current writer.
+     */
+    public TagWriter putLong(String key, long value) {
+        TagCompound.set(compound(), key, TagBase.newLong(value));
+        return this;
+    }
+
+    /**
+     * Put a float value into current CompoundTag.
+     *
+     * @param key   the value key.
+     * @param value the value to put.
+     * @return      the current writer.
+     */
+    public TagWriter putFloat(String key, float value) {
+        TagCompound.set(compound(), key, TagBase.newFloat(value));
+        return this;
+    }
+
+    /**
+     * Put a double value into current CompoundTag.
+     *
+     * @param key   the value key.
+     * @param value the value to put.
+     * @return      the current writer.
+     */
+    public TagWriter putDouble(String key, double value) {
+        TagCompound.set(compound(), key, TagBase.newDouble(value));
+        return this;
+    }
+
+    /**
+     * Put a String value into current CompoundTag.
+     *
+     * @param key   the value key.
+     * @param value the value to put, null to remove the key.
+     * @return      the current writer.
+     */
+    public TagWriter putString(String key, String value) {
+        return putTag(key, value == null ? null : TagBase.newString(value));
+    }
+
+    /**
+     * Put a byte array into current CompoundTag.
+     *
+     * @param key   the value key.
+     * @param value the value to put, null to remove the key.
+     * @return      the current writer.
+     */
+    public TagWriter putByteArray(String key, byte[] value) {
+        return putTag(key, TagBase.newTag(value));
+    }
+
+    /**
+     * Put an int array into current CompoundTag.
+     *
+     * @param key   the value key.
+     * @param value the value to put, null to remove the key.
+     * @return      the current writer.
+     */
+    public TagWriter putIntArray(String key, int[] value) {
+        return putTag(key, TagBase.newTag(value));
+    }
+
+    /**
+     * Put a long array into current CompoundTag.
+     *
+     * @param key   the value key.
+     * @param value the value to put, null to remove the key.
+     * @return      the current writer.
+     */
+    public TagWriter putLongArray(String key, long[] value) {
+        return putTag(key, TagBase.newTag(value));
+    }
+
+    /**
+     * Put a new CompoundTag into current CompoundTag and use it as current container.
+     *
+     * @param key the compound key.
+     * @return    the current writer.
+     */
+    public TagWriter beginCompound(String key) {
+        final Object compound = TagCompound.newTag();
+        TagCompound.set(compound(), key, compound);
+        containers.push(compound);
+        return this;
+    }
+
+    /**
+     * Put a new ListTag into current CompoundTag and use it as current container.
+     *
+     * @param key the list key.
+     * @return    the current writer.
+     */
+    public TagWriter beginList(String key) {
+        final Object list = TagList.newTag();
+        TagCompound.set(compound(), key, list);
+        containers.push(list);
+        return this;
+    }
+
+    /**
+     * Add a tag object into current ListTag.
+     *
+     * @param value the tag to add.
+     * @return      the current writer.
+     */
+    public TagWriter addTag(Object value) {
+        TagList.add(list(), value);
+        return this;
+    }
+
+    /**
+     * Add any object into current ListTag, the value is converted using the current mirror.
+     *
+     * @param value the object to add.
+     * @return      the current writer.
+     */
+    public TagWriter add(Object value) {
+        final Object tag = mirror.newTag(value);
+        if (tag != null) {
+            TagList.add(list(), tag);
+        }
+        return this;
+    }
+
+    /**
+     * Add a byte value into current ListTag.
+     *
+     * @param value the value to add.
+     * @return      the current writer.
+     */
+    public TagWriter addByte(byte value) {
+        return addTag(TagBase.newByte(value));
+    }
+
+    /**
+     * Add a boolean value into current ListTag.
+     *
+     * @param value the value to add.
+     * @return      the current writer.
+     */
+    public TagWriter addBoolean(boolean value) {
+        return addTag(TagBase.newBoolean(value));
+    }
+
+    /**
+     * Add a short value into current ListTag.
+     *
+     * @param value the value to add.
+     * @return      the current writer.
+     */
+    public TagWriter addShort(short value) {
+        return addTag(TagBase.newShort(value));
+    }
+
+    /**
+     * Add an int value into current ListTag.
+     *
+     * @param value the value to add.
+     * @return      the current writer.
+     */
+    public TagWriter addInt(int value) {
+        return addTag(TagBase.newInt(value));
+    }
+
+    /**
+     * Add a long value into current ListTag.
+     *
+     * @param value the value to add.
+     * @return      the current writer.
+     */
+    public TagWriter addLong(long value) {
+        return addTag(TagBase.newLong(value));
+    }
+
+    /**
+     * Add a float value into current ListTag.
+     *
+     * @param value the value to add.
+     * @return      the current writer.
+     */
+    public TagWriter addFloat(float value) {
+        return addTag(TagBase.newFloat(value));
+    }
+
+    /**
+     * Add a double value into current ListTag.
+     *
+     * @param value the value to add.
+     * @return      the current writer.
+     */
+    public TagWriter addDouble(double value) {
+        return addTag(TagBase.newDouble(value));
+    }
+
+    /**
+     * Add a String value into current ListTag.
+     *
+     * @param value the value to add.
+     * @return      the current writer.
+     */
+    public TagWriter addString(String value) {
+        return addTag(TagBase.newString(value));
+    }
+
+    /**
+     * Add a new CompoundTag into current ListTag and use it as current container.
+     *
+     * @return the current writer.
+     */
+    public TagWriter beginCompound() {
+        final Object compound = TagCompound.newTag();
+        TagList.add(list(), compound);
+        containers.push(compound);
+        return this;
+    }
+
+    /**
+     * Add a new ListTag into current ListTag and use it as current container.
+     *
+     * @return the current writer.
+     */
+    public TagWriter beginList() {
+        final Object list = TagList.newTag();
+        TagList.add(list(), list);
+        containers.push(list);
+        return this;
+    }
+
+    /**
+     * Close the current container and use its parent as current container.
+     *
+     * @return the current writer.
+     */
+    public TagWriter end() {
+        if (containers.size() <= 1) {
+            throw new IllegalStateException("Cannot end the root CompoundTag");
+        }
+        containers.pop();
+        return this;
+    }
+}
@@ -71,6 +71,24 @@ public class Lookup {
     Lookup() {
     }
 
+    /**
+     * Convert the provided handle into a handle with erased type, where every
+     * reference type is replaced by Object and primitive types are kept.<br>
+     * The returned handle is meant to be saved in a static final field and called
+     * with {@link MethodHandle#invokeExact(Object...)}, so the JIT can inline it
+     * without boxing or generic type adaptation.
+     *
+     * @param handle the method handle to convert.
+     * @return       a method handle with erased type, null if the handle is null.
+     */
+    @Contract("null -> null; !null -> !null")
+    public static MethodHandle exact(@Nullable MethodHandle handle) {
+        if (handle == null) {
+            return null;
+        }
+        return handle.asType(handle.type().erase());
+    }
+
     @SuppressWarnings("unchecked")
     public static <T> T invoke(@NotNull MethodHandle handle) {
         try {